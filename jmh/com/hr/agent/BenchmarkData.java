@@ -0,0 +1,55 @@
+package com.hr.agent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Dataset sintetis untuk benchmark ({@link DatasetGenerator}, seed dan tanggal tetap supaya hasil
+ * antar-run sebanding).
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42;
+    static final LocalDate TODAY = LocalDate.of(2025, 9, 1);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Membuat dataset di direktori sementara; hapus dengan {@link #delete(Path)}.
+     */
+    static Path temporary(int employees, long leaveRequests, long reviews, int corpusLines) throws IOException {
+        Path dir = Files.createTempDirectory("hr-bench");
+        new DatasetGenerator(SEED, TODAY).generate(dir, employees, leaveRequests, reviews, corpusLines);
+        return dir;
+    }
+
+    /**
+     * Dataset besar disimpan di target/jmh-data/&lt;nama&gt; dan dipakai ulang oleh fork/run berikutnya.
+     */
+    static Path cached(String name, int employees, long leaveRequests, long reviews) throws IOException {
+        Path dir = Paths.get("target", "jmh-data", name);
+        if (!Files.exists(dir.resolve("employees.csv"))) {
+            Files.createDirectories(dir);
+            new DatasetGenerator(SEED, TODAY).generate(dir, employees, leaveRequests, reviews, 0);
+        }
+        return dir;
+    }
+
+    static void delete(Path dir) throws IOException {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            Path[] paths = files.sorted(Comparator.reverseOrder()).toArray(Path[]::new);
+            for (Path path : paths) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.hr.agent;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark pemuatan leave_requests.csv berukuran besar: BufferedReader + split dibandingkan
+ * dengan CsvReader (memory-mapped). File dibuat sekali di target/jmh-data/ dan dipakai ulang.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar CsvReaderBenchmark -prof gc
+ * java -jar target/benchmarks.jar CsvReaderBenchmark -p rows=1000000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CsvReaderBenchmark {
+
+    @Param("5000000")
+    int rows;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Paths.get("target", "jmh-data", "leave_requests_" + rows + ".csv");
+        if (!Files.exists(file)) {
+            Files.createDirectories(file.getParent());
+            generate(file, rows);
+        }
+    }
+
+    @Benchmark
+    public long bufferedReaderSplit() throws IOException {
+        long count = 0;
+        try (BufferedReader br = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            br.readLine(); // header
+            String line;
+            while ((line = br.readLine()) != null) {
+                if (LeaveRequest.fromColumns(line.split(",")) != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public long csvReaderLeaveRequest() throws IOException {
+        long count = 0;
+        try (CsvReader reader = CsvReader.open(file)) {
+            reader.next(); // header
+            while (reader.next()) {
+                if (LeaveRequest.fromRow(reader) != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // Hanya menelusuri field numerik/tanggal tanpa membuat String (batas atas kecepatan parser)
+    @Benchmark
+    public long csvReaderScan() throws IOException {
+        long checksum = 0;
+        try (CsvReader reader = CsvReader.open(file)) {
+            reader.next(); // header
+            while (reader.next()) {
+                checksum += reader.getInt(1) + reader.getDate(3).toEpochDay();
+            }
+        }
+        return checksum;
+    }
+
+    private static void generate(Path file, int rows) throws IOException {
+        String[] types = {"Tahunan", "Sakit", "Cuti Melahirkan"};
+        String[] statuses = {"Disetujui", "Ditolak", "Menunggu Persetujuan"};
+        Random random = new Random(BenchmarkData.SEED);
+        LocalDate base = LocalDate.of(2020, 1, 1);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("id_request,id_karyawan,tipe_cuti,tanggal_mulai,tanggal_selesai,status_request\n");
+            for (int i = 1; i <= rows; i++) {
+                LocalDate startDate = base.plusDays(random.nextInt(2000));
+                writer.write("LR" + i + "," + (100 + random.nextInt(100_000)) + "," + types[random.nextInt(3)] + ","
+                    + startDate + "," + startDate.plusDays(random.nextInt(10)) + ","
+                    + statuses[random.nextInt(3)] + "\n");
+            }
+        }
+    }
+}
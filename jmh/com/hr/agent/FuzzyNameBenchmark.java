@@ -0,0 +1,128 @@
+package com.hr.agent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark pencarian nama toleran typo ({@link FuzzyNameIndex}) untuk banyak karyawan dengan nama
+ * acak dari suku kata (banyak kata nama unik). Setiap query adalah kata nama yang diberi satu typo
+ * (hapus, sisip, ganti atau tukar huruf). {@code search} diukur per panggilan (SampleTime, jadi
+ * p50/p99 terlihat), {@code buildIndex} mengukur pembangunan indeks.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar FuzzyNameBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuzzyNameBenchmark {
+
+    private static final int QUERIES = 1 << 14; // pangkat dua, indeks query diputar dengan mask
+    private static final String[] SYLLABLES = {
+        "a", "ba", "bu", "di", "da", "de", "ga", "gi", "ha", "in", "ja", "ka", "ku", "la", "li", "ma",
+        "mi", "na", "ni", "no", "pu", "ra", "ri", "sa", "san", "si", "ta", "ti", "to", "tri", "wa", "ya"
+    };
+
+    @Param("100000")
+    int employeeCount;
+
+    private List<Employee> employees;
+    private FuzzyNameIndex index;
+    private final String[] queries = new String[QUERIES];
+
+    /**
+     * Posisi query per thread benchmark.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        int next() {
+            index = (index + 1) & (QUERIES - 1);
+            return index;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(BenchmarkData.SEED);
+        employees = new ArrayList<>(employeeCount);
+        for (int i = 0; i < employeeCount; i++) {
+            String name = capitalize(randomWord(random, 2, 3)) + " " + capitalize(randomWord(random, 2, 4));
+            employees.add(new Employee(String.valueOf(100 + i), name, "k" + i + "@perusahaan.co.id", "Staff",
+                "Umum", "", "2020-01-01", "Aktif"));
+        }
+        index = new FuzzyNameIndex(employees);
+        for (int i = 0; i < QUERIES; i++) {
+            String[] words = employees.get(random.nextInt(employeeCount)).getLowerName().split(" ");
+            queries[i] = typo(words[random.nextInt(words.length)], random);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<FuzzyNameIndex.Candidate> search(Cursor cursor) {
+        return index.search(queries[cursor.next()], 5);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public FuzzyNameIndex buildIndex() {
+        return new FuzzyNameIndex(employees);
+    }
+
+    private static String randomWord(Random random, int minSyllables, int maxSyllables) {
+        int count = minSyllables + random.nextInt(maxSyllables - minSyllables + 1);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.length() < FuzzyNameIndex.MIN_WORD_LENGTH ? word.append("n").toString() : word.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    // Satu typo acak: hapus, sisip, ganti, atau tukar dua huruf bersebelahan
+    private static String typo(String word, Random random) {
+        StringBuilder result = new StringBuilder(word);
+        int position = random.nextInt(word.length() - 1);
+        char letter = (char) ('a' + random.nextInt(26));
+        switch (random.nextInt(4)) {
+            case 0:
+                result.deleteCharAt(position);
+                break;
+            case 1:
+                result.insert(position, letter);
+                break;
+            case 2:
+                result.setCharAt(position, letter);
+                break;
+            default:
+                result.setCharAt(position, word.charAt(position + 1));
+                result.setCharAt(position + 1, word.charAt(position));
+                break;
+        }
+        return result.toString();
+    }
+}
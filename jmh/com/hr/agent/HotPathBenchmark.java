@@ -0,0 +1,163 @@
+package com.hr.agent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Microbenchmark jalur parsing dan lookup untuk setiap ukuran dataset sintetis. Alokasi per operasi
+ * dilihat dengan profiler gc (gc.alloc.rate.norm).
+ *
+ * <pre>
+ * java -Xmx4g -jar target/benchmarks.jar HotPathBenchmark -prof gc
+ * java -jar target/benchmarks.jar HotPathBenchmark.extractDates -p size=1000
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class HotPathBenchmark {
+
+    private static final int INPUTS = 1024; // pangkat dua, indeks input diputar dengan mask
+    private static final String[] MONTHS = {"januari", "februari", "maret", "april", "mei", "juni", "juli",
+        "agustus", "september", "oktober", "november", "desember"};
+    private static final String[] TEMPLATES = {
+        "siapa manajer %s?", "sisa cuti %s berapa?", "%s kerja di departemen mana?",
+        "ajukan cuti sakit untuk %s dari 1-5 januari", "cek status cuti %s", "cari info tentang %s",
+        "lapor pengeluaran transportasi 250 ribu untuk %s", "jadwalkan review performa %s dengan pak andi"
+    };
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private Path dir;
+    private MockHRFunctions mock;
+    private IntentClassifier classifier;
+    private SlotExtractor slots;
+    private NameMatcher matcher;
+    private FuzzyNameIndex fuzzy;
+
+    private final String[] names = new String[INPUTS];
+    private final String[] lowerNames = new String[INPUTS];
+    private final String[] questions = new String[INPUTS];
+    private final String[] typoQuestions = new String[INPUTS];
+    private final String[] dateInputs = new String[INPUTS];
+    private final String[] amountInputs = new String[INPUTS];
+
+    /**
+     * Posisi input per thread benchmark.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        int next() {
+            index = (index + 1) & (INPUTS - 1);
+            return index;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(BenchmarkData.SEED);
+        dir = BenchmarkData.temporary(size, size * 2L, 0, 0);
+        EmployeeDirectory directory = EmployeeDirectory.load(dir.resolve("employees.csv").toString());
+        LeaveRequestIndex requests = LeaveRequestIndex.load(dir.resolve("leave_requests.csv").toString());
+        List<Employee> employees = directory.all();
+        mock = new MockHRFunctions(dir, directory, requests);
+        classifier = new IntentClassifier();
+        slots = new SlotExtractor();
+        matcher = directory.getNameMatcher();
+        fuzzy = directory.getFuzzyNameIndex();
+
+        for (int i = 0; i < INPUTS; i++) {
+            Employee employee = employees.get(random.nextInt(size));
+            names[i] = employee.getName();
+            lowerNames[i] = employee.getLowerName();
+            String template = TEMPLATES[random.nextInt(TEMPLATES.length)];
+            questions[i] = String.format(template, lowerNames[i]);
+            String lastName = lowerNames[i].substring(lowerNames[i].indexOf(' ') + 1);
+            typoQuestions[i] = String.format(template, typo(lastName, random));
+            int day = 1 + random.nextInt(20);
+            dateInputs[i] = "ajukan cuti tahunan dari " + day + "-" + (day + random.nextInt(8)) + " "
+                + MONTHS[random.nextInt(MONTHS.length)];
+            amountInputs[i] = "lapor pengeluaran makan " + (1 + random.nextInt(999))
+                + (random.nextBoolean() ? " ribu" : ",5 juta");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.delete(dir);
+    }
+
+    // ===================== OPERASI =====================
+
+    @Benchmark
+    public Object detectIntent(Cursor cursor) {
+        return classifier.detect(questions[cursor.next()]);
+    }
+
+    @Benchmark
+    public Object extractEmployee(Cursor cursor) {
+        return classifier.extractEmployee(questions[cursor.next()], matcher, fuzzy);
+    }
+
+    @Benchmark
+    public Object extractEmployeeTypo(Cursor cursor) {
+        return classifier.extractEmployee(typoQuestions[cursor.next()], matcher, fuzzy);
+    }
+
+    @Benchmark
+    public Object extractDates(Cursor cursor) {
+        return slots.extractDates(dateInputs[cursor.next()]);
+    }
+
+    @Benchmark
+    public Object extractAmount(Cursor cursor) {
+        return slots.extractAmount(amountInputs[cursor.next()]);
+    }
+
+    @Benchmark
+    public String capitalize(Cursor cursor) {
+        return HRAgentApp.capitalize(lowerNames[cursor.next()]);
+    }
+
+    @Benchmark
+    public String checkLeaveRequestStatus(Cursor cursor) {
+        return mock.checkLeaveRequestStatus(names[cursor.next()]);
+    }
+
+    @Benchmark
+    public String lookupColleagueInfo(Cursor cursor) {
+        return mock.lookupColleagueInfo(names[cursor.next()]);
+    }
+
+    // Satu huruf dihapus (kata tetap >= 3 huruf supaya masih bisa dicari toleran typo)
+    private static String typo(String word, Random random) {
+        if (word.length() <= FuzzyNameIndex.MIN_WORD_LENGTH) {
+            return word;
+        }
+        int position = random.nextInt(word.length());
+        return word.substring(0, position) + word.substring(position + 1);
+    }
+}
@@ -0,0 +1,148 @@
+package com.hr.agent;
+
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Ekstraksi slot versi lama (sebelum {@link SlotExtractor}), disalin apa adanya dari HRAgentApp awal
+ * sebagai pembanding di {@link SlotExtractorBenchmark}: Pattern dikompilasi dan array nama bulan dibuat
+ * setiap panggilan. Satu-satunya perubahan: println debug di cabang "besok" dihapus.
+ */
+final class LegacySlotExtraction {
+
+    private LegacySlotExtraction() {
+    }
+
+    static LocalDate[] extractDates(String input) {
+        LocalDate[] dates = new LocalDate[2];
+        String lowerInput = input.toLowerCase();
+
+        // Pattern: "dari 1-5 januari" atau "1 sampai 5 januari"
+        Pattern dateRangePattern = Pattern.compile("(\\d{1,2})\\s*(?:-|sampai|hingga|to)\\s*(\\d{1,2})\\s+(\\w+)");
+        Matcher matcher = dateRangePattern.matcher(lowerInput);
+
+        if (matcher.find()) {
+            int startDay = Integer.parseInt(matcher.group(1));
+            int endDay = Integer.parseInt(matcher.group(2));
+            String monthName = matcher.group(3);
+
+            int month = parseMonthName(monthName);
+            int year = LocalDate.now().getYear(); // default tahun sekarang
+
+            try {
+                dates[0] = LocalDate.of(year, month, startDay);
+                dates[1] = LocalDate.of(year, month, endDay);
+                return dates;
+            } catch (Exception e) {
+                // Invalid date
+            }
+        }
+
+        LocalDate singleDate = extractSingleDate(input);
+        if (singleDate != null) {
+            dates[0] = singleDate;
+            dates[1] = singleDate.plusDays(1); // default satu hari
+            return dates;
+        }
+
+        if (lowerInput.contains("besok") || lowerInput.contains("tomorrow")) {
+            dates[0] = LocalDate.now().plusDays(1);
+            dates[1] = dates[0].plusDays(1);
+            return dates;
+        } else if (lowerInput.contains("hari ini") || lowerInput.contains("today")) {
+            dates[0] = LocalDate.now();
+            dates[1] = dates[0].plusDays(1);
+            return dates;
+        }
+
+        return dates;
+    }
+
+    static LocalDate extractSingleDate(String input) {
+        String lowerInput = input.toLowerCase();
+
+        // Pattern: "1 januari" atau "15 agustus"
+        Pattern singleDatePattern = Pattern.compile("(\\d{1,2})\\s+(\\w+)");
+        Matcher matcher = singleDatePattern.matcher(lowerInput);
+
+        if (matcher.find()) {
+            int day = Integer.parseInt(matcher.group(1));
+            String monthName = matcher.group(2);
+
+            int month = parseMonthName(monthName);
+            int year = LocalDate.now().getYear(); // default tahun sekarang
+
+            try {
+                return LocalDate.of(year, month, day);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        return null;
+    }
+
+    static int parseMonthName(String monthName) {
+        String[] months = {"januari", "februari", "maret", "april", "mei", "juni",
+                          "juli", "agustus", "september", "oktober", "november", "desember"};
+
+        for (int i = 0; i < months.length; i++) {
+            if (months[i].startsWith(monthName) || monthName.startsWith(months[i])) {
+                return i + 1;
+            }
+        }
+
+        // Bulan dalam bahasa Inggris
+        String[] englishMonths = {"january", "february", "march", "april", "may", "june",
+                                 "july", "august", "september", "october", "november", "december"};
+
+        for (int i = 0; i < englishMonths.length; i++) {
+            if (englishMonths[i].startsWith(monthName) || monthName.startsWith(englishMonths[i])) {
+                return i + 1;
+            }
+        }
+
+        return LocalDate.now().getMonthValue(); // default bulan sekarang
+    }
+
+    static String extractReviewerName(String input) {
+        String lowerInput = input.toLowerCase();
+
+        // cari pola "dengan [nama]" atau "by [nama]" atau "oleh [nama]"
+        Pattern reviewerPattern = Pattern.compile("(?:dengan|by|oleh)\\s+(\\w+\\s+\\w+)");
+        Matcher matcher = reviewerPattern.matcher(lowerInput);
+
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+
+        return null;
+    }
+
+    static double extractAmount(String input) {
+        // Cari pola angka dengan atau tanpa "Rp", koma/desimal, kata ribu/juta/k/m
+        Pattern amountPattern = Pattern.compile("(?:rp\\s*)?(\\d+(?:[.,]\\d+)?)\\s*(?:ribu|juta|k|m)?", Pattern.CASE_INSENSITIVE);
+        Matcher matcher = amountPattern.matcher(input);
+
+        if (matcher.find()) {
+            try {
+                double amount = Double.parseDouble(matcher.group(1).replace(",", "."));
+
+                // Cek untuk "ribu", "juta", "k", "m"
+                String fullMatch = matcher.group(0).toLowerCase();
+                if (fullMatch.contains("juta") || fullMatch.contains("m")) {
+                    amount *= 1000000;
+                } else if (fullMatch.contains("ribu") || fullMatch.contains("k")) {
+                    amount *= 1000;
+                }
+
+                return amount;
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+
+        return 0;
+    }
+}
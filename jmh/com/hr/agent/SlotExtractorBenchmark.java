@@ -0,0 +1,96 @@
+package com.hr.agent;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Ekstraksi slot lama ({@link LegacySlotExtraction}: Pattern.compile dan array bulan per panggilan)
+ * dibandingkan dengan {@link SlotExtractor} (Pattern prakompilasi, Matcher per thread, tabel bulan
+ * statis). Korpus adalah requests.txt dari {@link DatasetGenerator} (permintaan bahasa Indonesia
+ * campuran: cuti, review, pengeluaran, pertanyaan). Satu operasi = semua slot (tanggal, tanggal
+ * tunggal, reviewer, nominal) dari satu permintaan.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar SlotExtractorBenchmark -prof gc
+ * java -jar target/benchmarks.jar SlotExtractorBenchmark -t 4
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class SlotExtractorBenchmark {
+
+    private static final int REQUESTS = 4096; // pangkat dua, indeks permintaan diputar dengan mask
+
+    private final SlotExtractor slots = new SlotExtractor();
+    private String[] corpus;
+
+    /**
+     * Posisi permintaan per thread benchmark.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int index;
+
+        int next() {
+            index = (index + 1) & (REQUESTS - 1);
+            return index;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path dir = BenchmarkData.temporary(1000, 0, 0, REQUESTS);
+        try {
+            List<String> lines = Files.readAllLines(dir.resolve("requests.txt"), StandardCharsets.UTF_8);
+            corpus = new String[REQUESTS];
+            for (int i = 0; i < REQUESTS; i++) {
+                // Aplikasi meneruskan input yang sudah di-lowercase ke extractor
+                corpus[i] = lines.get(i % lines.size()).toLowerCase(Locale.ROOT);
+            }
+        } finally {
+            BenchmarkData.delete(dir);
+        }
+    }
+
+    @Benchmark
+    public void legacy(Cursor cursor, Blackhole blackhole) {
+        String input = corpus[cursor.next()];
+        blackhole.consume(LegacySlotExtraction.extractDates(input));
+        blackhole.consume(LegacySlotExtraction.extractSingleDate(input));
+        blackhole.consume(LegacySlotExtraction.extractReviewerName(input));
+        blackhole.consume(LegacySlotExtraction.extractAmount(input));
+    }
+
+    @Benchmark
+    public void slotExtractor(Cursor cursor, Blackhole blackhole) {
+        String input = corpus[cursor.next()];
+        blackhole.consume(slots.extractDates(input));
+        blackhole.consume(slots.extractSingleDate(input));
+        blackhole.consume(slots.extractReviewerName(input));
+        blackhole.consume(slots.extractAmount(input));
+    }
+}
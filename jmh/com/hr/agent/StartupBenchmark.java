@@ -0,0 +1,73 @@
+package com.hr.agent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark waktu startup ({@link HRAgentApp#load()}) untuk dataset besar. Dataset dibuat sekali
+ * dengan {@link DatasetGenerator} di target/jmh-data/ dan dipakai ulang. Setiap iterasi satu kali
+ * load (SingleShotTime); total alokasi selama load terlihat dengan profiler gc.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar StartupBenchmark -prof gc
+ * java -jar target/benchmarks.jar StartupBenchmark -p employees=100000 -p requests=1000000 -p backend=MOCK
+ * </pre>
+ *
+ * Untuk pembanding tanpa parsing paralel tambahkan
+ * -jvmArgsAppend -Djava.util.concurrent.ForkJoinPool.common.parallelism=1.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class StartupBenchmark {
+
+    @Param("1000000")
+    int employees;
+
+    @Param("10000000")
+    long requests;
+
+    @Param({"STORE", "MOCK"})
+    HRAgentApp.Backend backend;
+
+    private Path dir;
+    private HRAgentApp agent;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = BenchmarkData.cached("startup_" + employees + "_" + requests, employees, requests, employees);
+    }
+
+    @Benchmark
+    public HRAgentApp load() {
+        agent = new HRAgentApp(dir, LeaveBalanceJournal.FsyncPolicy.NEVER, 3600, backend);
+        agent.load();
+        return agent;
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeAgent() {
+        if (agent != null) {
+            agent.close();
+            agent = null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.hr.agent;
+
+/**
+ * Jawaban agent untuk satu input beserta intent yang terdeteksi.
+ */
+public final class AgentResponse {
+
+    private final Intent intent;
+    private final String message;
+
+    public AgentResponse(Intent intent, String message) {
+        this.intent = intent;
+        this.message = message;
+    }
+
+    public Intent getIntent() {
+        return intent;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,96 @@
+package com.hr.agent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Mode batch: memproses input newline-delimited secara paralel dan menulis hasil
+ * sebagai JSONL dengan urutan yang sama seperti input.
+ */
+public class BatchRunner {
+
+    // Jumlah request yang boleh antre per worker sebelum pembacaan input ditahan
+    private static final int IN_FLIGHT_PER_WORKER = 64;
+
+    private final Function<String, AgentResponse> agent;
+    private final int workers;
+
+    public BatchRunner(Function<String, AgentResponse> agent, int workers) {
+        this.agent = agent;
+        this.workers = Math.max(1, workers);
+    }
+
+    /**
+     * @return jumlah baris yang diproses.
+     */
+    public long run(BufferedReader in, Writer out) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        ArrayDeque<Future<String>> pending = new ArrayDeque<>();
+        int maxInFlight = workers * IN_FLIGHT_PER_WORKER;
+        long processed = 0;
+        long lineNumber = 0;
+
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                String input = line.trim();
+                if (input.isEmpty()) {
+                    continue;
+                }
+                long currentLine = lineNumber;
+                pending.add(pool.submit(() -> process(currentLine, input)));
+                processed++;
+
+                // Tulis hasil paling depan supaya urutan output sama dengan input
+                if (pending.size() >= maxInFlight) {
+                    writeResult(pending.poll(), out);
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeResult(pending.poll(), out);
+            }
+            out.flush();
+        } finally {
+            pool.shutdownNow();
+        }
+        return processed;
+    }
+
+    private String process(long lineNumber, String input) {
+        long start = System.nanoTime();
+        Intent intent = null;
+        String message;
+        try {
+            AgentResponse response = agent.apply(input);
+            intent = response.getIntent();
+            message = response.getMessage();
+        } catch (RuntimeException e) {
+            message = "Terjadi kesalahan: " + e.getMessage();
+        }
+        double latencyMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        return "{\"line\":" + lineNumber +
+            ",\"input\":" + Json.quote(input) +
+            ",\"intent\":" + Json.quote(intent != null ? intent.name() : null) +
+            ",\"response\":" + Json.quote(message) +
+            ",\"latency_ms\":" + String.format(Locale.ROOT, "%.3f", latencyMs) + "}";
+    }
+
+    private static void writeResult(Future<String> result, Writer out) throws IOException, InterruptedException {
+        try {
+            out.write(result.get());
+            out.write('\n');
+        } catch (ExecutionException e) {
+            throw new IOException("Gagal memproses input batch: " + e.getCause(), e.getCause());
+        }
+    }
+}
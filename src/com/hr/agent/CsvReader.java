@@ -0,0 +1,361 @@
+package com.hr.agent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+/**
+ * Pembaca CSV berbasis memory-mapped file yang langsung menelusuri byte UTF-8.
+ * Baris dibaca satu per satu ({@link #next()}); setiap field hanya disimpan sebagai posisi
+ * awal/akhir di buffer, dan String baru dibuat jika diminta lewat {@link #getString(int)}.
+ * Angka dan tanggal (yyyy-MM-dd) di-parse langsung dari byte.
+ *
+ * Mendukung field ber-quote ("Santoso, S.Kom", tanda kutip di-escape sebagai ""), baris CRLF,
+ * dan BOM UTF-8. Spasi di awal/akhir field tanpa quote dibuang (sama seperti trim()).
+ * File besar dipetakan per jendela sehingga tidak dibatasi 2 GB. Reader juga bisa dibatasi ke
+ * rentang byte tertentu ({@link #open(Path, long, long)}) untuk parsing paralel per potongan file.
+ */
+public final class CsvReader implements Closeable {
+
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private final FileChannel channel;
+    // Offset file setelah byte terakhir yang boleh dibaca
+    private final long end;
+    private MappedByteBuffer buffer;
+    // Offset file dari byte pertama buffer
+    private long windowStart;
+    private int pos;
+
+    private int fieldCount;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    // Field ber-quote yang berisi "" (perlu di-unescape saat dibuat String)
+    private boolean[] escaped = new boolean[16];
+    private byte[] scratch = new byte[256];
+
+    private CsvReader(FileChannel channel, long start, long end) throws IOException {
+        this.channel = channel;
+        this.end = end;
+        map(start);
+        // Lewati BOM UTF-8
+        if (start == 0 && buffer.limit() >= 3 && (buffer.get(0) & 0xff) == 0xEF && (buffer.get(1) & 0xff) == 0xBB
+                && (buffer.get(2) & 0xff) == 0xBF) {
+            pos = 3;
+        }
+    }
+
+    public static CsvReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return open(channel, 0, channel.size());
+    }
+
+    /**
+     * Membaca hanya byte [start, end) dari file. start harus berada di awal baris;
+     * baris terakhir berakhir di end (atau newline sebelum end).
+     */
+    public static CsvReader open(Path file, long start, long end) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return open(channel, start, Math.min(end, channel.size()));
+    }
+
+    private static CsvReader open(FileChannel channel, long start, long end) throws IOException {
+        try {
+            return new CsvReader(channel, start, end);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return offset file dari awal baris berikutnya yang akan dibaca {@link #next()}.
+     */
+    long position() {
+        return windowStart + pos;
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, end - start));
+        pos = 0;
+    }
+
+    /**
+     * Maju ke baris berikutnya. Baris kosong dilewati.
+     * @return false jika sudah mencapai akhir file.
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            if (pos >= buffer.limit()) {
+                if (windowStart + buffer.limit() >= end) {
+                    return false;
+                }
+                map(windowStart + pos);
+            }
+            int rowStart = pos;
+            int result = parseRow();
+            if (result < 0) {
+                // Baris terpotong di akhir jendela: petakan ulang mulai dari awal baris
+                if (rowStart == 0) {
+                    throw new IOException("Baris CSV lebih besar dari " + WINDOW_SIZE + " byte");
+                }
+                map(windowStart + rowStart);
+                continue;
+            }
+            if (fieldCount == 1 && starts[0] == ends[0] && !escaped[0]) {
+                continue; // baris kosong
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Mem-parse satu baris mulai dari pos.
+     * @return 0 jika berhasil, -1 jika baris terpotong di akhir jendela (bukan akhir file).
+     */
+    private int parseRow() {
+        int limit = buffer.limit();
+        boolean lastWindow = windowStart + limit >= end;
+        fieldCount = 0;
+        int p = pos;
+        while (true) {
+            ensureFieldCapacity();
+            int field = fieldCount++;
+            escaped[field] = false;
+            // Lewati spasi di awal field
+            while (p < limit && buffer.get(p) == ' ') {
+                p++;
+            }
+            if (p < limit && buffer.get(p) == '"') {
+                int start = ++p;
+                boolean closed = false;
+                while (p < limit) {
+                    byte b = buffer.get(p);
+                    if (b == '"') {
+                        if (p + 1 < limit && buffer.get(p + 1) == '"') {
+                            escaped[field] = true;
+                            p += 2;
+                            continue;
+                        }
+                        closed = true;
+                        break;
+                    }
+                    p++;
+                }
+                if (!closed && !lastWindow) {
+                    return -1;
+                }
+                starts[field] = start;
+                ends[field] = p;
+                if (closed) {
+                    p++; // tanda kutip penutup
+                }
+                // Abaikan karakter sisa sampai pemisah berikutnya
+                while (p < limit && buffer.get(p) != ',' && buffer.get(p) != '\n') {
+                    p++;
+                }
+            } else {
+                int start = p;
+                while (p < limit && buffer.get(p) != ',' && buffer.get(p) != '\n') {
+                    p++;
+                }
+                int end = p;
+                while (end > start && isTrimmable(buffer.get(end - 1))) {
+                    end--;
+                }
+                starts[field] = start;
+                ends[field] = end;
+            }
+
+            if (p >= limit) {
+                if (!lastWindow) {
+                    return -1;
+                }
+                pos = p;
+                return 0;
+            }
+            if (buffer.get(p) == '\n') {
+                pos = p + 1;
+                return 0;
+            }
+            p++; // koma
+        }
+    }
+
+    private static boolean isTrimmable(byte b) {
+        return b == ' ' || b == '\r' || b == '\t';
+    }
+
+    private void ensureFieldCapacity() {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+            escaped = Arrays.copyOf(escaped, fieldCount * 2);
+        }
+    }
+
+    // ===================== AKSES FIELD =====================
+
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    public boolean isEmpty(int field) {
+        return starts[field] == ends[field];
+    }
+
+    public String getString(int field) {
+        int length = copyField(field);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return semua field baris ini sebagai String (untuk kode yang butuh String[]).
+     */
+    public String[] toArray() {
+        String[] values = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            values[i] = getString(i);
+        }
+        return values;
+    }
+
+    /**
+     * Membandingkan field dengan teks tanpa membuat String (case-insensitive untuk ASCII).
+     */
+    public boolean fieldEqualsIgnoreCase(int field, String text) {
+        int start = starts[field];
+        int length = ends[field] - start;
+        if (escaped[field] || length != text.length()) {
+            // Panjang byte berbeda dari panjang char jika ada karakter non-ASCII
+            return (escaped[field] || hasNonAscii(field)) && getString(field).equalsIgnoreCase(text);
+        }
+        for (int i = 0; i < length; i++) {
+            byte b = buffer.get(start + i);
+            if (b < 0) {
+                return getString(field).equalsIgnoreCase(text);
+            }
+            char c = (char) b;
+            char other = text.charAt(i);
+            if (c != other && Character.toLowerCase(c) != Character.toLowerCase(other)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasNonAscii(int field) {
+        for (int p = starts[field]; p < ends[field]; p++) {
+            if (buffer.get(p) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @throws NumberFormatException jika field bukan bilangan bulat.
+     */
+    public int getInt(int field) {
+        long value = getLong(field);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Di luar jangkauan int: " + getString(field));
+        }
+        return (int) value;
+    }
+
+    /**
+     * @throws NumberFormatException jika field bukan bilangan bulat.
+     */
+    public long getLong(int field) {
+        int p = starts[field];
+        int end = ends[field];
+        boolean negative = p < end && buffer.get(p) == '-';
+        if (negative || (p < end && buffer.get(p) == '+')) {
+            p++;
+        }
+        if (p == end || end - p > 18 || escaped[field]) {
+            return Long.parseLong(getString(field)); // kasus jarang: biarkan parser standar yang menilai
+        }
+        long value = 0;
+        for (; p < end; p++) {
+            int digit = buffer.get(p) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Bukan angka: " + getString(field));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Mem-parse tanggal ISO (yyyy-MM-dd) langsung dari byte.
+     * @throws DateTimeParseException jika format atau tanggal tidak valid.
+     */
+    public LocalDate getDate(int field) {
+        int p = starts[field];
+        if (ends[field] - p == 10 && buffer.get(p + 4) == '-' && buffer.get(p + 7) == '-') {
+            int year = digits(p, 4);
+            int month = digits(p + 5, 2);
+            int day = digits(p + 8, 2);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                try {
+                    return LocalDate.of(year, month, day);
+                } catch (DateTimeException e) {
+                    // tanggal tidak valid, misal 2025-02-30: lempar sebagai DateTimeParseException di bawah
+                }
+            }
+        }
+        return LocalDate.parse(getString(field));
+    }
+
+    private int digits(int p, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            int digit = buffer.get(p + i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    // Menyalin isi field ke scratch (dengan unescape "" -> ") dan mengembalikan panjangnya
+    private int copyField(int field) {
+        int start = starts[field];
+        int length = ends[field] - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        if (!escaped[field]) {
+            for (int i = 0; i < length; i++) {
+                scratch[i] = buffer.get(start + i);
+            }
+            return length;
+        }
+        int out = 0;
+        for (int p = start; p < start + length; p++) {
+            byte b = buffer.get(p);
+            scratch[out++] = b;
+            if (b == '"') {
+                p++; // "" -> "
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,69 @@
+package com.hr.agent;
+
+/**
+ * Data karyawan yang sedang berlaku: direktori beserta backend HRFunctions, kalender cuti dan
+ * penjadwal review yang dibangun dari direktori yang sama. Reload membangun snapshot baru terpisah
+ * lalu mempublikasikannya dengan satu penukaran referensi volatile, sehingga satu permintaan yang
+ * membaca snapshot sekali tidak pernah melihat campuran direktori lama dan baru.
+ *
+ * Referensinya tidak berubah, tetapi kalender, penjadwal dan HRDataStore tetap menerima pengajuan
+ * dan review baru. Penulisan itu dilakukan di bawah lock file, dan HRAgentApp hanya mengganti
+ * snapshot sambil memegang kedua lock file.
+ */
+final class DataSnapshot {
+
+    private final EmployeeDirectory directory;
+    private final HRFunctions functions;
+    private final LeaveCalendar leaveCalendar;
+    private final ReviewScheduler reviewScheduler;
+
+    DataSnapshot(EmployeeDirectory directory, HRFunctions functions, LeaveCalendar leaveCalendar,
+                 ReviewScheduler reviewScheduler) {
+        if (leaveCalendar.getDirectory() != directory || reviewScheduler.getDirectory() != directory) {
+            throw new IllegalArgumentException("Kalender cuti dan penjadwal review harus memakai direktori yang sama");
+        }
+        this.directory = directory;
+        this.functions = functions;
+        this.leaveCalendar = leaveCalendar;
+        this.reviewScheduler = reviewScheduler;
+    }
+
+    // Sebelum load(): direktori kosong, backend belum ada
+    static DataSnapshot empty() {
+        EmployeeDirectory directory = EmployeeDirectory.empty();
+        return new DataSnapshot(directory, null, LeaveCalendar.empty(directory), ReviewScheduler.empty(directory));
+    }
+
+    EmployeeDirectory getDirectory() {
+        return directory;
+    }
+
+    HRFunctions getFunctions() {
+        return functions;
+    }
+
+    LeaveCalendar getLeaveCalendar() {
+        return leaveCalendar;
+    }
+
+    ReviewScheduler getReviewScheduler() {
+        return reviewScheduler;
+    }
+
+    /**
+     * @return HRDataStore milik backend store, atau null untuk backend mock
+     */
+    HRDataStore dataStore() {
+        return functions instanceof StoreHRFunctions ? ((StoreHRFunctions) functions).getStore() : null;
+    }
+
+    /**
+     * Snapshot dengan direktori yang sama; komponen yang null diambil dari snapshot ini.
+     */
+    DataSnapshot with(HRFunctions newFunctions, LeaveCalendar newCalendar, ReviewScheduler newScheduler) {
+        return new DataSnapshot(directory,
+            newFunctions != null ? newFunctions : functions,
+            newCalendar != null ? newCalendar : leaveCalendar,
+            newScheduler != null ? newScheduler : reviewScheduler);
+    }
+}
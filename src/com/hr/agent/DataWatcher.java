@@ -0,0 +1,115 @@
+package com.hr.agent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Memantau direktori data dengan WatchService dan memanggil listener per nama file yang berubah.
+ * Rentetan event untuk file yang sama digabung (debounce): listener baru dipanggil setelah
+ * file tidak berubah selama debounceMillis. Listener dijalankan berurutan di satu thread latar.
+ */
+public class DataWatcher implements Closeable {
+
+    private final Path directory;
+    private final Set<String> fileNames;
+    private final long debounceMillis;
+    private final Consumer<String> listener;
+    private final WatchService watchService;
+    private final ScheduledExecutorService reloader;
+    private final Map<String, ScheduledFuture<?>> pending = new HashMap<>();
+    private final Thread watchThread;
+
+    /**
+     * @param fileNames nama file di direktori yang dipantau; file lain diabaikan
+     */
+    public DataWatcher(Path directory, Set<String> fileNames, long debounceMillis,
+                       Consumer<String> listener) throws IOException {
+        this.directory = directory.toAbsolutePath();
+        this.fileNames = fileNames;
+        this.debounceMillis = debounceMillis;
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        // ENTRY_CREATE juga menangkap file yang diganti lewat rename (misal editor atau mv)
+        this.directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+        this.reloader = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "data-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchThread = new Thread(this::watchLoop, "data-watcher");
+        this.watchThread.setDaemon(true);
+    }
+
+    public void start() {
+        watchThread.start();
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Event hilang: anggap semua file mungkin berubah
+                        for (String fileName : fileNames) {
+                            schedule(fileName);
+                        }
+                        continue;
+                    }
+                    String fileName = ((Path) event.context()).getFileName().toString();
+                    if (fileNames.contains(fileName)) {
+                        schedule(fileName);
+                    }
+                }
+                if (!key.reset()) {
+                    System.err.println("Direktori data " + directory + " tidak bisa dipantau lagi.");
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // watcher ditutup
+        }
+    }
+
+    private synchronized void schedule(String fileName) {
+        ScheduledFuture<?> previous = pending.get(fileName);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        pending.put(fileName, reloader.schedule(() -> fire(fileName), debounceMillis, TimeUnit.MILLISECONDS));
+    }
+
+    private void fire(String fileName) {
+        synchronized (this) {
+            pending.remove(fileName);
+        }
+        try {
+            listener.accept(fileName);
+        } catch (RuntimeException e) {
+            System.err.println("Error memuat ulang " + fileName + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchThread.interrupt();
+        watchService.close();
+        reloader.shutdownNow();
+    }
+}
@@ -0,0 +1,529 @@
+package com.hr.agent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generator dataset sintetis berskala besar dengan skema CSV yang sama persis dengan file aplikasi:
+ * employees.csv, leave_balances.csv, leave_requests.csv dan performance_reviews.csv, ditambah
+ * requests.txt berisi permintaan bahasa alami (satu per baris, untuk mode batch dan load test).
+ *
+ * Hasilnya deterministik untuk seed dan tanggal acuan yang sama. Setiap file memakai Random sendiri
+ * yang diturunkan dari seed, sehingga mengubah jumlah baris satu file tidak mengubah isi file lain.
+ * Baris ditulis streaming; per karyawan hanya disimpan beberapa byte (manajer, kedalaman, departemen,
+ * indeks nama), jadi puluhan juta baris tetap muat di heap biasa.
+ *
+ * Struktur organisasi berupa pohon yang diisi melebar: Direktur Utama membawahi satu kepala per
+ * departemen, setiap atasan berikutnya membawahi 3-10 orang. Jabatan mengikuti kedalaman
+ * (kepala, manajer, supervisor) dan karyawan tanpa bawahan mendapat jabatan staf departemennya.
+ *
+ * <pre>
+ * java -cp bin com.hr.agent.DatasetGenerator [--dir data_besar] [--employees 100000]
+ *     [--leave-requests 5x] [--reviews 1x] [--requests 10000] [--seed 42] [--today 2025-09-01]
+ * </pre>
+ */
+public class DatasetGenerator {
+
+    private static final int FIRST_EMPLOYEE_ID = 101;
+    private static final int MIN_REPORTS = 3;
+    private static final int MAX_REPORTS = 10;
+    private static final int BUFFER_CHARS = 1 << 20;
+    private static final String EMAIL_DOMAIN = "@examplecorp.com";
+    private static final LocalDate FOUNDED = LocalDate.of(2010, 1, 4);
+
+    // Nama depan sengaja sedikit dibanding jumlah karyawan: banyak "Budi", "Siti", dst.
+    private static final String[] FIRST_NAMES = {
+        "Budi", "Siti", "Agus", "Dewi", "Andi", "Rina", "Joko", "Putri", "Eko", "Sri", "Bambang", "Wati",
+        "Hendra", "Ratna", "Yudi", "Indah", "Rudi", "Lestari", "Doni", "Maya", "Fajar", "Nurul", "Gilang", "Hana",
+        "Rizky", "Ayu", "Dimas", "Fitri", "Arief", "Citra", "Bayu", "Sari", "Teguh", "Wulan", "Irfan", "Yuni",
+        "Hadi", "Kartika", "Rahmat", "Dian", "Wahyu", "Anisa", "Taufik", "Novi", "Yoga", "Intan", "Ilham", "Rini",
+        "Adi", "Tika", "Dedi", "Mega", "Surya", "Laras", "Aditya", "Ningsih", "Reza", "Bella", "Leo", "Santi"
+    };
+    private static final String[] MIDDLE_NAMES = {
+        "Dwi", "Tri", "Nur", "Adi", "Eka", "Dewi", "Putra", "Putri", "Sri", "Ayu", "Budi", "Indra", "Kusuma",
+        "Maria", "Rahma", "Wahyu", "Tirta", "Cahya"
+    };
+    private static final String[] LAST_NAMES = {
+        "Santoso", "Wijaya", "Putri", "Firmansyah", "Setiawan", "Lestari", "Prasetyo", "Sari", "Gunawan",
+        "Anggraini", "Nugraha", "Yulita", "Ramadhan", "Permata", "Kusuma", "Hidayat", "Saputra", "Wibowo",
+        "Kurniawan", "Susanto", "Pratama", "Hakim", "Siregar", "Nasution", "Simanjuntak", "Harahap", "Lubis",
+        "Sitompul", "Tanjung", "Hutapea", "Purnomo", "Suryadi", "Halim", "Salim", "Utomo", "Suharto", "Wahyudi",
+        "Rahayu", "Handayani", "Maharani", "Safitri", "Fauzi", "Syahputra", "Hasibuan", "Pohan", "Manurung",
+        "Tambunan", "Pangaribuan", "Sembiring", "Ginting", "Tarigan", "Sinaga", "Rahman", "Iskandar", "Hartono",
+        "Sudirman", "Mulyadi", "Setiadi", "Irawan", "Budiman"
+    };
+    // Nama tunggal (tanpa nama keluarga), umum di Indonesia
+    private static final String[] SINGLE_NAMES = {
+        "Sukarno", "Suharti", "Mulyono", "Sumarni", "Paijo", "Tukiyem", "Sugiarto", "Wagiman", "Parmi", "Slamet"
+    };
+
+    private static final String TOP_DEPARTMENT = "Manajemen";
+    // {departemen, kepala, manajer, supervisor, staf...}
+    private static final String[][] DEPARTMENTS = {
+        {"Teknologi", "Head of Engineering", "Engineering Manager", "Tech Lead", "Software Engineer",
+            "Senior Software Engineer", "QA Engineer", "Data Scientist", "DevOps Engineer"},
+        {"Produk", "Head of Product", "Product Manager", "Product Lead", "Product Analyst", "UI/UX Designer",
+            "Product Designer"},
+        {"Penjualan", "Head of Sales", "Sales Manager", "Sales Supervisor", "Sales Executive",
+            "Account Executive", "Sales Admin"},
+        {"Pemasaran", "Head of Marketing", "Marketing Manager", "Marketing Lead", "Marketing Specialist",
+            "Content Writer", "Digital Marketing Analyst"},
+        {"Sumber Daya Manusia", "Head of HR", "HR Manager", "HR Supervisor", "HR Generalist", "Recruiter",
+            "Payroll Specialist"},
+        {"Keuangan", "Head of Finance", "Finance Manager", "Finance Supervisor", "Akuntan", "Finance Analyst",
+            "Tax Specialist"},
+        {"Operasional", "Head of Operations", "Operations Manager", "Operations Supervisor", "Operations Staff",
+            "Logistics Coordinator", "Procurement Staff"},
+        {"Layanan Pelanggan", "Head of Customer Service", "Customer Service Manager", "Team Leader",
+            "Customer Service Agent", "Customer Success Specialist"}
+    };
+    private static final int FIRST_STAFF_TITLE = 4;
+
+    private static final String[] MONTHS = {"januari", "februari", "maret", "april", "mei", "juni", "juli",
+        "agustus", "september", "oktober", "november", "desember"};
+    private static final String[] EXPENSES = {"transportasi", "taksi", "makan siang", "hotel", "penginapan",
+        "internet", "telepon", "peralatan kantor", "parkir"};
+
+    private final long seed;
+    private final LocalDate today;
+
+    // Per karyawan (indeks 0 = Direktur Utama); diisi generateEmployees
+    private int employeeCount;
+    private int[] managers;
+    private byte[] depths;
+    private byte[] departments;
+    private short[] firstNames;
+    private short[] middleNames;
+    private short[] lastNames;
+    private boolean[] active;
+
+    /**
+     * @param today tanggal acuan: cuti/review sebelum tanggal ini sudah diproses, sesudahnya menunggu
+     */
+    public DatasetGenerator(long seed, LocalDate today) {
+        this.seed = seed;
+        this.today = today;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Paths.get(option(args, "--dir", "data_besar"));
+        int employees = Integer.parseInt(option(args, "--employees", "100000"));
+        long leaveRequests = count(option(args, "--leave-requests", "5x"), employees);
+        long reviews = count(option(args, "--reviews", "1x"), employees);
+        int requests = Integer.parseInt(option(args, "--requests", "10000"));
+        DatasetGenerator generator = new DatasetGenerator(Long.parseLong(option(args, "--seed", "42")),
+            LocalDate.parse(option(args, "--today", "2025-09-01")));
+
+        long start = System.nanoTime();
+        generator.generate(dir, employees, leaveRequests, reviews, requests);
+        for (String file : new String[] {"employees.csv", "leave_balances.csv", "leave_requests.csv",
+                "performance_reviews.csv", "requests.txt"}) {
+            System.out.println(String.format(Locale.ROOT, "%-24s %,10d KB", file,
+                Files.size(dir.resolve(file)) / 1024));
+        }
+        System.out.println(String.format(Locale.ROOT, "Selesai dalam %,d ms (%d tingkat organisasi)",
+            (System.nanoTime() - start) / 1_000_000, generator.maxDepth() + 1));
+    }
+
+    // "5x" = 5 per karyawan, selain itu jumlah absolut
+    private static long count(String value, int employees) {
+        return value.endsWith("x")
+            ? (long) (Double.parseDouble(value.substring(0, value.length() - 1)) * employees)
+            : Long.parseLong(value);
+    }
+
+    /**
+     * Menulis semua file ke dir (dibuat jika belum ada, file lama ditimpa).
+     *
+     * @param corpusLines jumlah baris requests.txt (0 untuk tidak membuatnya)
+     */
+    public void generate(Path dir, int employees, long leaveRequests, long reviews, int corpusLines)
+            throws IOException {
+        Files.createDirectories(dir);
+        generateEmployees(dir.resolve("employees.csv"), employees);
+        generateLeaveBalances(dir.resolve("leave_balances.csv"));
+        generateLeaveRequests(dir.resolve("leave_requests.csv"), leaveRequests);
+        generateReviews(dir.resolve("performance_reviews.csv"), reviews);
+        if (corpusLines > 0) {
+            generateCorpus(dir.resolve("requests.txt"), corpusLines);
+        }
+    }
+
+    private Random random(int stream) {
+        return new Random(seed * 1_000_003L + stream);
+    }
+
+    private static Writer writer(Path file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8),
+            BUFFER_CHARS);
+    }
+
+    // ===================== KARYAWAN =====================
+
+    /**
+     * Pohon diisi melebar: karyawan ke-i melapor ke atasan yang slot bawahannya belum penuh.
+     * Jumlah slot per atasan diundi dulu (Random terpisah) supaya sebelum menulis sudah diketahui
+     * siapa saja yang punya bawahan, lalu diundi ulang dengan urutan yang sama saat menulis.
+     */
+    private void generateEmployees(Path file, int count) throws IOException {
+        employeeCount = count;
+        managers = new int[count];
+        depths = new byte[count];
+        departments = new byte[count];
+        firstNames = new short[count];
+        middleNames = new short[count];
+        lastNames = new short[count];
+        active = new boolean[count];
+
+        int managerCount = countManagers(count);
+        Random slots = random(1);
+        Random random = random(2);
+        int manager = -1;
+        int remainingSlots = 0;
+        long foundedDays = ChronoUnit.DAYS.between(FOUNDED, today);
+        StringBuilder row = new StringBuilder(160);
+        try (Writer out = writer(file)) {
+            out.write("id,nama,email,jabatan,departemen,id_manajer,tanggal_bergabung,status_karyawan\n");
+            for (int i = 0; i < count; i++) {
+                String department;
+                String position;
+                if (i == 0) {
+                    managers[i] = -1;
+                    department = TOP_DEPARTMENT;
+                    position = "Direktur Utama";
+                } else {
+                    while (remainingSlots == 0) {
+                        manager++;
+                        remainingSlots = reportSlots(manager, slots);
+                    }
+                    remainingSlots--;
+                    managers[i] = manager;
+                    depths[i] = (byte) Math.min(Byte.MAX_VALUE, depths[manager] + 1);
+                    // Bawahan langsung Direktur Utama masing-masing memimpin satu departemen
+                    departments[i] = manager == 0 ? (byte) ((i - 1) % DEPARTMENTS.length) : departments[manager];
+                    String[] titles = DEPARTMENTS[departments[i]];
+                    if (depths[i] == 1) {
+                        department = TOP_DEPARTMENT;
+                        position = titles[1];
+                    } else if (i < managerCount) {
+                        department = titles[0];
+                        position = depths[i] == 2 ? titles[2] : titles[3];
+                    } else {
+                        department = titles[0];
+                        position = titles[FIRST_STAFF_TITLE + random.nextInt(titles.length - FIRST_STAFF_TITLE)];
+                    }
+                }
+
+                pickName(i, random);
+                active[i] = random.nextInt(100) >= 3;
+                // Semakin tinggi jabatan, semakin lama bergabung
+                long days = random.nextInt((int) Math.max(1, foundedDays));
+                for (int d = depths[i]; d < 3; d++) {
+                    days = Math.min(days, random.nextInt((int) Math.max(1, foundedDays)));
+                }
+                LocalDate joined = FOUNDED.plusDays(days);
+
+                row.setLength(0);
+                row.append(FIRST_EMPLOYEE_ID + i).append(',');
+                appendName(row, i);
+                row.append(',').append(firstName(i).toLowerCase(Locale.ROOT)).append('.')
+                    .append(lastInitial(i)).append(FIRST_EMPLOYEE_ID + i).append(EMAIL_DOMAIN)
+                    .append(',').append(position).append(',').append(department).append(',');
+                if (i > 0) {
+                    row.append(FIRST_EMPLOYEE_ID + managers[i]);
+                }
+                row.append(',').append(joined).append(',').append(active[i] ? "Aktif" : "Cuti Panjang").append('\n');
+                out.append(row);
+            }
+        }
+    }
+
+    // Jumlah karyawan yang punya bawahan (karyawan 0..hasil-1, karena pohon diisi melebar)
+    private int countManagers(int count) {
+        Random slots = random(1);
+        long assigned = 0;
+        int manager = 0;
+        while (assigned < count - 1) {
+            assigned += reportSlots(manager, slots);
+            manager++;
+        }
+        return Math.max(1, manager);
+    }
+
+    private static int reportSlots(int manager, Random slots) {
+        return manager == 0 ? DEPARTMENTS.length : MIN_REPORTS + slots.nextInt(MAX_REPORTS - MIN_REPORTS + 1);
+    }
+
+    private void pickName(int i, Random random) {
+        firstNames[i] = (short) random.nextInt(FIRST_NAMES.length);
+        middleNames[i] = -1;
+        lastNames[i] = -1;
+        int kind = random.nextInt(100);
+        if (kind < 5) {
+            firstNames[i] = (short) -(1 + random.nextInt(SINGLE_NAMES.length)); // nama tunggal
+            return;
+        }
+        if (kind < 25) {
+            middleNames[i] = (short) random.nextInt(MIDDLE_NAMES.length);
+        }
+        lastNames[i] = (short) random.nextInt(LAST_NAMES.length);
+    }
+
+    private void appendName(StringBuilder out, int i) {
+        out.append(firstName(i));
+        if (middleNames[i] >= 0) {
+            out.append(' ').append(MIDDLE_NAMES[middleNames[i]]);
+        }
+        if (lastNames[i] >= 0) {
+            out.append(' ').append(LAST_NAMES[lastNames[i]]);
+        }
+    }
+
+    private String firstName(int i) {
+        return firstNames[i] >= 0 ? FIRST_NAMES[firstNames[i]] : SINGLE_NAMES[-firstNames[i] - 1];
+    }
+
+    private String fullName(int i) {
+        StringBuilder name = new StringBuilder(32);
+        appendName(name, i);
+        return name.toString();
+    }
+
+    private char lastInitial(int i) {
+        String last = lastNames[i] >= 0 ? LAST_NAMES[lastNames[i]] : firstName(i);
+        return Character.toLowerCase(last.charAt(0));
+    }
+
+    int maxDepth() {
+        int max = 0;
+        for (int i = 0; i < employeeCount; i++) {
+            max = Math.max(max, depths[i]);
+        }
+        return max;
+    }
+
+    // ===================== SISA CUTI =====================
+
+    private void generateLeaveBalances(Path file) throws IOException {
+        Random random = random(3);
+        StringBuilder row = new StringBuilder(64);
+        try (Writer out = writer(file)) {
+            out.write("id_karyawan,tipe_cuti,sisa_hari\n");
+            for (int i = 0; i < employeeCount; i++) {
+                int id = FIRST_EMPLOYEE_ID + i;
+                row.setLength(0);
+                row.append(id).append(",Tahunan,").append(random.nextInt(13)).append('\n');
+                row.append(id).append(",Sakit,").append(random.nextInt(15)).append('\n');
+                out.append(row);
+            }
+        }
+    }
+
+    // ===================== PENGAJUAN CUTI =====================
+
+    /**
+     * Pengajuan ditulis kronologis (id naik seiring tanggal) selama tiga tahun sampai dua bulan
+     * setelah tanggal acuan, seperti riwayat yang tumbuh dari append aplikasi.
+     */
+    private void generateLeaveRequests(Path file, long count) throws IOException {
+        Random random = random(4);
+        IdAllocator ids = new IdAllocator("LR", 3, 0);
+        LocalDate first = today.minusYears(3);
+        long spanDays = ChronoUnit.DAYS.between(first, today.plusDays(60));
+        StringBuilder row = new StringBuilder(96);
+        try (Writer out = writer(file)) {
+            out.write("id_request,id_karyawan,tipe_cuti,tanggal_mulai,tanggal_selesai,status_request\n");
+            for (long k = 0; k < count; k++) {
+                int employee = randomActiveEmployee(random);
+                LocalDate start = weekday(first.plusDays(k * spanDays / Math.max(1, count)
+                    + random.nextInt(7)));
+                boolean sick = random.nextInt(100) < 30;
+                LocalDate end = start.plusDays(sick ? random.nextInt(3) : random.nextInt(5));
+                String status;
+                if (start.isAfter(today)) {
+                    status = "Menunggu Persetujuan";
+                } else {
+                    int roll = random.nextInt(100);
+                    status = roll < 85 ? "Disetujui" : roll < 95 ? "Ditolak" : "Menunggu Persetujuan";
+                }
+                row.setLength(0);
+                row.append(ids.next()).append(',').append(FIRST_EMPLOYEE_ID + employee).append(',')
+                    .append(sick ? "Sakit" : "Tahunan").append(',').append(start).append(',').append(end)
+                    .append(',').append(status).append('\n');
+                out.append(row);
+            }
+        }
+    }
+
+    private int randomActiveEmployee(Random random) {
+        for (int attempt = 0; attempt < 8; attempt++) {
+            int employee = random.nextInt(employeeCount);
+            if (active[employee]) {
+                return employee;
+            }
+        }
+        return random.nextInt(employeeCount);
+    }
+
+    private static LocalDate weekday(LocalDate date) {
+        if (date.getDayOfWeek() == DayOfWeek.SATURDAY) {
+            return date.plusDays(2);
+        }
+        return date.getDayOfWeek() == DayOfWeek.SUNDAY ? date.plusDays(1) : date;
+    }
+
+    // ===================== REVIEW PERFORMA =====================
+
+    /**
+     * Review dua kali setahun (Juni dan Desember) dengan atasan langsung sebagai reviewer.
+     * Review yang sudah lewat berstatus Selesai dengan skor 1-5, sisanya Terjadwal dengan skor 0.
+     */
+    private void generateReviews(Path file, long count) throws IOException {
+        Random random = random(5);
+        IdAllocator ids = new IdAllocator("PR", 2, 0);
+        LocalDate[] cycles = new LocalDate[6];
+        int year = today.getYear() - 2;
+        for (int c = 0; c < cycles.length; c++) {
+            cycles[c] = c % 2 == 0 ? LocalDate.of(year + c / 2, 6, 16) : LocalDate.of(year + c / 2, 12, 8);
+        }
+        StringBuilder row = new StringBuilder(64);
+        try (Writer out = writer(file)) {
+            out.write("id_review,id_karyawan,id_reviewer,tanggal_review,skor_performa,status_review\n");
+            if (employeeCount < 2) {
+                return;
+            }
+            for (long k = 0; k < count; k++) {
+                int employee = 1 + random.nextInt(employeeCount - 1); // Direktur Utama tidak direview
+                LocalDate date = weekday(cycles[(int) (k * cycles.length / count)].plusDays(random.nextInt(10)));
+                boolean done = !date.isAfter(today);
+                // Skor condong ke 3-4
+                int score = done ? Math.min(5, Math.max(1, 3 + (int) Math.round(random.nextGaussian() * 0.8))) : 0;
+                row.setLength(0);
+                row.append(ids.next()).append(',').append(FIRST_EMPLOYEE_ID + employee).append(',')
+                    .append(FIRST_EMPLOYEE_ID + managers[employee]).append(',').append(date).append(',')
+                    .append(score).append(',').append(done ? "Selesai" : "Terjadwal").append('\n');
+                out.append(row);
+            }
+        }
+    }
+
+    // ===================== KORPUS PERMINTAAN =====================
+
+    /**
+     * Permintaan bahasa alami yang merujuk karyawan di dataset: nama lengkap atau nama depan saja
+     * (bisa ambigu), huruf kecil atau kapital, sebagian dengan satu typo.
+     */
+    private void generateCorpus(Path file, int lines) throws IOException {
+        Random random = random(6);
+        try (Writer out = writer(file)) {
+            for (int line = 0; line < lines; line++) {
+                int employee = random.nextInt(employeeCount);
+                String name = mention(employee, random);
+                String request;
+                switch (random.nextInt(16)) {
+                    case 0:
+                        request = "siapa manajer " + name + "?";
+                        break;
+                    case 1:
+                        request = "manajer " + name + " siapa ya?";
+                        break;
+                    case 2:
+                        request = "sisa cuti " + name + " berapa?";
+                        break;
+                    case 3:
+                        request = "berapa sisa cuti tahunan " + name + "?";
+                        break;
+                    case 4:
+                        request = name + " kerja di departemen mana?";
+                        break;
+                    case 5:
+                        request = "jabatan " + name + " apa?";
+                        break;
+                    case 6:
+                        request = "status " + name + " gimana?";
+                        break;
+                    case 7:
+                        request = "email " + name + " apa?";
+                        break;
+                    case 8:
+                        request = "info " + name + " apa aja?";
+                        break;
+                    case 9:
+                    case 10: {
+                        int day = 1 + random.nextInt(24);
+                        request = "ajukan cuti " + (random.nextBoolean() ? "sakit" : "tahunan") + " untuk " + name
+                            + " dari " + day + "-" + (day + random.nextInt(5)) + " " + MONTHS[random.nextInt(12)];
+                        break;
+                    }
+                    case 11:
+                        request = employee > 0
+                            ? "jadwalkan review performa " + name + " dengan " + fullName(managers[employee])
+                            : "jadwalkan review performa " + name;
+                        break;
+                    case 12:
+                        request = "jadwalkan review " + name + " tanggal " + (1 + random.nextInt(28)) + " "
+                            + MONTHS[random.nextInt(12)];
+                        break;
+                    case 13:
+                        request = "cek status cuti " + name;
+                        break;
+                    case 14:
+                        request = "lapor pengeluaran " + EXPENSES[random.nextInt(EXPENSES.length)] + " "
+                            + (random.nextBoolean() ? (10 + random.nextInt(990)) + " ribu"
+                                : (1 + random.nextInt(5)) + " juta") + " untuk " + name;
+                        break;
+                    default:
+                        request = "cari info tentang " + name;
+                        break;
+                }
+                out.write(request);
+                out.write('\n');
+            }
+        }
+    }
+
+    private String mention(int employee, Random random) {
+        String name = random.nextInt(100) < 70 ? fullName(employee) : firstName(employee);
+        if (random.nextBoolean()) {
+            name = name.toLowerCase(Locale.ROOT);
+        }
+        if (random.nextInt(100) < 5) {
+            name = typo(name, random);
+        }
+        return name;
+    }
+
+    // Dua huruf bersebelahan ditukar di kata terakhir
+    private static String typo(String name, Random random) {
+        int wordStart = name.lastIndexOf(' ') + 1;
+        if (name.length() - wordStart < 4) {
+            return name;
+        }
+        int position = wordStart + 1 + random.nextInt(name.length() - wordStart - 2);
+        char[] chars = name.toCharArray();
+        char swapped = chars[position];
+        chars[position] = chars[position + 1];
+        chars[position + 1] = swapped;
+        return new String(chars);
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+}
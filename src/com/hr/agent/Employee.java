@@ -0,0 +1,95 @@
+package com.hr.agent;
+
+/**
+ * Satu baris employees.csv yang sudah di-parse sekali saat load.
+ * Nama lowercase dan nama depan disimpan supaya lookup tidak perlu split ulang.
+ */
+public final class Employee {
+
+    private final String id;
+    private final String name;
+    private final String email;
+    private final String position;
+    private final String department;
+    private final String managerId;
+    private final String joinDate;
+    private final String status;
+
+    private final String lowerName;
+    private final String lowerFirstName;
+
+    public Employee(String id, String name, String email, String position, String department,
+                    String managerId, String joinDate, String status) {
+        this.id = id.trim();
+        this.name = name.trim();
+        this.email = email.trim();
+        this.position = position.trim();
+        this.department = department.trim();
+        this.managerId = managerId.trim();
+        this.joinDate = joinDate.trim();
+        this.status = status.trim();
+
+        this.lowerName = this.name.toLowerCase();
+        this.lowerFirstName = lowerName.split("\\s+")[0];
+    }
+
+    /**
+     * Membuat Employee dari kolom CSV (id,nama,email,jabatan,departemen,id_manajer,tanggal_bergabung,status_karyawan).
+     * @return null jika jumlah kolom kurang dari 8.
+     */
+    public static Employee fromColumns(String[] cols) {
+        if (cols.length < 8) {
+            return null;
+        }
+        return new Employee(cols[0], cols[1], cols[2], cols[3], cols[4], cols[5], cols[6], cols[7]);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public String getManagerId() {
+        return managerId;
+    }
+
+    public boolean hasManager() {
+        return !managerId.isEmpty();
+    }
+
+    public String getJoinDate() {
+        return joinDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getLowerName() {
+        return lowerName;
+    }
+
+    public String getLowerFirstName() {
+        return lowerFirstName;
+    }
+
+    @Override
+    public String toString() {
+        return id + " " + name;
+    }
+}
@@ -0,0 +1,181 @@
+package com.hr.agent;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Direktori karyawan in-memory. Data employees.csv di-parse sekali,
+ * lalu diindeks berdasarkan id, nama lengkap, dan departemen sehingga setiap lookup
+ * cukup satu akses HashMap; hierarki atasan ada di {@link OrgChart}.
+ */
+public class EmployeeDirectory {
+
+    private final List<Employee> employees;
+    // Id -> baris (indeks di employees, sama dengan baris di OrgChart)
+    private final Map<String, Integer> rowById;
+    private final Map<String, Employee> byFullName;
+    // Nama departemen lowercase -> nama asli dan jumlah karyawan
+    private final Map<String, String> departmentNames = new HashMap<>();
+    private final Map<String, Integer> departmentHeadcounts = new HashMap<>();
+    private final OrgChart orgChart;
+    private final NameMatcher nameMatcher;
+    private final FuzzyNameIndex fuzzyNameIndex;
+
+    public EmployeeDirectory(List<Employee> employees) {
+        this.employees = Collections.unmodifiableList(new ArrayList<>(employees));
+        this.rowById = new HashMap<>(employees.size() * 2);
+        this.byFullName = new HashMap<>(employees.size() * 2);
+
+        for (int row = 0; row < this.employees.size(); row++) {
+            Employee employee = this.employees.get(row);
+            rowById.put(employee.getId(), row);
+            byFullName.put(employee.getLowerName(), employee);
+            String department = employee.getDepartment().toLowerCase();
+            departmentNames.putIfAbsent(department, employee.getDepartment());
+            departmentHeadcounts.merge(department, 1, Integer::sum);
+        }
+
+        // Id manajer di-resolve ke baris setelah semua karyawan terdaftar
+        int[] managerRows = new int[this.employees.size()];
+        for (int row = 0; row < managerRows.length; row++) {
+            Integer managerRow = rowById.get(this.employees.get(row).getManagerId());
+            managerRows[row] = managerRow != null ? managerRow : -1;
+        }
+        this.orgChart = new OrgChart(managerRows);
+        this.nameMatcher = new NameMatcher(this.employees);
+        this.fuzzyNameIndex = new FuzzyNameIndex(this.employees);
+    }
+
+    public static EmployeeDirectory empty() {
+        return new EmployeeDirectory(Collections.<Employee>emptyList());
+    }
+
+    /**
+     * Memuat employees.csv; file besar di-parse paralel per potongan (lihat {@link ParallelCsv}).
+     */
+    public static EmployeeDirectory load(String fileName) throws IOException {
+        List<List<Employee>> chunks = ParallelCsv.parse(Paths.get(fileName), 8, ArrayList::new,
+            (chunk, reader) -> chunk.add(Employee.fromColumns(reader.toArray())));
+        int total = 0;
+        for (List<Employee> chunk : chunks) {
+            total += chunk.size();
+        }
+        List<Employee> employees = new ArrayList<>(total);
+        for (List<Employee> chunk : chunks) {
+            employees.addAll(chunk);
+        }
+        return new EmployeeDirectory(employees);
+    }
+
+    public Employee findById(String id) {
+        int row = rowOf(id);
+        return row >= 0 ? employees.get(row) : null;
+    }
+
+    /**
+     * @return baris karyawan (indeks di {@link #all()} dan {@link #getOrgChart()}), atau -1.
+     */
+    public int rowOf(String id) {
+        Integer row = id == null ? null : rowById.get(id);
+        return row != null ? row : -1;
+    }
+
+    /**
+     * Mencari karyawan berdasarkan nama lengkap (case-insensitive).
+     */
+    public Employee findByName(String name) {
+        if (name == null) {
+            return null;
+        }
+        Employee employee = byFullName.get(name);
+        return employee != null ? employee : byFullName.get(name.trim().toLowerCase());
+    }
+
+    public Employee findManager(Employee employee) {
+        return employee.hasManager() ? findById(employee.getManagerId()) : null;
+    }
+
+    /**
+     * Hierarki atasan-bawahan; baris sama dengan indeks di {@link #all()}.
+     */
+    public OrgChart getOrgChart() {
+        return orgChart;
+    }
+
+    /**
+     * @return jumlah karyawan di departemen tsb (case-insensitive), atau -1 jika departemen tidak ada.
+     */
+    public int countByDepartment(String department) {
+        Integer count = department == null ? null : departmentHeadcounts.get(department.trim().toLowerCase());
+        return count != null ? count : -1;
+    }
+
+    /**
+     * @return baris semua karyawan di departemen tsb (case-insensitive), terurut baris.
+     */
+    public int[] departmentRows(String department) {
+        int count = countByDepartment(department);
+        if (count <= 0) {
+            return new int[0];
+        }
+        int[] rows = new int[count];
+        int found = 0;
+        for (int row = 0; row < employees.size() && found < count; row++) {
+            if (employees.get(row).getDepartment().equalsIgnoreCase(department.trim())) {
+                rows[found++] = row;
+            }
+        }
+        return found == count ? rows : Arrays.copyOf(rows, found);
+    }
+
+    /**
+     * @return nama departemen (ejaan asli) yang disebut di input, yang terpanjang jika lebih dari satu; atau null.
+     */
+    public String findDepartment(String lowerInput) {
+        String found = null;
+        for (Map.Entry<String, String> department : departmentNames.entrySet()) {
+            String key = department.getKey();
+            if (!key.isEmpty() && (found == null || key.length() > found.length())
+                    && containsWord(lowerInput, key)) {
+                found = key;
+            }
+        }
+        return found != null ? departmentNames.get(found) : null;
+    }
+
+    private static boolean containsWord(String text, String word) {
+        for (int at = text.indexOf(word); at >= 0; at = text.indexOf(word, at + 1)) {
+            int end = at + word.length();
+            if ((at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1)))
+                    && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public NameMatcher getNameMatcher() {
+        return nameMatcher;
+    }
+
+    /**
+     * Indeks nama toleran typo, dipakai jika tidak ada nama yang cocok persis.
+     */
+    public FuzzyNameIndex getFuzzyNameIndex() {
+        return fuzzyNameIndex;
+    }
+
+    public List<Employee> all() {
+        return employees;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+}
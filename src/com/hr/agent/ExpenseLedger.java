@@ -0,0 +1,352 @@
+package com.hr.agent;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * Buku besar pengeluaran (expense ledger) append-only.
+ *
+ * Setiap laporan pengeluaran ditulis sebagai satu record biner di akhir file:
+ * <pre>
+ * int panjang_payload | payload | int crc32(payload)
+ * payload = int epoch_day | long jumlah_rupiah | short+UTF-8 id_karyawan | short+UTF-8 kategori
+ * </pre>
+ * Jumlah disimpan sebagai long rupiah (fixed-point, tanpa pembulatan double). Record terakhir
+ * yang terpotong atau checksum-nya tidak cocok (crash di tengah penulisan) dibuang saat dibuka.
+ * Record rusak yang masih diikuti record valid bukan sisa crash tetapi kerusakan file: ledger
+ * menolak dibuka (IOException) alih-alih membuang pengeluaran sesudahnya.
+ *
+ * Total berjalan per kombinasi (karyawan, kategori, bulan), masing-masing boleh "semua",
+ * diperbarui setiap append; jadi total pengeluaran apa pun dibaca O(1) tanpa memindai ledger.
+ */
+public class ExpenseLedger implements Closeable {
+
+    private static final byte[] MAGIC = "HREXP001".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_PAYLOAD = 4 + 8 + 2 * (2 + Short.MAX_VALUE);
+    private static final long FSYNC_INTERVAL_MS = 1000;
+    // Bulan "semua" pada kunci total
+    private static final int ANY_MONTH = Integer.MIN_VALUE;
+
+    private final Path path;
+    private final LeaveBalanceJournal.FsyncPolicy fsyncPolicy;
+    private final FileChannel channel;
+    private final ScheduledExecutorService syncer;
+    private final Map<Key, Total> totals = new ConcurrentHashMap<>();
+    private final LongAdder entries = new LongAdder();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocate(256);
+    private boolean dirty;
+
+    private ExpenseLedger(Path path, LeaveBalanceJournal.FsyncPolicy fsyncPolicy) throws IOException {
+        this.path = path;
+        this.fsyncPolicy = fsyncPolicy;
+        long validLength = replay();
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (validLength == 0) {
+            channel.truncate(0);
+            channel.write(ByteBuffer.wrap(MAGIC));
+            channel.force(true);
+        } else if (channel.size() > validLength) {
+            // Buang record terakhir yang terpotong supaya append berikutnya tidak menempel padanya
+            // (replay sudah memastikan tidak ada record valid sesudahnya)
+            channel.truncate(validLength);
+        }
+        channel.position(channel.size());
+
+        if (fsyncPolicy == LeaveBalanceJournal.FsyncPolicy.INTERVAL) {
+            syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "expense-ledger-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncer.scheduleWithFixedDelay(this::syncQuietly, FSYNC_INTERVAL_MS, FSYNC_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    /**
+     * Membuka ledger (dibuat jika belum ada) dan membangun total dari semua record yang lengkap.
+     */
+    public static ExpenseLedger open(Path path, LeaveBalanceJournal.FsyncPolicy fsyncPolicy) throws IOException {
+        return new ExpenseLedger(path, fsyncPolicy);
+    }
+
+    /**
+     * Mencatat satu pengeluaran; setelah method ini kembali, record sudah ada di file
+     * (dan di disk untuk fsync ALWAYS) dan sudah terhitung di total.
+     */
+    public synchronized void append(String employeeId, String category, LocalDate date, long amount)
+            throws IOException {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Jumlah pengeluaran harus lebih dari 0");
+        }
+        byte[] id = employeeId.getBytes(StandardCharsets.UTF_8);
+        byte[] categoryBytes = category.getBytes(StandardCharsets.UTF_8);
+        if (id.length > Short.MAX_VALUE || categoryBytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Id karyawan atau kategori terlalu panjang");
+        }
+        int payloadLength = 4 + 8 + 2 + id.length + 2 + categoryBytes.length;
+        if (buffer.capacity() < payloadLength + 8) {
+            buffer = ByteBuffer.allocate(payloadLength + 8);
+        }
+        buffer.clear();
+        buffer.putInt(payloadLength);
+        buffer.putInt((int) date.toEpochDay());
+        buffer.putLong(amount);
+        buffer.putShort((short) id.length).put(id);
+        buffer.putShort((short) categoryBytes.length).put(categoryBytes);
+        crc.reset();
+        crc.update(buffer.array(), 4, payloadLength);
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+        long start = channel.position();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsyncPolicy == LeaveBalanceJournal.FsyncPolicy.ALWAYS) {
+                channel.force(false);
+            } else {
+                dirty = true;
+            }
+        } catch (IOException e) {
+            // Record setengah jadi dibuang; jika tertinggal, replay berhenti di situ dan semua record
+            // sesudahnya ikut hilang
+            try {
+                channel.truncate(start);
+                channel.position(start);
+            } catch (IOException truncateError) {
+                e.addSuppressed(truncateError);
+            }
+            throw e;
+        }
+        add(employeeId, category, date, amount);
+    }
+
+    /**
+     * Total pengeluaran dalam rupiah; parameter null berarti semua karyawan / kategori / bulan.
+     */
+    public long total(String employeeId, String category, YearMonth month) {
+        Total total = totals.get(new Key(employeeId, category, month));
+        return total != null ? total.amount : 0;
+    }
+
+    /**
+     * Jumlah laporan pengeluaran; parameter null berarti semua karyawan / kategori / bulan.
+     */
+    public long count(String employeeId, String category, YearMonth month) {
+        Total total = totals.get(new Key(employeeId, category, month));
+        return total != null ? total.count : 0;
+    }
+
+    /**
+     * @return jumlah seluruh record di ledger.
+     */
+    public long entries() {
+        return entries.sum();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    // Satu pengeluaran masuk ke 8 total: setiap kombinasi (karyawan | semua) x (kategori | semua) x (bulan | semua).
+    // Hanya dipanggil di bawah monitor ledger (atau saat replay di konstruktor), jadi satu penulis.
+    private void add(String employeeId, String category, LocalDate date, long amount) {
+        String lowerCategory = category.toLowerCase();
+        int month = date.getYear() * 12 + date.getMonthValue() - 1;
+        for (int mask = 0; mask < 8; mask++) {
+            Key key = new Key((mask & 1) != 0 ? null : employeeId, (mask & 2) != 0 ? null : lowerCategory,
+                (mask & 4) != 0 ? ANY_MONTH : month);
+            Total total = totals.get(key);
+            if (total == null) {
+                total = new Total();
+                totals.put(key, total);
+            }
+            total.amount += amount;
+            total.count++;
+        }
+        entries.increment();
+    }
+
+    /**
+     * Membaca ulang semua record lengkap ke total.
+     * @return panjang file yang valid (0 jika file belum ada atau header belum lengkap)
+     * @throws IOException jika record rusak diikuti record valid (kerusakan di tengah file)
+     */
+    private long replay() throws IOException {
+        if (!Files.exists(path) || Files.size(path) < MAGIC.length) {
+            return 0;
+        }
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 16))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Bukan file ledger pengeluaran: " + path);
+            }
+            long validLength = MAGIC.length;
+            byte[] payload = new byte[256];
+            CRC32 checksum = new CRC32();
+            while (true) {
+                try {
+                    int length = in.readInt();
+                    if (length < 16 || length > MAX_PAYLOAD) {
+                        break; // record rusak
+                    }
+                    if (payload.length < length) {
+                        payload = new byte[length];
+                    }
+                    in.readFully(payload, 0, length);
+                    int expected = in.readInt();
+                    checksum.reset();
+                    checksum.update(payload, 0, length);
+                    if ((int) checksum.getValue() != expected) {
+                        break;
+                    }
+                    ByteBuffer record = ByteBuffer.wrap(payload, 0, length);
+                    LocalDate date = LocalDate.ofEpochDay(record.getInt());
+                    long amount = record.getLong();
+                    String employeeId = string(record);
+                    String category = string(record);
+                    add(employeeId, category, date, amount);
+                    validLength += 4 + length + 4;
+                } catch (EOFException e) {
+                    break; // record terakhir terpotong
+                }
+            }
+            if (validLength < Files.size(path)) {
+                checkTornTail(validLength);
+            }
+            return validLength;
+        }
+    }
+
+    /**
+     * Record di offset bad rusak atau terpotong. Sisa crash hanya mungkin di ekor file, jadi jika
+     * sesudahnya masih ada record yang lolos cek panjang dan CRC, file dianggap rusak di tengah.
+     * Record sesudah record rusak dimulai paling jauh 8 + MAX_PAYLOAD byte dari bad, jadi cukup
+     * jendela sebesar itu yang diperiksa.
+     */
+    private void checkTornTail(long bad) throws IOException {
+        int maxRecord = 8 + MAX_PAYLOAD;
+        byte[] window;
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            window = new byte[(int) Math.min(file.size() - bad, 2L * maxRecord)];
+            ByteBuffer target = ByteBuffer.wrap(window);
+            while (target.hasRemaining()) {
+                if (file.read(target, bad + target.position()) < 0) {
+                    break;
+                }
+            }
+        }
+        ByteBuffer data = ByteBuffer.wrap(window);
+        CRC32 checksum = new CRC32();
+        for (int offset = 1; offset <= maxRecord && offset + 8 + 16 <= window.length; offset++) {
+            int length = data.getInt(offset);
+            if (length < 16 || length > MAX_PAYLOAD || offset + 8 + length > window.length) {
+                continue;
+            }
+            checksum.reset();
+            checksum.update(window, offset + 4, length);
+            if ((int) checksum.getValue() == data.getInt(offset + 4 + length)) {
+                throw new IOException("Ledger pengeluaran " + path + " rusak: record di offset " + bad
+                    + " tidak valid tetapi diikuti record valid di offset " + (bad + offset));
+            }
+        }
+    }
+
+    private static String string(ByteBuffer record) {
+        int length = record.getShort();
+        String value = new String(record.array(), record.position(), length, StandardCharsets.UTF_8);
+        record.position(record.position() + length);
+        return value;
+    }
+
+    private synchronized void syncQuietly() {
+        if (!dirty) {
+            return;
+        }
+        try {
+            channel.force(false);
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Error fsync ledger pengeluaran: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (syncer != null) {
+            syncer.shutdownNow();
+        }
+        if (channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    // ===================== TOTAL =====================
+
+    private static final class Key {
+        private final String employeeId;
+        // Lowercase supaya pencarian kategori tidak peka huruf besar
+        private final String category;
+        private final int month;
+
+        Key(String employeeId, String lowerCategory, int month) {
+            this.employeeId = employeeId;
+            this.category = lowerCategory;
+            this.month = month;
+        }
+
+        Key(String employeeId, String category, YearMonth month) {
+            this(employeeId, category != null ? category.toLowerCase() : null,
+                month != null ? month.getYear() * 12 + month.getMonthValue() - 1 : ANY_MONTH);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return month == other.month && Objects.equals(employeeId, other.employeeId)
+                && Objects.equals(category, other.category);
+        }
+
+        @Override
+        public int hashCode() {
+            return (Objects.hashCode(employeeId) * 31 + Objects.hashCode(category)) * 31 + month;
+        }
+    }
+
+    // Ditulis satu penulis, dibaca tanpa lock; amount dan count bisa terbaca dari dua append berbeda
+    private static final class Total {
+        volatile long amount;
+        volatile long count;
+    }
+}
@@ -0,0 +1,52 @@
+package com.hr.agent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Versi sebuah file (ukuran + waktu modifikasi terakhir), dipakai untuk membedakan
+ * perubahan dari luar dengan penulisan oleh aplikasi sendiri.
+ */
+final class FileStamp {
+
+    static final FileStamp MISSING = new FileStamp(-1, -1);
+
+    private final long size;
+    private final long modifiedNanos;
+
+    private FileStamp(long size, long modifiedNanos) {
+        this.size = size;
+        this.modifiedNanos = modifiedNanos;
+    }
+
+    static FileStamp of(Path file) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new FileStamp(attributes.size(),
+                attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+        } catch (NoSuchFileException e) {
+            return MISSING;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FileStamp)) {
+            return false;
+        }
+        FileStamp other = (FileStamp) o;
+        return size == other.size && modifiedNanos == other.modifiedNanos;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(size) + Long.hashCode(modifiedNanos);
+    }
+}
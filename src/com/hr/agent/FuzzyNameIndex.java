@@ -0,0 +1,423 @@
+package com.hr.agent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Pencarian nama karyawan yang toleran typo ("Bdi" -> Budi, "Rinna" -> Rina).
+ * Setiap kata pada nama karyawan (minimal 3 huruf) diindeks dalam inverted index bigram
+ * posisional, dikelompokkan per (bigram, panjang kata, posisi). Satu edit Damerau-Levenshtein
+ * merusak paling banyak 3 bigram dan menggeser sisanya paling jauh 1 posisi, jadi kata dalam
+ * jarak k pasti berbagi minimal (jumlah bigram query - 3k) bigram di posisi +-k. Hanya kandidat
+ * yang lolos filter hitungan ini yang jaraknya dihitung, dengan batas k dan berhenti lebih awal.
+ * Bigram (bukan trigram) dipakai karena nama pendek 3-4 huruf punya terlalu sedikit trigram.
+ */
+public class FuzzyNameIndex {
+
+    static final int MIN_WORD_LENGTH = 3;
+
+    /**
+     * Satu kandidat hasil pencarian.
+     */
+    public static final class Candidate {
+        private final Employee employee;
+        private final int order;
+        private final String matchedWord;
+        private final int distance;
+        private final double score;
+        private final boolean firstName;
+
+        Candidate(Employee employee, int order, String matchedWord, int distance, double score,
+                  boolean firstName) {
+            this.firstName = firstName;
+            this.employee = employee;
+            this.order = order;
+            this.matchedWord = matchedWord;
+            this.distance = distance;
+            this.score = score;
+        }
+
+        public Employee getEmployee() {
+            return employee;
+        }
+
+        /** Kata pada nama karyawan yang cocok dengan kata yang dicari. */
+        public String getMatchedWord() {
+            return matchedWord;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+
+        /** 1.0 = sama persis; turun sebanding jarak dibanding panjang kata. */
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return employee.getName() + " (" + matchedWord + ", jarak " + distance + ")";
+        }
+    }
+
+    private final Employee[] employees;
+    private final String[] words;
+    // Karyawan (indeks ke employees, urut employees.csv) dengan kata tsb sebagai nama depan,
+    // dan yang mengandung kata tsb di bagian nama lainnya
+    private final int[][] firstNamePostings;
+    private final int[][] otherPostings;
+    // (bigram, panjang kata, posisi) -> kata dengan bigram tsb di posisi tsb
+    private final Map<Long, int[]> gramPostings;
+    // panjang kata -> kata dengan panjang tsb (untuk query yang bigramnya terlalu sedikit)
+    private final int[][] wordsByLength;
+    private final int maxWordLength;
+    // Buffer pencarian yang siap dipakai ulang. Pencarian tidak pernah blocking, jadi yang berjalan
+    // bersamaan paling banyak sejumlah carrier thread; ThreadLocal akan menyimpan satu buffer
+    // per (virtual) thread yang pernah mencari
+    private final ArrayBlockingQueue<Scratch> scratchPool =
+        new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    public FuzzyNameIndex(List<Employee> employees) {
+        this.employees = employees.toArray(new Employee[0]);
+        // kata -> {indeks sebagai nama depan, indeks di bagian nama lain}
+        Map<String, List<List<Integer>>> byWord = new LinkedHashMap<>();
+        for (int i = 0; i < this.employees.length; i++) {
+            String[] nameWords = this.employees[i].getLowerName().split("\\s+");
+            for (int w = 0; w < nameWords.length; w++) {
+                if (isNameWord(nameWords[w])) {
+                    List<List<Integer>> lists = byWord.computeIfAbsent(nameWords[w],
+                        k -> Arrays.asList(new ArrayList<>(1), new ArrayList<>(1)));
+                    List<Integer> list = lists.get(w == 0 ? 0 : 1);
+                    if (list.isEmpty() || list.get(list.size() - 1) != i) {
+                        list.add(i);
+                    }
+                }
+            }
+        }
+
+        int size = byWord.size();
+        words = new String[size];
+        firstNamePostings = new int[size][];
+        otherPostings = new int[size][];
+        Map<Long, List<Integer>> grams = new HashMap<>();
+        List<List<Integer>> lengths = new ArrayList<>();
+        int longest = 0;
+        int index = 0;
+        for (Map.Entry<String, List<List<Integer>>> entry : byWord.entrySet()) {
+            String word = entry.getKey();
+            words[index] = word;
+            firstNamePostings[index] = toArray(entry.getValue().get(0));
+            otherPostings[index] = toArray(entry.getValue().get(1));
+            long[] wordGrams = bigrams(word);
+            for (int position = 0; position < wordGrams.length; position++) {
+                grams.computeIfAbsent(gramKey(wordGrams[position], word.length(), position),
+                    k -> new ArrayList<>()).add(index);
+            }
+            while (lengths.size() <= word.length()) {
+                lengths.add(new ArrayList<>());
+            }
+            lengths.get(word.length()).add(index);
+            longest = Math.max(longest, word.length());
+            index++;
+        }
+
+        gramPostings = new HashMap<>(grams.size() * 2);
+        for (Map.Entry<Long, List<Integer>> entry : grams.entrySet()) {
+            gramPostings.put(entry.getKey(), toArray(entry.getValue()));
+        }
+        wordsByLength = new int[lengths.size()][];
+        for (int length = 0; length < lengths.size(); length++) {
+            wordsByLength[length] = toArray(lengths.get(length));
+        }
+        maxWordLength = longest;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    // Bigram per posisi dari kata yang diberi batas spasi di kedua ujung ("budi" -> " b", "bu", ..., "i ")
+    private static long[] bigrams(String word) {
+        long[] grams = new long[word.length() + 1];
+        char previous = ' ';
+        for (int i = 0; i <= word.length(); i++) {
+            char c = i < word.length() ? word.charAt(i) : ' ';
+            grams[i] = ((long) previous << 16) | c;
+            previous = c;
+        }
+        return grams;
+    }
+
+    private static long gramKey(long gram, int length, int position) {
+        return (gram << 16) | (Math.min(length, 255) << 8) | Math.min(position, 255);
+    }
+
+    static boolean isNameWord(String word) {
+        if (word.length() < MIN_WORD_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isLetter(word.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Toleransi typo untuk kata sepanjang length: 1 edit, 2 edit untuk kata panjang
+     * (yang kedua hanya dipakai jika tidak ada kata dalam jarak 1).
+     */
+    static int maxDistance(int length) {
+        return length >= 8 ? 2 : 1;
+    }
+
+    public int size() {
+        return words.length;
+    }
+
+    /**
+     * Mencari karyawan yang salah satu kata namanya mirip dengan word (lowercase).
+     * @return kandidat terurut: jarak terkecil dulu, lalu skor tertinggi, lalu yang cocok di
+     *         nama depan, lalu urutan employees.csv; paling banyak limit kandidat.
+     */
+    public List<Candidate> search(String word, int limit) {
+        if (words.length == 0 || !isNameWord(word)) {
+            return Collections.emptyList();
+        }
+        int length = word.length();
+        int tolerance = maxDistance(length);
+        Scratch work = acquireScratch();
+        // Kata yang cocok dikelompokkan per jarak (0..tolerance)
+        List<List<Integer>> found = new ArrayList<>(tolerance + 1);
+        for (int i = 0; i <= tolerance; i++) {
+            found.add(new ArrayList<>(2));
+        }
+        long[] queryGrams = bigrams(word);
+        // Toleransi 2 edit jauh lebih mahal (filter bigram melemah), jadi hanya dicoba jika
+        // tidak ada kata dalam jarak 1
+        collect(word, queryGrams, 1, work, found);
+        if (tolerance > 1 && found.get(0).isEmpty() && found.get(1).isEmpty()) {
+            collect(word, queryGrams, tolerance, work, found);
+        }
+        // Tidak di finally: buffer dari pencarian yang gagal di tengah jalan bisa berisi hitungan sisa
+        releaseScratch(work);
+
+        List<Candidate> candidates = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        for (int d = 0; d <= tolerance && candidates.size() < limit; d++) {
+            // Nama yang sangat umum bisa dimiliki ribuan karyawan: cukup ambil limit pertama per daftar
+            List<Candidate> sameDistance = new ArrayList<>();
+            for (int node : found.get(d)) {
+                double score = 1.0 - (double) d / Math.max(length, words[node].length());
+                addCandidates(sameDistance, seen, firstNamePostings[node], node, d, score, true, limit);
+                addCandidates(sameDistance, seen, otherPostings[node], node, d, score, false, limit);
+            }
+            sameDistance.sort((a, b) -> {
+                if (a.score != b.score) {
+                    return Double.compare(b.score, a.score);
+                }
+                if (a.firstName != b.firstName) {
+                    return a.firstName ? -1 : 1;
+                }
+                return Integer.compare(a.order, b.order);
+            });
+            for (Candidate candidate : sameDistance) {
+                if (candidates.size() == limit) {
+                    break;
+                }
+                candidates.add(candidate);
+            }
+        }
+        return candidates;
+    }
+
+    private void collect(String word, long[] queryGrams, int tolerance, Scratch work,
+                         List<List<Integer>> found) {
+        int length = word.length();
+        int threshold = queryGrams.length - 3 * tolerance;
+        int minLength = Math.max(MIN_WORD_LENGTH, length - tolerance);
+        int maxLength = Math.min(wordsByLength.length - 1, length + tolerance);
+        if (threshold <= 0) {
+            // Filter bigram tidak berguna: cek semua kata dengan panjang yang mungkin
+            for (int l = minLength; l <= maxLength; l++) {
+                for (int candidate : wordsByLength[l]) {
+                    verify(word, candidate, tolerance, work.distance, found);
+                }
+            }
+            return;
+        }
+        int[] counts = work.counts;
+        int[] touched = work.touched;
+        int touchedCount = 0;
+        // Bigram berulang bisa terhitung lebih dari sekali; itu hanya melonggarkan filter,
+        // kandidat tetap diverifikasi dengan jarak sebenarnya
+        for (int position = 0; position < queryGrams.length; position++) {
+            for (int l = minLength; l <= maxLength; l++) {
+                int maxPosition = Math.min(l, position + tolerance);
+                for (int p = Math.max(0, position - tolerance); p <= maxPosition; p++) {
+                    int[] posting = gramPostings.get(gramKey(queryGrams[position], l, p));
+                    if (posting == null) {
+                        continue;
+                    }
+                    for (int candidate : posting) {
+                        if (counts[candidate]++ == 0) {
+                            touched[touchedCount++] = candidate;
+                        }
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < touchedCount; i++) {
+            int candidate = touched[i];
+            if (counts[candidate] >= threshold) {
+                verify(word, candidate, tolerance, work.distance, found);
+            }
+            counts[candidate] = 0;
+        }
+    }
+
+    private Scratch acquireScratch() {
+        Scratch work = scratchPool.poll();
+        return work != null ? work : new Scratch(words.length, maxWordLength);
+    }
+
+    // Jika pool penuh, buffer dibuang
+    private void releaseScratch(Scratch work) {
+        scratchPool.offer(work);
+    }
+
+    private void verify(String word, int candidate, int tolerance, Distance distance, List<List<Integer>> found) {
+        int d = distance.compute(word, words[candidate], tolerance);
+        if (d <= tolerance) {
+            found.get(d).add(candidate);
+        }
+    }
+
+    private void addCandidates(List<Candidate> out, Set<Integer> seen, int[] posting, int node, int distance,
+                               double score, boolean firstName, int limit) {
+        int added = 0;
+        for (int i = 0; i < posting.length && added < limit; i++) {
+            if (seen.add(posting[i])) {
+                out.add(new Candidate(employees[posting[i]], posting[i], words[node], distance, score, firstName));
+                added++;
+            }
+        }
+    }
+
+    // Buffer satu pencarian: hitungan bigram per kata (selalu dikembalikan ke 0 setelah query)
+    private static final class Scratch {
+        final int[] counts;
+        final int[] touched;
+        final Distance distance;
+
+        Scratch(int wordCount, int maxWordLength) {
+            counts = new int[wordCount];
+            touched = new int[wordCount];
+            distance = new Distance(maxWordLength + 2);
+        }
+    }
+
+    // ===================== JARAK DAMERAU-LEVENSHTEIN =====================
+
+    /**
+     * Damerau-Levenshtein penuh (algoritma Lowrance-Wagner) dengan matriks yang dipakai ulang.
+     * Minimum per baris tidak pernah turun, jadi begitu melewati batas hasilnya pasti > batas.
+     * Tidak thread-safe: satu instance per pencarian.
+     */
+    static final class Distance {
+        private int[] matrix;
+        private int columns;
+        // Baris terakhir (1-based) tempat setiap karakter muncul di kata pertama
+        private final int[] lastRowAscii = new int[128];
+        private final Map<Character, Integer> lastRowOther = new HashMap<>();
+
+        Distance(int maxLength) {
+            ensureCapacity(maxLength, maxLength);
+        }
+
+        private void ensureCapacity(int n, int m) {
+            if (matrix == null || m + 2 > columns || (n + 2) * columns > matrix.length) {
+                columns = Math.max(m + 2, columns);
+                matrix = new int[Math.max(n + 2, columns) * columns];
+            }
+        }
+
+        /**
+         * @return jarak a-b, atau bound + 1 jika jaraknya lebih dari bound.
+         */
+        int compute(String a, String b, int bound) {
+            int n = a.length();
+            int m = b.length();
+            if (Math.abs(n - m) > bound) {
+                return bound + 1;
+            }
+            ensureCapacity(n, m);
+            int[] d = matrix;
+            int w = columns;
+            int infinity = n + m;
+            d[0] = infinity;
+            for (int i = 0; i <= n; i++) {
+                d[(i + 1) * w] = infinity;
+                d[(i + 1) * w + 1] = i;
+            }
+            for (int j = 0; j <= m; j++) {
+                d[j + 1] = infinity;
+                d[w + j + 1] = j;
+            }
+            // Hanya huruf b yang dibaca dari lastRowAscii, jadi cukup huruf itu yang di-reset
+            for (int j = 0; j < m; j++) {
+                char c = b.charAt(j);
+                if (c < 128) {
+                    lastRowAscii[c] = 0;
+                }
+            }
+            lastRowOther.clear();
+            for (int i = 1; i <= n; i++) {
+                char ca = a.charAt(i - 1);
+                int lastMatchColumn = 0;
+                int rowMin = i;
+                for (int j = 1; j <= m; j++) {
+                    char cb = b.charAt(j - 1);
+                    int i1 = cb < 128 ? lastRowAscii[cb] : lastRowOther.getOrDefault(cb, 0);
+                    int j1 = lastMatchColumn;
+                    int cost = ca == cb ? 0 : 1;
+                    if (cost == 0) {
+                        lastMatchColumn = j;
+                    }
+                    int value = Math.min(Math.min(
+                        d[i * w + j] + cost,                       // substitusi / sama
+                        d[(i + 1) * w + j] + 1),                   // sisip
+                        d[i * w + j + 1] + 1);                     // hapus
+                    value = Math.min(value,
+                        d[i1 * w + j1] + (i - i1 - 1) + 1 + (j - j1 - 1)); // transposisi
+                    d[(i + 1) * w + j + 1] = value;
+                    rowMin = Math.min(rowMin, value);
+                }
+                if (rowMin > bound) {
+                    return bound + 1;
+                }
+                if (ca < 128) {
+                    lastRowAscii[ca] = i;
+                } else {
+                    lastRowOther.put(ca, i);
+                }
+            }
+            int result = d[(n + 1) * w + m + 1];
+            return result > bound ? bound + 1 : result;
+        }
+    }
+}
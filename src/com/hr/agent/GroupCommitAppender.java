@@ -0,0 +1,334 @@
+package com.hr.agent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append baris CSV dengan write-behind dan group commit.
+ *
+ * Handler memasukkan baris ke antrean terbatas (blok jika penuh) dan mendapat future. Satu thread
+ * penulis mengambil baris yang menumpuk, menunggu paling lama {@code maxDelayMillis} sejak baris
+ * pertama atau sampai batch mencapai batas ukuran, lalu menulis semuanya lewat satu FileChannel
+ * yang tetap terbuka, dengan satu fsync untuk seluruh batch (kebijakan ALWAYS). Future selesai
+ * setelah batch-nya tertulis (dan di disk untuk ALWAYS), jadi konfirmasi ke pengguna tidak
+ * mendahului data.
+ *
+ * Urutan baris di file sama dengan urutan {@link #append}; pemanggil yang butuh urutan tertentu
+ * (misalnya id berurutan) memanggilnya di bawah lock file masing-masing.
+ */
+final class GroupCommitAppender implements Closeable {
+
+    /**
+     * Dipanggil thread penulis setelah setiap batch ditulis, dengan versi file sebelum dan sesudahnya;
+     * before atau after null jika versi file tidak bisa dibaca.
+     */
+    interface FlushListener {
+        void flushed(FileStamp before, FileStamp after);
+    }
+
+    static final int QUEUE_CAPACITY = 16384;
+    private static final int MAX_BATCH_ROWS = 4096;
+    private static final int MAX_BATCH_BYTES = 1 << 20;
+    private static final long FSYNC_INTERVAL_MS = 1000;
+    private static final long IDLE_POLL_MS = 100;
+
+    private final Path path;
+    private final LeaveBalanceJournal.FsyncPolicy fsyncPolicy;
+    private final long maxDelayNanos;
+    private final FlushListener listener;
+    private final BlockingQueue<Pending> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Thread writer;
+    private final List<Pending> batch = new ArrayList<>();
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+    // Hanya disentuh thread penulis (dan reopen/close setelah antrean kosong, di bawah monitor ini)
+    private FileChannel channel;
+    private boolean needsNewline;
+    private boolean dirty;
+    private long lastForceNanos = System.nanoTime();
+    private volatile boolean closed;
+
+    GroupCommitAppender(Path path, LeaveBalanceJournal.FsyncPolicy fsyncPolicy, long maxDelayMillis,
+                        FlushListener listener) throws IOException {
+        this.path = path;
+        this.fsyncPolicy = fsyncPolicy;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.listener = listener;
+        openChannel();
+        writer = new Thread(this::run, "append-" + path.getFileName());
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Mengantrekan satu atau beberapa baris (dipisah '\n', tanpa newline di akhir).
+     * @return future yang selesai setelah baris tertulis; gagal dengan IOException jika penulisan gagal
+     */
+    CompletableFuture<Void> append(String rows) {
+        return enqueue(new Pending((rows + "\n").getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Menunggu sampai semua baris yang sudah diantrekan tertulis ke file, misalnya sebelum file dibaca ulang.
+     */
+    void flush() throws IOException {
+        await(enqueue(new Pending(null)));
+    }
+
+    /**
+     * Menutup lalu membuka ulang file setelah semua antrean tertulis; dipakai setelah file diganti dari
+     * luar (editor biasanya menulis file baru), supaya append berikutnya tidak masuk ke file lama.
+     * Pemanggil menahan lock file supaya tidak ada append baru selama reopen.
+     */
+    void reopen() throws IOException {
+        flush();
+        synchronized (this) {
+            channel.close();
+            openChannel();
+        }
+    }
+
+    /**
+     * Menunggu future dari {@link #append}; error penulisan dilempar sebagai IOException.
+     */
+    static void await(CompletableFuture<Void> written) throws IOException {
+        try {
+            written.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Append yang berpapasan dengan close tidak sempat ditulis
+        for (Pending pending; (pending = queue.poll()) != null; ) {
+            pending.written.completeExceptionally(new IOException("Appender " + path.getFileName() + " sudah ditutup"));
+        }
+        synchronized (this) {
+            if (channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(Pending pending) {
+        if (closed) {
+            throw new IllegalStateException("Appender " + path.getFileName() + " sudah ditutup");
+        }
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.written.completeExceptionally(e);
+        }
+        return pending.written;
+    }
+
+    private void openChannel() throws IOException {
+        // READ tidak boleh digabung APPEND; thread penulis satu-satunya penulis, jadi cukup mulai di akhir file
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.READ);
+        long size = channel.size();
+        channel.position(size);
+        // File yang tidak diakhiri newline: baris pertama diawali newline supaya tidak menempel
+        needsNewline = false;
+        if (size > 0) {
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, size - 1);
+            needsNewline = last.get(0) != '\n';
+        }
+    }
+
+    // ===================== THREAD PENULIS =====================
+
+    private void run() {
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    syncIfDue();
+                    continue;
+                }
+                collectBatch(first);
+                writeBatch();
+            } catch (InterruptedException e) {
+                // Ditutup lewat flag closed; antrean tetap dikosongkan
+            }
+        }
+    }
+
+    // Batch ditutup saat batas ukuran tercapai, batas waktu sejak baris pertama habis, atau ada flush()
+    private void collectBatch(Pending first) throws InterruptedException {
+        batch.clear();
+        batch.add(first);
+        int bytes = first.size();
+        boolean flushRequested = first.rows == null;
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (!flushRequested && batch.size() < MAX_BATCH_ROWS && bytes < MAX_BATCH_BYTES) {
+            Pending next = queue.poll();
+            if (next == null) {
+                long wait = deadline - System.nanoTime();
+                if (wait <= 0 || closed) {
+                    break;
+                }
+                next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+            }
+            batch.add(next);
+            bytes += next.size();
+            flushRequested = next.rows == null;
+        }
+    }
+
+    private void writeBatch() {
+        try {
+            synchronized (this) {
+                FileStamp before = stamp();
+                ByteBuffer data = fill();
+                if (data.hasRemaining()) {
+                    write(data);
+                    notifyFlushed(before);
+                }
+            }
+            for (Pending pending : batch) {
+                pending.written.complete(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error menulis " + path.getFileName() + ": " + e.getMessage());
+            for (Pending pending : batch) {
+                pending.written.completeExceptionally(e);
+            }
+        }
+        batch.clear();
+    }
+
+    // Batch sudah tertulis (dan di-fsync untuk ALWAYS): kegagalan sesudahnya tidak boleh menggagalkan
+    // future, karena pemanggil akan membatalkan perubahan yang barisnya sudah ada di file
+    private void notifyFlushed(FileStamp before) {
+        try {
+            listener.flushed(before, stamp());
+        } catch (RuntimeException e) {
+            System.err.println("Error mencatat versi " + path.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private FileStamp stamp() {
+        try {
+            return FileStamp.of(path);
+        } catch (IOException e) {
+            System.err.println("Error membaca versi " + path.getFileName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Jika penulisan (atau fsync untuk ALWAYS) gagal, file dipotong kembali ke posisi awal batch:
+    // tidak ada baris setengah jadi yang tertinggal, dan baris yang dilaporkan gagal tidak terbaca saat reload
+    private void write(ByteBuffer data) throws IOException {
+        long start = channel.position();
+        boolean hadNewline = needsNewline;
+        try {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            needsNewline = false;
+            if (fsyncPolicy == LeaveBalanceJournal.FsyncPolicy.ALWAYS) {
+                channel.force(false);
+                lastForceNanos = System.nanoTime();
+            } else {
+                dirty = true;
+                syncIfDue();
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                channel.truncate(start);
+                channel.position(start);
+                needsNewline = hadNewline;
+            } catch (IOException truncateError) {
+                // Potongan baris tetap ada; baris berikutnya setidaknya dimulai di baris baru
+                needsNewline = true;
+                e.addSuppressed(truncateError);
+            }
+            throw e;
+        }
+    }
+
+    private ByteBuffer fill() {
+        int total = needsNewline ? 1 : 0;
+        for (Pending pending : batch) {
+            total += pending.size();
+        }
+        if (buffer.capacity() < total) {
+            buffer = ByteBuffer.allocate(Math.max(total, buffer.capacity() * 2));
+        }
+        buffer.clear();
+        if (needsNewline && total > 1) {
+            buffer.put((byte) '\n');
+        }
+        for (Pending pending : batch) {
+            if (pending.rows != null) {
+                buffer.put(pending.rows);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    // Kebijakan INTERVAL: fsync paling lambat FSYNC_INTERVAL_MS setelah tulisan pertama yang belum di-fsync
+    private void syncIfDue() {
+        if (fsyncPolicy != LeaveBalanceJournal.FsyncPolicy.INTERVAL || !dirty
+                || System.nanoTime() - lastForceNanos < TimeUnit.MILLISECONDS.toNanos(FSYNC_INTERVAL_MS)) {
+            return;
+        }
+        synchronized (this) {
+            try {
+                channel.force(false);
+                dirty = false;
+            } catch (IOException e) {
+                System.err.println("Error fsync " + path.getFileName() + ": " + e.getMessage());
+            }
+            lastForceNanos = System.nanoTime();
+        }
+    }
+
+    // Baris yang menunggu ditulis; rows null menandai permintaan flush
+    private static final class Pending {
+        final byte[] rows;
+        final CompletableFuture<Void> written = new CompletableFuture<>();
+
+        Pending(byte[] rows) {
+            this.rows = rows;
+        }
+
+        int size() {
+            return rows != null ? rows.length : 0;
+        }
+    }
+}
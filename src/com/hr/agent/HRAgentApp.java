@@ -1,46 +1,161 @@
 package com.hr.agent;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.regex.Pattern;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-public class HRAgentApp {
+/**
+ * Engine HR agent. Satu instance memuat data sekali dan aman dipakai banyak thread:
+ * data lookup memakai struktur immutable/concurrent, sedangkan perubahan sisa cuti
+ * dan penulisan file CSV dijaga oleh lock per karyawan dan per file.
+ * Aksi HR juga tersedia langsung lewat interface {@link HRFunctions} (dipakai endpoint bertipe di server).
+ */
+public class HRAgentApp implements HRFunctions, AutoCloseable {
 
-    private static HRFunctions hrFunctions = new MockHRFunctions();
-    private static Map<String, String> employeeData = new HashMap<>();
-    private static Map<String, Map<String, Integer>> leaveBalances = new HashMap<>();
-    
-    // Pattern untuk deteksi pertanyaan
-    private static final Pattern QUESTION_PATTERNS = Pattern.compile(
-        "(apa|siapa|berapa|kapan|dimana|bagaimana|apakah|bisa|boleh|mau tau|pengen tau|ingin tau|" +
-        "tolong|bisa tolong|boleh tolong|mohon|tolong bantu|bisa bantu|boleh bantu)"
-    );
-    
-    // Pattern untuk deteksi perintah
-    private static final Pattern COMMAND_PATTERNS = Pattern.compile(
-        "(ajukan|buat|create|submit|kirim|lapor|report|jadwalkan|schedule|set|atur|" +
-        "update|ubah|change|modify|hapus|delete|remove|batal|cancel|" +
-        "proses|process|eksekusi|execute|jalankan|run|cek|info|informasi|data|detail|lihat|tampilkan|show|display)"
-    );
+    /**
+     * Implementasi HRFunctions yang dipakai.
+     */
+    public enum Backend {
+        /** HRDataStore: semua CSV dimuat sekali ke penyimpanan kolom in-process. */
+        STORE,
+        /** MockHRFunctions: implementasi sederhana berbasis file CSV (untuk pengujian). */
+        MOCK
+    }
+
+    private static final long DEFAULT_COMPACT_INTERVAL_SECONDS = 60;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 1024;
+    private static final int RESPONSE_CACHE_SIZE = 4096;
+    // Peringatan jika lebih dari separuh bawahan langsung satu manajer cuti di hari yang sama
+    private static final double MAX_TEAM_ABSENCE_RATIO = 0.5;
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("d MMMM yyyy");
+    // Review tanpa tanggal: slot dicari sampai sejauh ini; review massal tanpa rentang: mulai besok selama ini
+    private static final int REVIEW_SLOT_SEARCH_DAYS = 60;
+    private static final int BULK_REVIEW_WINDOW_DAYS = 14;
+    // Batas tunggu group commit sejak baris pertama di batch
+    private static final long GROUP_COMMIT_DELAY_MILLIS = 2;
+    private static final String[] BULK_REVIEW_WORDS = {"seluruh", "semua", "massal", "tim ", "bawahan"};
+    private static final long RELOAD_DEBOUNCE_MILLIS = 300;
+    private static final String[] DATA_FILES = {
+        "employees.csv", "leave_balances.csv", "leave_requests.csv", "performance_reviews.csv", "holidays.csv"};
+
+    private static final IntentClassifier intentClassifier = new IntentClassifier();
+    private static final SlotExtractor slotExtractor = new SlotExtractor();
+
+    private final Path dataDir;
+    private final LeaveBalanceJournal.FsyncPolicy fsyncPolicy;
+    private final long compactIntervalSeconds;
+    private final Backend backend;
+    // Direktori karyawan, backend HRFunctions, kalender cuti dan penjadwal review; dibaca sekali per
+    // permintaan dan hanya diganti sambil memegang kedua lock file
+    private volatile DataSnapshot data = DataSnapshot.empty();
+    private volatile LeaveRequestIndex leaveRequestIndex = new LeaveRequestIndex();
+    private volatile WorkingDayCalendar workingDays = WorkingDayCalendar.nationalHolidaysOnly();
+    // Dibuka sekali di load(); satu FileChannel per file selama aplikasi berjalan
+    private volatile GroupCommitAppender leaveRequestAppender;
+    private volatile GroupCommitAppender reviewAppender;
+    private volatile LeaveBalanceStore leaveBalances = new LeaveBalanceStore();
+    private volatile IdAllocator leaveRequestIds = new IdAllocator("LR", 3, 0);
+    private volatile IdAllocator reviewIds = new IdAllocator("PR", 2, 0);
+    // Dibuka sekali saat load pertama; null jika gagal dibuka
+    private volatile ExpenseLedger expenseLedger;
+
+    // Jawaban pertanyaan read-only per (intent, id karyawan)
+    private final ResponseCache responseCache = new ResponseCache(RESPONSE_CACHE_SIZE);
+    // Latensi per tahap dan intent, error, statistik cache
+    private final Metrics metrics = new Metrics();
+    private ScheduledExecutorService metricsDumper;
+
+    // Lock per file supaya baris ditulis berurutan sesuai id yang dialokasikan.
+    // Jika perlu keduanya (reload), ambil leaveRequestFileLock dulu.
+    private final Object leaveRequestFileLock = new Object();
+    private final Object reviewFileLock = new Object();
+
+    // Versi file data terakhir yang diketahui aplikasi (dimuat atau ditulis sendiri)
+    private final Map<String, FileStamp> knownStamps = new ConcurrentHashMap<>();
+    private DataWatcher watcher;
+
+    public HRAgentApp(Path dataDir) {
+        this(dataDir, LeaveBalanceJournal.FsyncPolicy.ALWAYS, DEFAULT_COMPACT_INTERVAL_SECONDS, Backend.STORE);
+    }
+
+    /**
+     * @param fsyncPolicy kebijakan fsync WAL sisa cuti
+     * @param compactIntervalSeconds interval kompaksi WAL ke leave_balances.csv
+     * @param backend implementasi HRFunctions yang dipakai
+     */
+    public HRAgentApp(Path dataDir, LeaveBalanceJournal.FsyncPolicy fsyncPolicy, long compactIntervalSeconds,
+                      Backend backend) {
+        this.dataDir = dataDir;
+        this.fsyncPolicy = fsyncPolicy;
+        this.compactIntervalSeconds = compactIntervalSeconds;
+        this.backend = backend;
+        metrics.registerGauge("hr_response_cache_hits", responseCache::hits);
+        metrics.registerGauge("hr_response_cache_misses", responseCache::misses);
+        metrics.registerGauge("hr_response_cache_evictions", responseCache::evictions);
+        metrics.registerGauge("hr_response_cache_size", responseCache::size);
+    }
 
     public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-        
+        String dataDir = option(args, "--data");
+        String fsync = option(args, "--fsync");
+        String compactInterval = option(args, "--compact-interval");
+        String backend = option(args, "--backend");
+        HRAgentApp agent = new HRAgentApp(
+            Paths.get(dataDir != null ? dataDir : ""),
+            fsync != null ? LeaveBalanceJournal.FsyncPolicy.valueOf(fsync.toUpperCase()) : LeaveBalanceJournal.FsyncPolicy.ALWAYS,
+            compactInterval != null ? Long.parseLong(compactInterval) : DEFAULT_COMPACT_INTERVAL_SECONDS,
+            backend != null ? Backend.valueOf(backend.toUpperCase()) : Backend.STORE);
+
         // Load data saat startup
-        loadEmployeeData();
-        loadLeaveBalances();
+        agent.load();
+
+        String metricsInterval = option(args, "--metrics-interval");
+        if (metricsInterval != null) {
+            agent.startMetricsDump(Long.parseLong(metricsInterval));
+        }
+
+        String batchSource = option(args, "--batch");
+        if (batchSource != null) {
+            runBatch(agent, batchSource, option(args, "--output"), option(args, "--workers"));
+            agent.close();
+            return;
+        }
+
+        // Perubahan CSV dari luar dimuat ulang tanpa restart
+        agent.startWatching();
+
+        String port = option(args, "--serve");
+        if (port != null) {
+            runServer(agent, Integer.parseInt(port), option(args, "--max-inflight"));
+            return;
+        }
+
+        Scanner scanner = new Scanner(System.in);
 
         System.out.println("=== Selamat datang di HR AI Agent ===");
         System.out.println("Saya dapat membantu Anda dengan:");
-        System.out.println("- Pertanyaan tentang data karyawan (manajer, sisa cuti, departemen, jabatan, status, email)");
+        System.out.println("- Pertanyaan tentang data karyawan (manajer, sisa cuti, departemen, jabatan, status, email, bawahan, tim, rantai atasan)");
         System.out.println("- Perintah HR (ajukan cuti, jadwalkan review, lapor pengeluaran, cek status cuti, cari info rekan kerja)");
         System.out.println("Ketik 'keluar' untuk mengakhiri.");
         
@@ -58,780 +173,1477 @@ public class HRAgentApp {
                 continue;
             }
 
-            // Deteksi apakah pertanyaan atau perintah
-            if (isQuestion(input)) {
-                handleQuestion(input);
-            } else if (isCommand(input)) {
-                handleCommand(input);
-            } else {
-                System.out.println("HR Agent: Maaf, saya tidak mengerti. Apakah ini pertanyaan atau perintah? " +
-                    "\nContoh pertanyaan: 'siapa manajer Rina?' atau 'sisa cuti Budi berapa?' " +
-                    "\nContoh perintah: 'ajukan cuti sakit' atau 'jadwalkan review performa'");
-            }
+            System.out.println("HR Agent: " + agent.ask(input).getMessage());
         }
 
         scanner.close();
+        agent.close();
     }
 
-    // ===================== DETEKSI =====================
+    // ===================== MODE BATCH =====================
 
-    private static boolean isQuestion(String input) {
-        String lowerInput = input.toLowerCase();
-        return QUESTION_PATTERNS.matcher(lowerInput).find();
+    /**
+     * Menjalankan mode batch: --batch <file|-> [--output <file>] [--workers <n>].
+     * Data karyawan dan sisa cuti yang sudah dimuat dipakai bersama oleh semua worker.
+     */
+    private static void runBatch(HRAgentApp agent, String source, String output, String workers) {
+        int workerCount = workers != null ? Integer.parseInt(workers) : Runtime.getRuntime().availableProcessors();
+        BatchRunner runner = new BatchRunner(agent::ask, workerCount);
+
+        long start = System.nanoTime();
+        try (BufferedReader in = "-".equals(source)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8);
+             Writer out = output != null
+                ? Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            long processed = runner.run(in, out);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            System.err.println("Batch selesai: " + processed + " input dalam " + elapsedMs + " ms (" + workerCount + " worker)");
+        } catch (IOException e) {
+            System.err.println("Error menjalankan batch: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Batch dihentikan.");
+        }
     }
-    
-    private static boolean isCommand(String input) {
+
+    // ===================== MODE SERVER =====================
+
+    /**
+     * Menjalankan server HTTP: --serve <port> [--max-inflight <n>]. Berjalan sampai proses dihentikan.
+     */
+    private static void runServer(HRAgentApp agent, int port, String maxInFlight) {
+        int limit = maxInFlight != null ? Integer.parseInt(maxInFlight) : DEFAULT_MAX_IN_FLIGHT;
+        try {
+            HRServer server = new HRServer(agent, new InetSocketAddress(port), limit);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.close();
+                agent.close();
+            }, "hr-server-shutdown"));
+            server.start();
+            System.err.println("HR Agent server berjalan di port " + server.getAddress().getPort() +
+                " (maks. " + limit + " request bersamaan, virtual thread: " +
+                (VirtualThreads.isAvailable() ? "ya" : "tidak") + ")");
+        } catch (IOException e) {
+            System.err.println("Error menjalankan server: " + e.getMessage());
+            agent.close();
+        }
+    }
+
+    private static String option(String[] args, String name) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    // ===================== DISPATCH =====================
+
+    /**
+     * Memproses satu input dan mengembalikan intent beserta jawabannya.
+     * Dipakai bersama oleh mode interaktif dan mode batch; aman dipanggil paralel.
+     */
+    public AgentResponse ask(String input) {
+        long start = System.nanoTime();
+        // Satu snapshot untuk seluruh permintaan: nama, jawaban dan kalender merujuk direktori yang sama
+        DataSnapshot data = this.data;
+        EmployeeDirectory directory = data.getDirectory();
+        // Deteksi intent dan ekstraksi nama diukur terpisah
         String lowerInput = input.toLowerCase();
-        return COMMAND_PATTERNS.matcher(lowerInput).find();
+        Intent intent = intentClassifier.detect(lowerInput);
+        long detected = System.nanoTime();
+        NameMatcher.Match employee = intentClassifier.extractEmployee(lowerInput, directory.getNameMatcher(),
+            directory.getFuzzyNameIndex());
+        metrics.record(Metrics.Stage.INTENT_DETECTION, intent, detected - start);
+        recordSince(Metrics.Stage.NAME_EXTRACTION, intent, detected);
+
+        String message = dispatch(data, new IntentResult(intent, lowerInput, employee));
+        recordSince(Metrics.Stage.TOTAL, intent, start);
+        return new AgentResponse(intent, message);
+    }
+
+    private String dispatch(DataSnapshot data, IntentResult request) {
+        switch (request.getIntent()) {
+            case UNKNOWN:
+                return "Maaf, saya tidak mengerti. Apakah ini pertanyaan atau perintah? " +
+                    "\nContoh pertanyaan: 'siapa manajer Rina?' atau 'sisa cuti Budi berapa?' " +
+                    "\nContoh perintah: 'ajukan cuti sakit' atau 'jadwalkan review performa'";
+            case UNKNOWN_QUESTION:
+                return "Maaf, saya belum mengerti pertanyaan ini. " +
+                    "\nSaya bisa membantu dengan pertanyaan tentang manajer, sisa cuti, informasi karyawan, " +
+                    "departemen, jabatan, status, email, bawahan, tim, rantai atasan, jumlah anggota tim, " +
+                    "atau siapa yang sedang cuti.";
+            case UNKNOWN_COMMAND:
+                return "Perintah belum dikenali. Saya bisa membantu dengan: " +
+                    "\najukan cuti, jadwalkan review performa, cek status cuti, lapor pengeluaran, atau cari info rekan kerja.";
+            default:
+                return request.getIntent().isQuestion() ? handleQuestion(data, request) : handleCommand(data, request);
+        }
     }
 
     // ===================== HANDLER PERTANYAAN =====================
 
-    private static void handleQuestion(String input) {
+    private String handleQuestion(DataSnapshot data, IntentResult request) {
         try {
-            String lowerInput = input.toLowerCase();
-            
-            // Pertanyaan tentang manajer
-            if (lowerInput.contains("manajer") || lowerInput.contains("manager")) {
-                String employeeName = extractEmployeeName(input);
-                if (employeeName != null) {
-                    String managerInfo = getManagerInfo(employeeName);
-                    System.out.println("HR Agent: " + managerInfo);
-                } else {
-                    System.out.println("HR Agent: Siapa yang ingin Anda tanyakan manajernya?");
-                }
-            
-            // Pertanyaan tentang sisa cuti
-            } else if (lowerInput.contains("sisa cuti") || lowerInput.contains("cuti") || lowerInput.contains("leave")) {
-                String employeeName = extractEmployeeName(input);
-                if (employeeName != null) {
-                    String leaveInfo = getLeaveBalanceInfo(employeeName);
-                    System.out.println("HR Agent: " + leaveInfo);
-                } else {
-                    System.out.println("HR Agent: Siapa yang ingin Anda tanyakan sisa cutinya?");
-                }
-            
-            // Pertanyaan tentang departemen
-            } else if (lowerInput.contains("departemen") || lowerInput.contains("department") || 
-                      lowerInput.contains("divisi") || lowerInput.contains("bagian")) {
-                String employeeName = extractEmployeeName(input);
-                if (employeeName != null) {
-                    String deptInfo = getDepartmentInfo(employeeName);
-                    System.out.println("HR Agent: " + deptInfo);
-                } else {
-                    System.out.println("HR Agent: Departemen siapa yang ingin Anda tanyakan?");
-                }
-            
-            // Pertanyaan tentang jabatan
-            } else if (lowerInput.contains("jabatan") || lowerInput.contains("posisi") || 
-                      lowerInput.contains("role") || lowerInput.contains("job")) {
-                String employeeName = extractEmployeeName(input);
-                if (employeeName != null) {
-                    String jobInfo = getJobInfo(employeeName);
-                    System.out.println("HR Agent: " + jobInfo);
-                } else {
-                    System.out.println("HR Agent: Jabatan siapa yang ingin Anda tanyakan?");
-                }
-            
-            // Pertanyaan tentang informasi karyawan
-            } else if (lowerInput.contains("info") || lowerInput.contains("informasi") || 
-                      lowerInput.contains("data") || lowerInput.contains("detail")) {
-                try {
-                    String employeeName = extractEmployeeName(input);
-                    if (employeeName == null) {
-                        System.out.println("HR Agent: Informasi siapa yang ingin dicari?");
-                        return;
-                    }
-                    
-                    System.out.println("HR Agent: " + hrFunctions.lookupColleagueInfo(employeeName));
-                    
-                } catch (Exception e) {
-                    System.out.println("HR Agent: Gagal mencari informasi rekan kerja: " + e.getMessage());
-                }
-
-            // Pertanyaan tentang status karyawan
-            } else if (lowerInput.contains("status") || lowerInput.contains("keadaan")) {
-                String employeeName = extractEmployeeName(input);
-                if (employeeName != null) {
-                    String statusInfo = getEmployeeStatus(employeeName);
-                    System.out.println("HR Agent: " + statusInfo);
-                } else {
-                    System.out.println("HR Agent: Status siapa yang ingin Anda tanyakan?");
-                }
-            
-            // Pertanyaan tentang email
-            } else if (lowerInput.contains("email") || lowerInput.contains("kontak")) {
-                String employeeName = extractEmployeeName(input);
-                if (employeeName != null) {
-                    String emailInfo = getEmailInfo(employeeName);
-                    System.out.println("HR Agent: " + emailInfo);
-                } else {
-                    System.out.println("HR Agent: Email siapa yang ingin Anda tanyakan?");
-                }
-            
-            } else {
-                System.out.println("HR Agent: Maaf, saya belum mengerti pertanyaan ini. " +
-                    "\nSaya bisa membantu dengan pertanyaan tentang manajer, sisa cuti, informasi karyawan, " +
-                    "departemen, jabatan, status, atau email karyawan.");
+            switch (request.getIntent()) {
+                case MANAGER:
+                    return answer(request, Intent.MANAGER, "Siapa yang ingin Anda tanyakan manajernya?", 
+                        name -> getManagerInfo(data, name));
+                case LEAVE_BALANCE:
+                    return answer(request, Intent.LEAVE_BALANCE, "Siapa yang ingin Anda tanyakan sisa cutinya?", 
+                        name -> getLeaveBalanceInfo(data, name));
+                case DEPARTMENT:
+                    return answer(request, Intent.DEPARTMENT, "Departemen siapa yang ingin Anda tanyakan?", 
+                        name -> getDepartmentInfo(data, name));
+                case JOB:
+                    return answer(request, Intent.JOB, "Jabatan siapa yang ingin Anda tanyakan?", 
+                        name -> getJobInfo(data, name));
+                case COLLEAGUE_INFO:
+                    return colleagueInfo(data, request);
+                case EMPLOYEE_STATUS:
+                    return answer(request, Intent.EMPLOYEE_STATUS, "Status siapa yang ingin Anda tanyakan?", 
+                        name -> getEmployeeStatus(data, name));
+                case EMAIL:
+                    return answer(request, Intent.EMAIL, "Email siapa yang ingin Anda tanyakan?", 
+                        name -> getEmailInfo(data, name));
+                case DIRECT_REPORTS:
+                    return answer(request, Intent.DIRECT_REPORTS, "Bawahan siapa yang ingin Anda tanyakan?",
+                        name -> data.getFunctions().listDirectReports(name));
+                case TEAM_MEMBERS:
+                    return answer(request, Intent.TEAM_MEMBERS, "Tim siapa yang ingin Anda tanyakan?",
+                        name -> data.getFunctions().listTeamMembers(name));
+                case CHAIN_OF_COMMAND:
+                    return answer(request, Intent.CHAIN_OF_COMMAND, "Rantai atasan siapa yang ingin Anda tanyakan?",
+                        name -> data.getFunctions().getChainOfCommand(name));
+                case TEAM_HEADCOUNT:
+                    return teamHeadcount(data, request);
+                case EXPENSE_TOTAL:
+                    return expenseTotal(data, request);
+                case WHO_IS_OUT:
+                    return whoIsOut(data, request);
+                default:
+                    return "Maaf, saya belum mengerti pertanyaan ini.";
             }
         } catch (Exception e) {
-            System.out.println("HR Agent: Terjadi kesalahan saat memproses pertanyaan: " + e.getMessage());
+            metrics.recordError(request.getIntent());
+            return "Terjadi kesalahan saat memproses pertanyaan: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Jawaban pertanyaan read-only hanya bergantung pada data karyawan yang disebut,
+     * sehingga di-cache per (intent, id karyawan).
+     */
+    private String answer(IntentResult request, Intent cacheIntent, String missingNamePrompt,
+                          Function<String, String> lookup) {
+        Employee employee = request.getEmployee();
+        if (employee == null) {
+            return missingNamePrompt;
+        }
+        String employeeName = capitalize(employee.getLowerName());
+        return responseCache.get(cacheIntent, employee.getId(), () -> {
+            long start = System.nanoTime();
+            String result = lookup.apply(employeeName);
+            recordSince(Metrics.Stage.LOOKUP, request.getIntent(), start);
+            return result;
+        });
+    }
+
+    // Nama departemen didahulukan ("berapa orang di tim Teknologi"), selain itu tim karyawan yang disebut
+    private String teamHeadcount(DataSnapshot data, IntentResult request) {
+        String department = data.getDirectory().findDepartment(request.getLowerInput());
+        if (department == null) {
+            return answer(request, Intent.TEAM_HEADCOUNT, "Departemen atau tim siapa yang ingin Anda hitung?",
+                name -> data.getFunctions().countTeamMembers(name));
+        }
+        long start = System.nanoTime();
+        String result = data.getFunctions().countTeamMembers(department);
+        recordSince(Metrics.Stage.LOOKUP, Intent.TEAM_HEADCOUNT, start);
+        return result;
+    }
+
+    // Tidak di-cache: total berubah setiap ada laporan pengeluaran baru
+    private String expenseTotal(DataSnapshot data, IntentResult request) {
+        long start = System.nanoTime();
+        String category = slotExtractor.findExpenseCategory(request.getLowerInput());
+        YearMonth month = slotExtractor.extractMonth(request.getLowerInput());
+        recordSince(Metrics.Stage.SLOT_EXTRACTION, request.getIntent(), start);
+        return getExpenseTotal(data, employeeName(request), category, month);
+    }
+
+    // Tidak di-cache: kalender berubah setiap ada pengajuan cuti baru
+    private String whoIsOut(DataSnapshot data, IntentResult request) {
+        long start = System.nanoTime();
+        String department = data.getDirectory().findDepartment(request.getLowerInput());
+        LocalDate[] period = slotExtractor.extractPeriod(request.getLowerInput());
+        recordSince(Metrics.Stage.SLOT_EXTRACTION, request.getIntent(), start);
+        return getWhoIsOut(data, department, department == null ? employeeName(request) : null, period[0], period[1]);
+    }
+
+    // Dipakai pertanyaan COLLEAGUE_INFO dan perintah LOOKUP_COLLEAGUE (jawabannya sama)
+    private String colleagueInfo(DataSnapshot data, IntentResult request) {
+        try {
+            return answer(request, Intent.COLLEAGUE_INFO, "Informasi siapa yang ingin dicari?",
+                name -> data.getFunctions().lookupColleagueInfo(name));
+        } catch (Exception e) {
+            metrics.recordError(request.getIntent());
+            return "Gagal mencari informasi rekan kerja: " + e.getMessage();
         }
     }
 
+    /**
+     * Latensi per tahap dan intent, counter error dan statistik cache.
+     */
+    public Metrics getMetrics() {
+        return metrics;
+    }
+
+    // Durasi sejak startNanos dicatat ke histogram (tahap, intent)
+    private void recordSince(Metrics.Stage stage, Intent intent, long startNanos) {
+        metrics.record(stage, intent, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Cache jawaban pertanyaan (untuk statistik hit/miss/eviction).
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
     // ===================== HANDLER PERINTAH =====================
 
-    private static void handleCommand(String input) {
+    private String handleCommand(DataSnapshot data, IntentResult request) {
         try {
-            String lowerInput = input.toLowerCase();
-            
-            // Perintah ajukan cuti
-            if (lowerInput.contains("ajukan cuti") || lowerInput.contains("minta cuti")) {
-                handleLeaveRequest(input);
-            
-            // Perintah jadwalkan review performa
-            } else if (lowerInput.contains("review performa") || lowerInput.contains("review") || 
-                      lowerInput.contains("jadwalkan review") || lowerInput.contains("performance")) {
-                handlePerformanceReview(input);
-            
-            // Perintah cek status cuti
-            } else if (lowerInput.contains("cek status") || lowerInput.contains("status cuti") || 
-                      lowerInput.contains("check status")) {
-                handleCheckLeaveStatus(input);
-            
-            // Perintah lapor pengeluaran
-            } else if (lowerInput.contains("lapor pengeluaran") || lowerInput.contains("expense") || 
-                      lowerInput.contains("pengeluaran") || lowerInput.contains("reimburse")) {
-                handleExpenseReport(input);
-            
-            // Perintah cari info rekan kerja
-            } else if (lowerInput.contains("cari info") || lowerInput.contains("info rekan") || 
-                      lowerInput.contains("lookup") || lowerInput.contains("colleague")) {
-                handleLookupColleague(input);
-            
-            } else {
-                System.out.println("HR Agent: Perintah belum dikenali. Saya bisa membantu dengan: " +
-                    "\najukan cuti, jadwalkan review performa, cek status cuti, lapor pengeluaran, atau cari info rekan kerja.");
+            switch (request.getIntent()) {
+                case APPLY_LEAVE:
+                    return handleLeaveRequest(data, request);
+                case SCHEDULE_REVIEW:
+                    return handlePerformanceReview(data, request);
+                case CHECK_LEAVE_STATUS:
+                    return handleCheckLeaveStatus(data, request);
+                case EXPENSE:
+                    return handleExpenseReport(data, request);
+                case LOOKUP_COLLEAGUE:
+                    return handleLookupColleague(data, request);
+                default:
+                    return "Perintah belum dikenali.";
             }
         } catch (Exception e) {
-            System.out.println("HR Agent: Terjadi kesalahan saat memproses perintah: " + e.getMessage());
+            metrics.recordError(request.getIntent());
+            return "Terjadi kesalahan saat memproses perintah: " + e.getMessage();
         }
     }
     
     // ===================== HANDLER PERINTAH SPESIFIK =====================
     
-    private static void handleLeaveRequest(String input) {
-        try {
-            String employeeName = extractEmployeeName(input);
-            if (employeeName == null) {
-                System.out.println("HR Agent: Siapa yang ingin mengajukan cuti?");
-                return;
-            }
+    private String handleLeaveRequest(DataSnapshot data, IntentResult request) {
+        String employeeName = employeeName(request);
+        if (employeeName == null) {
+            return "Siapa yang ingin mengajukan cuti?";
+        }
 
-            String leaveType = extractLeaveType(input);
-            LocalDate[] dates = extractDates(input);
+        long start = System.nanoTime();
+        String leaveType = slotExtractor.extractLeaveType(request.getLowerInput());
+        LocalDate[] dates = slotExtractor.extractDates(request.getLowerInput());
+        recordSince(Metrics.Stage.SLOT_EXTRACTION, request.getIntent(), start);
 
-            if (dates[0] == null || dates[1] == null) {
-                System.out.println("HR Agent: Kapan tanggal cuti yang diinginkan? (contoh: dari 1-5 januari)");
-                return;
+        if (dates[0] == null || dates[1] == null) {
+            return "Kapan tanggal cuti yang diinginkan? (contoh: dari 1-5 januari)";
+        }
+        return applyForLeave(data, employeeName, leaveType, dates[0], dates[1]);
+    }
+
+    private String handlePerformanceReview(DataSnapshot data, IntentResult request) {
+        String department = data.getDirectory().findDepartment(request.getLowerInput());
+        if (department != null || containsAny(request.getLowerInput(), BULK_REVIEW_WORDS)) {
+            return handleBulkReview(request, department);
+        }
+        String employeeName = employeeName(request);
+        if (employeeName == null) {
+            return "Siapa yang akan direview?";
+        }
+        long start = System.nanoTime();
+        String reviewerName = slotExtractor.extractReviewerName(request.getLowerInput());
+        LocalDate reviewDate = slotExtractor.extractSingleDate(request.getLowerInput());
+        recordSince(Metrics.Stage.SLOT_EXTRACTION, request.getIntent(), start);
+        return schedulePerformanceReview(employeeName, reviewerName, reviewDate);
+    }
+
+    // "jadwalkan review seluruh departemen Teknologi 2-13 november maks 3 per hari",
+    // "jadwalkan review semua bawahan Agus", "jadwalkan review semua karyawan minggu depan"
+    private String handleBulkReview(IntentResult request, String department) {
+        long start = System.nanoTime();
+        LocalDate[] period = slotExtractor.findPeriod(request.getLowerInput());
+        int capacity = slotExtractor.extractDailyCapacity(request.getLowerInput(),
+            ReviewScheduler.DEFAULT_DAILY_CAPACITY);
+        recordSince(Metrics.Stage.SLOT_EXTRACTION, request.getIntent(), start);
+        if (period == null) {
+            LocalDate from = LocalDate.now().plusDays(1);
+            period = new LocalDate[] {from, from.plusDays(BULK_REVIEW_WINDOW_DAYS - 1)};
+        }
+        return scheduleReviews(department, department == null ? employeeName(request) : null, period[0], period[1],
+            capacity);
+    }
+
+    private static boolean containsAny(String text, String[] words) {
+        for (String word : words) {
+            if (text.contains(word)) {
+                return true;
             }
+        }
+        return false;
+    }
 
-            // Hitung jumlah hari cuti yang diajukan
-            long daysRequested = java.time.temporal.ChronoUnit.DAYS.between(dates[0], dates[1]);
-            if (daysRequested <= 0) daysRequested = 1;
+    private String handleCheckLeaveStatus(DataSnapshot data, IntentResult request) {
+        String employeeName = employeeName(request);
+        if (employeeName == null) {
+            return "Siapa yang ingin dicek status cutinya?";
+        }
+        return checkLeaveRequestStatus(data, employeeName);
+    }
 
-            // Cek sisa cuti
-            Map<String, Integer> balances = leaveBalances.get(employeeName.toLowerCase());
-            if (balances == null || !balances.containsKey(leaveType)) {
-                System.out.println("HR Agent: Data sisa cuti untuk " + capitalize(employeeName) + " tidak ditemukan.");
-                return;
+    private String handleExpenseReport(DataSnapshot data, IntentResult request) {
+        String employeeName = employeeName(request);
+        if (employeeName == null) {
+            return "Siapa yang melaporkan pengeluaran?";
+        }
+
+        long start = System.nanoTime();
+        String category = slotExtractor.extractExpenseCategory(request.getLowerInput());
+        long amount = slotExtractor.extractAmount(request.getLowerInput());
+        recordSince(Metrics.Stage.SLOT_EXTRACTION, request.getIntent(), start);
+
+        if (amount <= 0) {
+            return "Berapa jumlah pengeluaran yang ingin dilaporkan?";
+        }
+        return submitExpenseReport(data, employeeName, category, amount);
+    }
+
+    private String handleLookupColleague(DataSnapshot data, IntentResult request) {
+        return colleagueInfo(data, request);
+    }
+
+    // ===================== AKSI HR (HRFunctions) =====================
+
+    /**
+     * Mengajukan cuti: sisa cuti dikurangi secara atomik, pengajuan dicatat ke leave_requests.csv,
+     * lalu konfirmasi dibuat oleh backend HRFunctions.
+     */
+    @Override
+    public String applyForLeave(String employeeName, String leaveType, LocalDate startDate, LocalDate endDate) {
+        return applyForLeave(data, employeeName, leaveType, startDate, endDate);
+    }
+
+    /**
+     * @param data snapshot permintaan ini; pengajuan dicatat ke snapshot yang berlaku saat lock file dipegang
+     */
+    private String applyForLeave(DataSnapshot data, String employeeName, String leaveType, LocalDate startDate,
+                                 LocalDate endDate) {
+        try {
+            if (endDate.isBefore(startDate)) {
+                return "Tanggal selesai cuti tidak boleh sebelum tanggal mulai.";
             }
-            int sisaCuti = balances.get(leaveType);
-            if (sisaCuti < daysRequested) {
-                System.out.println("HR Agent: Sisa cuti " + leaveType + " untuk " + capitalize(employeeName) + " sudah habis atau tidak cukup.");
-                return;
+            // Yang dipotong dari sisa cuti hanya hari kerja (tanggal selesai inklusif)
+            int daysRequested = workingDays.countWorkingDays(startDate, endDate);
+            if (daysRequested == 0) {
+                return "Pengajuan cuti tidak diproses: " + formatPeriod(startDate, endDate)
+                    + " tidak berisi hari kerja (akhir pekan atau hari libur).";
+            }
+
+            Employee employee = data.getDirectory().findByName(employeeName);
+            if (employee == null) {
+                return "Karyawan " + capitalize(employeeName) + " tidak ditemukan.";
             }
 
-            // Proses pengajuan cuti (tambah ke leave_requests.csv)
+            // Cek awal tanpa lock: pengajuan yang jelas bertabrakan ditolak tanpa menunggu lock file
+            String employeeId = employee.getId();
+            String overlap = findLeaveOverlap(data.getLeaveCalendar(), employeeId, startDate, endDate);
+            if (overlap != null) {
+                return overlap;
+            }
+
+            // Sisa cuti dipotong (dicatat ke WAL bersama id pengajuannya) dan baris diantrekan di bawah lock
+            // yang sama, jadi urutan id sama dengan urutan di file. Baris ditunggu di luar lock sampai tertulis
+            // sehingga satu fsync mencakup banyak pengajuan; jika crash terjadi sebelum baris tersimpan,
+            // potongannya dikembalikan saat startup (lihat refundOrphanDeductions)
+            LeaveBalanceStore balances = leaveBalances;
+            String deductedRequestId = null;
             try {
-                String employeeData = HRAgentApp.employeeData.get(employeeName.toLowerCase().trim());
-                if (employeeData == null) {
-                    System.out.println("Karyawan " + capitalize(employeeName) + " tidak ditemukan.");
-                    return ;
-                }
-                String[] parts = employeeData.split(",");
-                String employeeId = parts[0];
-
-                Path filePath = Paths.get("leave_requests.csv");
-                String newRequestId = generateNewRequestsId(filePath);
-
-                String newRow = String.join(",",
-                    newRequestId,
-                    employeeId,
-                    leaveType,
-                    dates[0].toString(),
-                    dates[1].toString(),
-                    "Menunggu Persetujuan"
-                );
-                Files.write(filePath, Arrays.asList(newRow), StandardOpenOption.APPEND);
-
-                // Kurangi sisa cuti di leave_balances.csv
-                Path leaveBalancePath = Paths.get("leave_balances.csv");
-                List<String> leaveLines = Files.readAllLines(leaveBalancePath);
-                for (int i = 1; i < leaveLines.size(); i++) { // mulai dari 1, skip header
-                    String[] cols = leaveLines.get(i).split(",");
-                    if (cols.length >= 3 && cols[0].equals(employeeId) && cols[1].equalsIgnoreCase(leaveType)) {
-                        int newBalance = Integer.parseInt(cols[2]) - (int)daysRequested;
-                        if (newBalance < 0) newBalance = 0;
-                        cols[2] = String.valueOf(newBalance);
-                        leaveLines.set(i, String.join(",", cols));
-                        break;
+                long persistStart;
+                CompletableFuture<Void> written;
+                synchronized (leaveRequestFileLock) {
+                    // Snapshot tidak bisa diganti selama lock dipegang: kalender dan store yang diperbarui
+                    // adalah yang sedang berlaku, bukan milik snapshot lama jika ada reload sejak awal permintaan
+                    data = this.data;
+                    // Cek ulang di bawah lock: pengajuan paralel untuk karyawan yang sama
+                    overlap = findLeaveOverlap(data.getLeaveCalendar(), employeeId, startDate, endDate);
+                    if (overlap != null) {
+                        return overlap;
                     }
-                }
-                Files.write(leaveBalancePath, leaveLines);
 
-                // Update map leaveBalances juga
-                balances.put(leaveType, sisaCuti - (int)daysRequested);
+                    // Cek dan kurangi sisa cuti secara atomik (per karyawan). Id baru dibagikan hanya jika
+                    // potongan berhasil, supaya pengajuan yang ditolak tidak meninggalkan celah id
+                    String newRequestId = leaveRequestIds.peek();
+                    long deductStart = System.nanoTime();
+                    LeaveBalanceStore.Deduction deducted = balances.tryDeduct(employeeId, leaveType,
+                        daysRequested, newRequestId);
+                    recordSince(Metrics.Stage.BALANCE_UPDATE, Intent.APPLY_LEAVE, deductStart);
+                    switch (deducted) {
+                        case NOT_FOUND:
+                            return "Data sisa cuti untuk " + capitalize(employeeName) + " tidak ditemukan.";
+                        case INSUFFICIENT:
+                            return "Sisa cuti " + leaveType + " untuk " + capitalize(employeeName)
+                                + " sudah habis atau tidak cukup.";
+                        default:
+                            break;
+                    }
+                    leaveRequestIds.next(); // == newRequestId: next() hanya dipanggil di bawah lock ini
+                    deductedRequestId = newRequestId;
+                    persistStart = System.nanoTime();
 
-            } catch (IOException e) {
+                    LeaveRequest leaveRequest = new LeaveRequest(
+                        newRequestId,
+                        employeeId,
+                        leaveType,
+                        startDate,
+                        endDate,
+                        "Menunggu Persetujuan"
+                    );
+                    written = leaveRequestAppender.append(leaveRequest.toCsvRow());
+                    // Indeks CSV hanya dibaca backend mock; backend store punya datanya sendiri
+                    HRDataStore store = data.dataStore();
+                    if (store != null) {
+                        store.appendLeaveRequest(leaveRequest);
+                    } else {
+                        leaveRequestIndex.record(leaveRequest);
+                    }
+                    LeaveCalendar calendar = data.getLeaveCalendar();
+                    int row = calendar.getDirectory().rowOf(employeeId);
+                    if (row >= 0) {
+                        calendar.add(row, leaveType, startDate, endDate, LeaveCalendar.STATUS_PENDING);
+                    }
+                }
+                responseCache.invalidate(Intent.LEAVE_BALANCE, employeeId);
+                GroupCommitAppender.await(written);
+                balances.confirm(deductedRequestId);
+                recordSince(Metrics.Stage.PERSISTENCE, Intent.APPLY_LEAVE, persistStart);
+
+            } catch (IOException | RuntimeException e) {
+                if (deductedRequestId == null) {
+                    // WAL gagal ditulis: potongan sudah dibatalkan oleh tryDeduct
+                    throw e;
+                }
+                // Pengajuan tidak tersimpan: kembalikan hari yang sudah dikurangi
+                balances.refund(employeeId, leaveType, daysRequested, deductedRequestId);
+                responseCache.invalidate(Intent.LEAVE_BALANCE, employeeId);
+                metrics.recordError(Intent.APPLY_LEAVE);
                 e.printStackTrace();
-                System.out.println("Terjadi error saat menyimpan pengajuan cuti.");
-                return;
+                resyncFromFile("leave_requests.csv");
+                return "Terjadi error saat menyimpan pengajuan cuti.";
             }
-            
-            System.out.println("HR Agent: " + hrFunctions.applyForLeave(employeeName, leaveType, dates[0], dates[1]));
+
+            long callStart = System.nanoTime();
+            String result = data.getFunctions().applyForLeave(employeeName, leaveType, startDate, endDate)
+                + "\nSisa cuti " + leaveType + " dipotong " + daysRequested + " hari kerja.";
+            recordSince(Metrics.Stage.HR_FUNCTION, Intent.APPLY_LEAVE, callStart);
+            String warning = teamCoverageWarning(data.getLeaveCalendar(), employeeId, startDate, endDate);
+            return warning != null ? result + "\n" + warning : result;
 
         } catch (Exception e) {
-            System.out.println("HR Agent: Gagal memproses pengajuan cuti: " + e.getMessage());
+            metrics.recordError(Intent.APPLY_LEAVE);
+            return "Gagal memproses pengajuan cuti: " + e.getMessage();
         }
     }
 
-    private static String generateNewRequestsId(Path filePath) throws IOException {
-        try{
-            List<String> lines = Files.readAllLines(filePath);
-            if (lines.size() <= 1) return "LR001"; // kosong selain header
-            String lastLine = lines.get(lines.size() - 1);
-            String lastRequestId = lastLine.split(",")[0];
-            int nextId = Integer.parseInt(lastRequestId.substring(2)) + 1;
-            return String.format("LR%03d", nextId);
-        } catch (IOException e) {
-            throw new IOException("Gagal membaca file leave_requests.csv: " + e.getMessage());
+    /**
+     * @return pesan penolakan jika karyawan sudah punya cuti yang beririsan dengan [startDate, endDate], atau null.
+     */
+    private static String findLeaveOverlap(LeaveCalendar calendar, String employeeId, LocalDate startDate,
+                                           LocalDate endDate) {
+        int row = calendar.getDirectory().rowOf(employeeId);
+        int entry = row >= 0 ? calendar.findOverlap(row, startDate, endDate) : -1;
+        if (entry < 0) {
+            return null;
         }
+        return String.format("Pengajuan cuti tidak diproses: %s sudah memiliki cuti %s %s - %s (%s) "
+                + "yang bertabrakan dengan tanggal tersebut.",
+            calendar.getDirectory().all().get(row).getName(), calendar.leaveType(entry),
+            calendar.start(entry).format(DATE_FORMAT), calendar.end(entry).format(DATE_FORMAT),
+            calendar.status(entry));
     }
-    
-    private static void handlePerformanceReview(String input) {
+
+    /**
+     * Cek cakupan tim: peringatan (bukan penolakan) jika terlalu banyak bawahan langsung manajer
+     * yang sama cuti bersamaan, termasuk pengajuan yang baru dicatat.
+     */
+    private static String teamCoverageWarning(LeaveCalendar calendar, String employeeId, LocalDate startDate,
+                                              LocalDate endDate) {
+        int row = calendar.getDirectory().rowOf(employeeId);
+        LeaveCalendar.Coverage coverage = row >= 0 ? calendar.teamCoverage(row, startDate, endDate) : null;
+        if (coverage == null || coverage.getPeakOthersOut() == 0) {
+            return null;
+        }
+        int out = coverage.getPeakOthersOut() + 1;
+        if (out <= coverage.getTeamSize() * MAX_TEAM_ABSENCE_RATIO) {
+            return null;
+        }
+        return String.format("PERINGATAN: %d dari %d anggota tim %s akan cuti bersamaan pada %s.",
+            out, coverage.getTeamSize(), calendar.getDirectory().all().get(coverage.getManagerRow()).getName(),
+            coverage.getPeakDay().format(DATE_FORMAT));
+    }
+
+    /**
+     * Menjadwalkan review performa dan mencatatnya ke performance_reviews.csv. Jadwal ditolak jika
+     * bukan hari kerja, reviewer atau karyawan sedang cuti, karyawan sudah punya review hari itu,
+     * atau reviewer sudah mencapai kapasitas hariannya.
+     * @param reviewerName null untuk atasan langsung karyawan
+     * @param reviewDate null untuk slot kosong pertama mulai satu minggu dari sekarang
+     */
+    @Override
+    public String schedulePerformanceReview(String employeeName, String reviewerName, LocalDate reviewDate) {
         try {
-            String employeeName = extractFirstEmployeeName(input);
-            System.out.println(employeeName);
-            if (employeeName == null) {
-                System.out.println("HR Agent: Siapa yang akan direview?");
-                return;
-            }
-            
-            String reviewerName = extractReviewerName(input);
-            if (reviewerName == null) {
-                reviewerName = "Manager"; // default
-            }
-            System.out.println(reviewerName);
+            DataSnapshot data;
+            Employee reviewer;
+            long persistStart = System.nanoTime();
+            CompletableFuture<Void> written;
+            // Snapshot dibaca di bawah lock: reload menggantinya di bawah lock yang sama, jadi pengecekan
+            // kapasitas dan booking memakai penjadwal yang sedang berlaku
+            synchronized (reviewFileLock) {
+                data = this.data;
+                ReviewScheduler scheduler = data.getReviewScheduler();
+                EmployeeDirectory directory = data.getDirectory();
+                Employee employee = directory.findByName(employeeName);
+                if (employee == null) {
+                    return "ERROR: Karyawan " + employeeName + " tidak ditemukan.";
+                }
+                int row = directory.rowOf(employee.getId());
+                int reviewerRow;
+                if (reviewerName == null) {
+                    reviewerRow = directory.getOrgChart().manager(row);
+                    if (reviewerRow < 0) {
+                        return "ERROR: " + employee.getName() + " tidak memiliki atasan. Sebutkan reviewer-nya "
+                            + "(contoh: 'dengan Indra Kusuma').";
+                    }
+                } else {
+                    Employee named = directory.findByName(reviewerName);
+                    if (named == null) {
+                        return "ERROR: Reviewer " + capitalize(reviewerName) + " tidak ditemukan.";
+                    }
+                    reviewerRow = directory.rowOf(named.getId());
+                }
+                if (reviewerRow == row) {
+                    return "ERROR: Karyawan tidak bisa mereview dirinya sendiri.";
+                }
+                reviewer = directory.all().get(reviewerRow);
 
-            String employeeId = getEmployeeIdByName(employeeName);
-            String reviewerId = getEmployeeIdByName(reviewerName);
+                if (reviewDate == null) {
+                    LocalDate from = LocalDate.now().plusDays(7); // default mulai 1 minggu lagi
+                    ReviewScheduler.Plan plan = scheduler.plan(new int[] {row}, reviewerRow, from,
+                        from.plusDays(REVIEW_SLOT_SEARCH_DAYS - 1), ReviewScheduler.DEFAULT_DAILY_CAPACITY, false,
+                        data.getLeaveCalendar(), workingDays);
+                    if (plan.size() == 0) {
+                        return String.format("Review tidak dijadwalkan: tidak ada slot kosong untuk %s dan %s "
+                                + "dalam %d hari sejak %s.", employee.getName(), reviewer.getName(),
+                            REVIEW_SLOT_SEARCH_DAYS, from.format(DATE_FORMAT));
+                    }
+                    reviewDate = plan.date(0);
+                } else {
+                    String conflict = scheduler.conflict(row, reviewerRow, reviewDate,
+                        ReviewScheduler.DEFAULT_DAILY_CAPACITY, data.getLeaveCalendar(), workingDays);
+                    if (conflict != null) {
+                        return "Review tidak dijadwalkan: " + conflict + ".";
+                    }
+                }
 
-            if (employeeId == null) {
-                System.out.println("ERROR: Karyawan " + employeeName + " tidak ditemukan.");
-                return;
+                String newReviewId = reviewIds.next();
+                written = reviewAppender.append(reviewRow(newReviewId, employee.getId(), reviewer.getId(), reviewDate));
+                HRDataStore store = data.dataStore();
+                if (store != null) {
+                    store.appendReview(newReviewId, employee.getId(), reviewer.getId(), reviewDate, 0,
+                        ReviewScheduler.STATUS_SCHEDULED);
+                }
+                scheduler.book(row, reviewerRow, reviewDate);
             }
-            if (reviewerId == null) {
-                reviewerId = "999"; // fallback ID reviewer default
+            awaitReviewAppend(written);
+            recordSince(Metrics.Stage.PERSISTENCE, Intent.SCHEDULE_REVIEW, persistStart);
+
+            long callStart = System.nanoTime();
+            String result = data.getFunctions().schedulePerformanceReview(employeeName, reviewer.getName(), reviewDate);
+            recordSince(Metrics.Stage.HR_FUNCTION, Intent.SCHEDULE_REVIEW, callStart);
+            return result;
+
+        } catch (Exception e) {
+            metrics.recordError(Intent.SCHEDULE_REVIEW);
+            return "Gagal menjadwalkan review performa: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Menjadwalkan review performa massal: setiap karyawan direview atasannya (atau atasan berikutnya
+     * jika atasan langsung penuh/cuti) pada hari kerja paling awal yang masih ada slot. Karyawan yang
+     * masih punya review terjadwal yang akan datang dilewati. Semua baris ditulis ke performance_reviews.csv dalam satu append.
+     * @param department departemen, atau null untuk memakai managerName
+     * @param managerName seluruh bawahan (langsung dan tidak langsung) manajer ini; department dan
+     *                    managerName null berarti seluruh karyawan
+     */
+    public String scheduleReviews(String department, String managerName, LocalDate from, LocalDate to,
+                                  int dailyCapacity) {
+        try {
+            ReviewScheduler.Plan plan;
+            String scope;
+            CompletableFuture<Void> written = null;
+            long persistStart = System.nanoTime();
+            // Lihat schedulePerformanceReview: snapshot dibaca di bawah lock
+            synchronized (reviewFileLock) {
+                DataSnapshot data = this.data;
+                ReviewScheduler scheduler = data.getReviewScheduler();
+                EmployeeDirectory directory = data.getDirectory();
+                int[] reviewees;
+                if (department != null) {
+                    if (directory.countByDepartment(department) < 0) {
+                        return "Departemen " + department + " tidak ditemukan.";
+                    }
+                    reviewees = directory.departmentRows(department);
+                    scope = "departemen " + department;
+                } else if (managerName != null) {
+                    Employee manager = directory.findByName(managerName);
+                    if (manager == null) {
+                        return "Karyawan " + capitalize(managerName) + " tidak ditemukan.";
+                    }
+                    int row = directory.rowOf(manager.getId());
+                    reviewees = directory.getOrgChart().teamMembers(row, Integer.MAX_VALUE);
+                    scope = "tim " + manager.getName();
+                } else {
+                    reviewees = new int[directory.size()];
+                    for (int row = 0; row < reviewees.length; row++) {
+                        reviewees[row] = row;
+                    }
+                    scope = "seluruh karyawan";
+                }
+
+                plan = scheduler.plan(reviewees, -1, from, to, dailyCapacity, true, data.getLeaveCalendar(),
+                    workingDays);
+                if (plan.size() > 0) {
+                    String[] ids = new String[plan.size()];
+                    StringBuilder rows = new StringBuilder(plan.size() * 40);
+                    for (int i = 0; i < plan.size(); i++) {
+                        ids[i] = reviewIds.next();
+                        if (i > 0) {
+                            rows.append('\n');
+                        }
+                        rows.append(reviewRow(ids[i], directory.all().get(plan.reviewee(i)).getId(),
+                            directory.all().get(plan.reviewer(i)).getId(), plan.date(i)));
+                    }
+                    written = reviewAppender.append(rows.toString());
+                    HRDataStore store = data.dataStore();
+                    if (store != null) {
+                        for (int i = 0; i < plan.size(); i++) {
+                            store.appendReview(ids[i], directory.all().get(plan.reviewee(i)).getId(),
+                                directory.all().get(plan.reviewer(i)).getId(), plan.date(i), 0,
+                                ReviewScheduler.STATUS_SCHEDULED);
+                        }
+                    }
+                    scheduler.book(plan);
+                }
             }
-            
-            LocalDate reviewDate = extractSingleDate(input);
-            if (reviewDate == null) {
-                reviewDate = LocalDate.now().plusDays(7); // default 1 minggu
+            if (written != null) {
+                awaitReviewAppend(written);
             }
+            recordSince(Metrics.Stage.PERSISTENCE, Intent.SCHEDULE_REVIEW, persistStart);
 
-            Path filePath = Paths.get("performance_reviews.csv");
-            String newReviewId = generateNewReviewId(filePath);
-
-            String record = String.join(",",
-                    newReviewId,
-                    employeeId,
-                    reviewerId,
-                    reviewDate.toString(),
-                    "0",                  // skor default 0
-                    "Terjadwal"           // status default
-            );
+            StringBuilder result = new StringBuilder();
+            if (plan.size() > 0) {
+                result.append(String.format("KONFIRMASI: %d review performa dijadwalkan untuk %s pada %s "
+                        + "(%d reviewer, maks. %d review per reviewer per hari).", plan.size(), scope,
+                    formatPeriod(from, to), plan.reviewerCount(), plan.getCapacity()));
+            } else {
+                result.append(String.format("INFO: Tidak ada review performa baru untuk %s pada %s.", scope,
+                    formatPeriod(from, to)));
+            }
+            List<String> skipped = new ArrayList<>();
+            if (plan.getAlreadyScheduled() > 0) {
+                skipped.add(plan.getAlreadyScheduled() + " sudah punya review terjadwal");
+            }
+            if (plan.getNoReviewer() > 0) {
+                skipped.add(plan.getNoReviewer() + " tanpa atasan");
+            }
+            if (plan.getNoSlot() > 0) {
+                skipped.add(plan.getNoSlot() + " tidak mendapat slot (reviewer penuh atau cuti)");
+            }
+            if (!skipped.isEmpty()) {
+                result.append(" Dilewati: ").append(String.join(", ", skipped)).append('.');
+            }
+            return result.toString();
 
-            Files.write(filePath, (record + System.lineSeparator()).getBytes(),StandardOpenOption.APPEND);
-                    
-            System.out.println("HR Agent: " + hrFunctions.schedulePerformanceReview(employeeName, capitalize(reviewerName), reviewDate));
-        
         } catch (Exception e) {
-            System.out.println("HR Agent: Gagal menjadwalkan review performa: " + e.getMessage());
+            metrics.recordError(Intent.SCHEDULE_REVIEW);
+            return "Gagal menjadwalkan review performa: " + e.getMessage();
         }
     }
 
-    private static String generateNewReviewId(Path filePath) {
+    // Jika review gagal ditulis, beban reviewer dan backend store dimuat ulang dari file
+    private void awaitReviewAppend(CompletableFuture<Void> written) throws IOException {
         try {
-            List<String> lines = Files.readAllLines(filePath);
-            if (lines.size() <= 1) return "PR01"; // kosong selain header
-            String lastLine = lines.get(lines.size() - 1);
-            String lastReviewId = lastLine.split(",")[0];
-            int nextId = Integer.parseInt(lastReviewId.substring(2)) + 1;
-            return String.format("PR%02d", nextId);
-        } catch (IOException e) {
-            return "PR01";
+            GroupCommitAppender.await(written);
+        } catch (IOException | RuntimeException e) {
+            resyncFromFile("performance_reviews.csv");
+            throw e;
         }
     }
-    
-    private static void handleCheckLeaveStatus(String input) {
+
+    private static String reviewRow(String reviewId, String employeeId, String reviewerId, LocalDate reviewDate) {
+        return String.join(",",
+                reviewId,
+                employeeId,
+                reviewerId,
+                reviewDate.toString(),
+                "0",                              // skor default 0
+                ReviewScheduler.STATUS_SCHEDULED  // status default
+        );
+    }
+
+    @Override
+    public String checkLeaveRequestStatus(String employeeName) {
+        return checkLeaveRequestStatus(data, employeeName);
+    }
+
+    private String checkLeaveRequestStatus(DataSnapshot data, String employeeName) {
+        long start = System.nanoTime();
         try {
-            String employeeName = extractEmployeeName(input);
-            if (employeeName == null) {
-                System.out.println("HR Agent: Siapa yang ingin dicek status cutinya?");
-                return;
-            }
-            
-            System.out.println("HR Agent: " + hrFunctions.checkLeaveRequestStatus(employeeName));
-            
+            return data.getFunctions().checkLeaveRequestStatus(employeeName);
         } catch (Exception e) {
-            System.out.println("HR Agent: Gagal mengecek status cuti: " + e.getMessage());
+            metrics.recordError(Intent.CHECK_LEAVE_STATUS);
+            return "Gagal mengecek status cuti: " + e.getMessage();
+        } finally {
+            recordSince(Metrics.Stage.HR_FUNCTION, Intent.CHECK_LEAVE_STATUS, start);
         }
     }
-    
-    private static void handleExpenseReport(String input) {
+
+    /**
+     * Mencatat pengeluaran ke ledger (expenses.ledger) lalu konfirmasi dibuat oleh backend HRFunctions.
+     * @param amount jumlah dalam rupiah
+     */
+    @Override
+    public String submitExpenseReport(String employeeName, String category, long amount) {
+        return submitExpenseReport(data, employeeName, category, amount);
+    }
+
+    private String submitExpenseReport(DataSnapshot data, String employeeName, String category, long amount) {
         try {
-            String employeeName = extractEmployeeName(input);
-            if (employeeName == null) {
-                System.out.println("HR Agent: Siapa yang melaporkan pengeluaran?");
-                return;
+            Employee employee = data.getDirectory().findByName(employeeName);
+            if (employee == null) {
+                return "Karyawan " + capitalize(employeeName) + " tidak ditemukan.";
             }
-            
-            String category = extractExpenseCategory(input);
-            double amount = extractAmount(input);
-            
-            if (amount <= 0) {
-                System.out.println("HR Agent: Berapa jumlah pengeluaran yang ingin dilaporkan?");
-                return;
+            ExpenseLedger ledger = expenseLedger;
+            if (ledger == null) {
+                metrics.recordError(Intent.EXPENSE);
+                return "Ledger pengeluaran tidak tersedia.";
             }
-            
-            System.out.println("HR Agent: " + hrFunctions.submitExpenseReport(employeeName, category, amount));
-            
+            long persistStart = System.nanoTime();
+            try {
+                ledger.append(employee.getId(), category, LocalDate.now(), amount);
+            } catch (IOException e) {
+                metrics.recordError(Intent.EXPENSE);
+                e.printStackTrace();
+                return "Terjadi error saat menyimpan laporan pengeluaran.";
+            }
+            recordSince(Metrics.Stage.PERSISTENCE, Intent.EXPENSE, persistStart);
+
+            long callStart = System.nanoTime();
+            String result = data.getFunctions().submitExpenseReport(employeeName, category, amount);
+            recordSince(Metrics.Stage.HR_FUNCTION, Intent.EXPENSE, callStart);
+            return result;
         } catch (Exception e) {
-            System.out.println("HR Agent: Gagal memproses laporan pengeluaran: " + e.getMessage());
+            metrics.recordError(Intent.EXPENSE);
+            return "Gagal memproses laporan pengeluaran: " + e.getMessage();
         }
     }
-    
-    private static void handleLookupColleague(String input) {
+
+    /**
+     * Total pengeluaran dari total berjalan ledger (tanpa memindai ledger).
+     * @param employeeName null untuk semua karyawan
+     * @param category null untuk semua kategori
+     * @param month null untuk semua bulan
+     */
+    public String getExpenseTotal(String employeeName, String category, YearMonth month) {
+        return getExpenseTotal(data, employeeName, category, month);
+    }
+
+    private String getExpenseTotal(DataSnapshot data, String employeeName, String category, YearMonth month) {
+        long start = System.nanoTime();
         try {
-            String employeeName = extractEmployeeName(input);
-            if (employeeName == null) {
-                System.out.println("HR Agent: Informasi siapa yang ingin dicari?");
-                return;
+            String employeeId = null;
+            if (employeeName != null) {
+                Employee employee = data.getDirectory().findByName(employeeName);
+                if (employee == null) {
+                    return "Karyawan " + capitalize(employeeName) + " tidak ditemukan.";
+                }
+                employeeId = employee.getId();
+                employeeName = employee.getName();
+            }
+            ExpenseLedger ledger = expenseLedger;
+            if (ledger == null) {
+                return "Ledger pengeluaran tidak tersedia.";
+            }
+            long total = ledger.total(employeeId, category, month);
+            long count = ledger.count(employeeId, category, month);
+
+            StringBuilder scope = new StringBuilder("Total pengeluaran");
+            if (category != null) {
+                scope.append(' ').append(category);
+            }
+            scope.append(' ').append(employeeName != null ? employeeName : "seluruh karyawan");
+            if (month != null) {
+                scope.append(" bulan ").append(capitalize(SlotExtractor.monthName(month.getMonthValue())))
+                    .append(' ').append(month.getYear());
             }
-            
-            System.out.println("HR Agent: " + hrFunctions.lookupColleagueInfo(employeeName));
-            
+            return String.format("INFO: %s: Rp%,d (%d laporan).", scope, total, count);
         } catch (Exception e) {
-            System.out.println("HR Agent: Gagal mencari informasi rekan kerja: " + e.getMessage());
+            metrics.recordError(Intent.EXPENSE_TOTAL);
+            return "Gagal menghitung total pengeluaran: " + e.getMessage();
+        } finally {
+            recordSince(Metrics.Stage.LOOKUP, Intent.EXPENSE_TOTAL, start);
         }
     }
 
-    // ===================== DATA LOADING =====================
-    
-    private static void loadEmployeeData() {
-        try (BufferedReader br = new BufferedReader(new FileReader("employees.csv"))) {
-            String line;
-            boolean isFirstLine = true;
-            while ((line = br.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue; // skip header
+    /**
+     * Daftar cuti (disetujui atau menunggu persetujuan) yang beririsan dengan [from, to].
+     * @param department null untuk semua departemen
+     * @param employeeName jika diisi (dan department null): bawahan langsungnya, atau cutinya sendiri
+     *                     jika ia tidak punya bawahan
+     */
+    public String getWhoIsOut(String department, String employeeName, LocalDate from, LocalDate to) {
+        return getWhoIsOut(data, department, employeeName, from, to);
+    }
+
+    private String getWhoIsOut(DataSnapshot data, String department, String employeeName, LocalDate from,
+                               LocalDate to) {
+        long start = System.nanoTime();
+        try {
+            if (to.isBefore(from)) {
+                LocalDate swap = from;
+                from = to;
+                to = swap;
+            }
+            LeaveCalendar calendar = data.getLeaveCalendar();
+            EmployeeDirectory directory = data.getDirectory();
+            int[] entries;
+            String scope;
+            if (department != null) {
+                if (directory.countByDepartment(department) < 0) {
+                    return "Departemen " + department + " tidak ditemukan.";
                 }
-                String[] cols = line.split(",");
-                if (cols.length >= 8) {
-                    String nama = cols[1];
-                    // Store data ke map dengan key nama
-                    employeeData.put(nama.toLowerCase(), line);
+                entries = calendar.whoIsOut(department, from, to);
+                scope = "di departemen " + department;
+            } else if (employeeName != null) {
+                Employee employee = directory.findByName(employeeName);
+                if (employee == null) {
+                    return "Karyawan " + capitalize(employeeName) + " tidak ditemukan.";
                 }
-            }
-        } catch (IOException e) {
-            System.err.println("Error loading employee data: " + e.getMessage());
-        }
-    }
-    
-    private static void loadLeaveBalances() {
-        try (BufferedReader br = new BufferedReader(new FileReader("leave_balances.csv"))) {
-            String line;
-            boolean isFirstLine = true;
-            while ((line = br.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue; // skip header
+                int row = directory.rowOf(employee.getId());
+                if (directory.getOrgChart().directReportCount(row) > 0) {
+                    entries = calendar.teamOut(row, from, to);
+                    scope = "di tim " + employee.getName();
+                } else {
+                    entries = calendar.employeeOut(row, from, to);
+                    scope = "untuk " + employee.getName();
                 }
-                String[] cols = line.split(",");
-                if (cols.length >= 3) {
-                    String idKaryawan = cols[0];
-                    String tipeCuti = cols[1];
-                    int sisaHari = Integer.parseInt(cols[2]);
-                    
-                    // Cari nama karyawan berdasarkan id_karyawan
-                    String employeeName = getEmployeeNameById(idKaryawan);
-                    if (employeeName != null) {
-                        leaveBalances.computeIfAbsent(employeeName.toLowerCase(), k -> new HashMap<>())
-                                   .put(tipeCuti, sisaHari);
+            } else {
+                entries = calendar.whoIsOut(null, from, to);
+                scope = "di seluruh perusahaan";
+            }
+
+            String period = formatPeriod(from, to);
+            if (entries.length == 0) {
+                return String.format("INFO: Tidak ada yang cuti %s pada %s.", scope, period);
+            }
+            Set<Integer> people = new HashSet<>();
+            StringBuilder list = new StringBuilder();
+            for (int i = 0; i < entries.length; i++) {
+                int entry = entries[i];
+                people.add(calendar.employeeRow(entry));
+                if (i < OrgChartAnswers.MAX_LISTED) {
+                    if (i > 0) {
+                        list.append(", ");
                     }
+                    list.append(directory.all().get(calendar.employeeRow(entry)).getName())
+                        .append(" (").append(calendar.leaveType(entry)).append(' ')
+                        .append(calendar.start(entry).format(DATE_FORMAT)).append(" - ")
+                        .append(calendar.end(entry).format(DATE_FORMAT)).append(", ")
+                        .append(calendar.status(entry)).append(')');
                 }
             }
-        } catch (IOException e) {
-            System.err.println("Error loading leave balances: " + e.getMessage());
+            if (entries.length > OrgChartAnswers.MAX_LISTED) {
+                list.append(", dan ").append(entries.length - OrgChartAnswers.MAX_LISTED).append(" pengajuan lainnya");
+            }
+            return String.format("INFO: Yang cuti %s pada %s (%d orang): %s.", scope, period, people.size(), list);
+        } catch (Exception e) {
+            metrics.recordError(Intent.WHO_IS_OUT);
+            return "Gagal membaca kalender cuti: " + e.getMessage();
+        } finally {
+            recordSince(Metrics.Stage.LOOKUP, Intent.WHO_IS_OUT, start);
         }
     }
-    
-    private static String getEmployeeNameById(String id) {
-        for (Map.Entry<String, String> entry : employeeData.entrySet()) {
-            String[] cols = entry.getValue().split(",");
-            if (cols.length > 0 && cols[0].equals(id)) {
-                return cols[1]; // return nama
-            }
+
+    private static String formatPeriod(LocalDate from, LocalDate to) {
+        return from.equals(to) ? from.format(DATE_FORMAT) : from.format(DATE_FORMAT) + " - " + to.format(DATE_FORMAT);
+    }
+
+    @Override
+    public String lookupColleagueInfo(String colleagueName) {
+        long start = System.nanoTime();
+        try {
+            return data.getFunctions().lookupColleagueInfo(colleagueName);
+        } catch (Exception e) {
+            metrics.recordError(Intent.LOOKUP_COLLEAGUE);
+            return "Gagal mencari informasi rekan kerja: " + e.getMessage();
+        } finally {
+            recordSince(Metrics.Stage.HR_FUNCTION, Intent.LOOKUP_COLLEAGUE, start);
         }
-        return null;
     }
 
-    private static String getEmployeeIdByName(String name) {
-        for (Map.Entry<String, String> entry : employeeData.entrySet()) {
-            String[] cols = entry.getValue().split(",");
-            if (cols.length > 1 && cols[1].equalsIgnoreCase(name.trim())) {
-                return cols[0]; // return id_karyawan
-            }
+    @Override
+    public String listDirectReports(String managerName) {
+        return orgChartQuery(Intent.DIRECT_REPORTS, () -> data.getFunctions().listDirectReports(managerName));
+    }
+
+    @Override
+    public String listTeamMembers(String managerName) {
+        return orgChartQuery(Intent.TEAM_MEMBERS, () -> data.getFunctions().listTeamMembers(managerName));
+    }
+
+    @Override
+    public String getChainOfCommand(String employeeName) {
+        return orgChartQuery(Intent.CHAIN_OF_COMMAND, () -> data.getFunctions().getChainOfCommand(employeeName));
+    }
+
+    @Override
+    public String countTeamMembers(String managerOrDepartment) {
+        return orgChartQuery(Intent.TEAM_HEADCOUNT, () -> data.getFunctions().countTeamMembers(managerOrDepartment));
+    }
+
+    private String orgChartQuery(Intent intent, Supplier<String> query) {
+        long start = System.nanoTime();
+        try {
+            return query.get();
+        } catch (Exception e) {
+            metrics.recordError(intent);
+            return "Gagal membaca struktur organisasi: " + e.getMessage();
+        } finally {
+            recordSince(Metrics.Stage.HR_FUNCTION, intent, start);
         }
-        return null;
     }
 
-    // ===================== DATA LOOKUP FUNCTIONS =====================
+    /**
+     * Appender group commit untuk satu file CSV; append sendiri dicatat sebagai tulisan sendiri
+     * sehingga watcher tidak memuat ulang file tsb.
+     */
+    private GroupCommitAppender openAppender(String fileName) throws IOException {
+        // Jika file sempat diubah dari luar sebelum batch ditulis, biarkan reload yang menangkapnya.
+        // Versi yang tidak bisa dibaca: stamp dilupakan sehingga perubahan berikutnya memicu reload
+        return new GroupCommitAppender(dataDir.resolve(fileName), fsyncPolicy, GROUP_COMMIT_DELAY_MILLIS,
+            (before, after) -> {
+                if (before == null || after == null) {
+                    knownStamps.remove(fileName);
+                } else {
+                    knownStamps.replace(fileName, before, after);
+                }
+            });
+    }
 
-    private static String getManagerInfo(String employeeName) {
-        String employeeData = HRAgentApp.employeeData.get(employeeName.toLowerCase().trim());
-        if (employeeData == null) {
-            return "Karyawan " + capitalize(employeeName) + " tidak ditemukan.";
+    // Baris yang masih di antrean ditulis dulu sebelum file dibaca ulang
+    private static void flushAppends(GroupCommitAppender appender) throws IOException {
+        if (appender != null) {
+            appender.flush();
         }
-        
-        String[] cols = employeeData.split(",");
-        if (cols.length < 6) {
-            return "Data karyawan tidak lengkap.";
+    }
+
+    /**
+     * Append gagal setelah struktur in-memory diperbarui: semuanya dimuat ulang dari file.
+     */
+    private void resyncFromFile(String fileName) {
+        knownStamps.remove(fileName);
+        reload(fileName);
+    }
+
+    // ===================== DATA LOADING =====================
+    
+    /**
+     * Memuat semua file CSV dari direktori data dan menyiapkan backend HRFunctions.
+     * Keempat file dibaca bersamaan (file besar juga dipotong dan di-parse paralel, lihat
+     * {@link ParallelCsv}); join id karyawan ke baris dilakukan sekali setelah semuanya selesai.
+     */
+    public void load() {
+        CompletableFuture<EmployeeDirectory> employees = loadAsync("employee data", this::loadEmployees);
+        try {
+            if (leaveRequestAppender == null) {
+                leaveRequestAppender = openAppender("leave_requests.csv");
+                reviewAppender = openAppender("performance_reviews.csv");
+            }
+        } catch (IOException e) {
+            System.err.println("Error membuka file data untuk append: " + e.getMessage());
         }
-        
-        String idManajer = cols[5].trim();
-        if (idManajer.isEmpty()) {
-            return capitalize(employeeName) + " adalah direktur utama (tidak memiliki manajer).";
+        // Snapshot CSV + replay WAL; perubahan berikutnya dicatat ke WAL
+        CompletableFuture<LeaveBalanceStore> balances = loadAsync("leave balances",
+            () -> LeaveBalanceStore.open(dataDir.resolve("leave_balances.csv"),
+                dataDir.resolve("leave_balances.wal"), fsyncPolicy));
+        CompletableFuture<List<HRDataStore.LeaveRequestChunk>> requests =
+            loadAsync("leave requests", this::loadLeaveRequests);
+        CompletableFuture<List<HRDataStore.ReviewChunk>> reviews =
+            loadAsync("performance reviews", this::loadReviews);
+
+        CompletableFuture<List<LeaveCalendar.Chunk>> calendar = loadAsync("leave calendar",
+            () -> LeaveCalendar.parse(dataDir.resolve("leave_requests.csv")));
+        CompletableFuture<WorkingDayCalendar> holidays = loadAsync("holidays", this::loadHolidays);
+        CompletableFuture<List<ReviewScheduler.Chunk>> bookings = loadAsync("review schedule",
+            () -> ReviewScheduler.parse(dataDir.resolve("performance_reviews.csv")));
+        CompletableFuture<ExpenseLedger> expenses = expenseLedger != null ? null
+            : loadAsync("expense ledger", () -> ExpenseLedger.open(dataDir.resolve("expenses.ledger"), fsyncPolicy));
+
+        LeaveBalanceStore balanceStore = balances.join();
+        if (balanceStore != null) {
+            refundOrphanDeductions(balanceStore);
+            leaveBalances = balanceStore;
+            leaveBalances.startCompactor(compactIntervalSeconds);
         }
-        
-        String managerName = getEmployeeNameById(idManajer);;
-        if (managerName != null) {
-            return "Manajer " + capitalize(employeeName) + " adalah " + managerName + ".";
-        } else {
-            return "Data manajer untuk " + capitalize(employeeName) + " tidak ditemukan.";
+        if (expenses != null) {
+            expenseLedger = expenses.join();
+        }
+        WorkingDayCalendar holidayCalendar = holidays.join();
+        if (holidayCalendar != null) {
+            workingDays = holidayCalendar;
+        }
+        EmployeeDirectory directory = employees.join();
+        if (directory == null) {
+            directory = data.getDirectory();
         }
+        List<LeaveCalendar.Chunk> calendarChunks = calendar.join();
+        LeaveCalendar leaveCalendar = LeaveCalendar.build(directory,
+            calendarChunks != null ? calendarChunks : Collections.<LeaveCalendar.Chunk>emptyList());
+        List<ReviewScheduler.Chunk> bookingChunks = bookings.join();
+        ReviewScheduler reviewScheduler = ReviewScheduler.build(directory,
+            bookingChunks != null ? bookingChunks : Collections.<ReviewScheduler.Chunk>emptyList());
+        HRFunctions functions = createHRFunctions(directory, requests.join(), reviews.join());
+        synchronized (leaveRequestFileLock) {
+            synchronized (reviewFileLock) {
+                data = new DataSnapshot(directory, functions, leaveCalendar, reviewScheduler);
+            }
+        }
+        // Jawaban lama bisa merujuk data sebelum dimuat ulang
+        responseCache.clear();
     }
 
-    private static String getLeaveBalanceInfo(String employeeName) {
-        Map<String, Integer> balances = leaveBalances.get(employeeName.toLowerCase());
-        if (balances == null || balances.isEmpty()) {
-            return "Data sisa cuti untuk " + capitalize(employeeName) + " tidak ditemukan.";
+    /**
+     * Potongan sisa cuti yang sudah ada di WAL/snapshot tetapi barisnya tidak ada di leave_requests.csv
+     * (crash sebelum baris tersimpan) dikembalikan. Jika file tidak bisa dibaca, tidak ada yang dikembalikan.
+     */
+    private void refundOrphanDeductions(LeaveBalanceStore store) {
+        Set<String> unconfirmed = store.unconfirmedRequests();
+        if (unconfirmed.isEmpty()) {
+            return;
         }
-        
-        StringBuilder result = new StringBuilder("Sisa cuti " + capitalize(employeeName) + ":\n");
-        for (Map.Entry<String, Integer> entry : balances.entrySet()) {
-            result.append("- ").append(entry.getKey()).append(": ").append(entry.getValue()).append(" hari\n");
+        Path file = dataDir.resolve("leave_requests.csv");
+        Set<String> persisted = new HashSet<>();
+        if (Files.exists(file)) {
+            try (CsvReader reader = CsvReader.open(file)) {
+                reader.next(); // header
+                while (reader.next()) {
+                    LeaveRequest request = LeaveRequest.fromRow(reader);
+                    if (request != null && unconfirmed.contains(request.getRequestId())) {
+                        persisted.add(request.getRequestId());
+                    }
+                }
+            } catch (IOException | UncheckedIOException e) {
+                System.err.println("Error memeriksa potongan sisa cuti terhadap leave_requests.csv: "
+                    + e.getMessage());
+                return;
+            }
+        }
+        int refunded = store.refundOrphans(persisted);
+        if (refunded > 0) {
+            System.err.println("Sisa cuti dikembalikan untuk " + refunded
+                + " pengajuan yang tidak tersimpan di leave_requests.csv");
         }
-        return result.toString().trim();
     }
 
-    private static String getDepartmentInfo(String employeeName) {
-        String employeeData = HRAgentApp.employeeData.get(employeeName.toLowerCase());
-        if (employeeData == null) {
-            return "Karyawan " + capitalize(employeeName) + " tidak ditemukan.";
+    private interface Loader<T> {
+        T load() throws IOException;
+    }
+
+    // Error dicetak dan hasilnya null, sama seperti file yang gagal dimuat secara berurutan
+    private static <T> CompletableFuture<T> loadAsync(String what, Loader<T> loader) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return loader.load();
+            } catch (IOException | UncheckedIOException e) {
+                System.err.println("Error loading " + what + ": " + e.getMessage());
+                return null;
+            }
+        });
+    }
+
+    // Stamp diambil sebelum file dibaca: perubahan selama pembacaan tetap memicu reload berikutnya
+    private EmployeeDirectory loadEmployees() throws IOException {
+        Path file = dataDir.resolve("employees.csv");
+        FileStamp stamp = FileStamp.of(file);
+        EmployeeDirectory directory = EmployeeDirectory.load(file.toString());
+        knownStamps.put("employees.csv", stamp);
+        return directory;
+    }
+
+    private WorkingDayCalendar loadHolidays() throws IOException {
+        Path file = dataDir.resolve("holidays.csv");
+        FileStamp stamp = FileStamp.of(file);
+        WorkingDayCalendar calendar = WorkingDayCalendar.load(file);
+        knownStamps.put("holidays.csv", stamp);
+        return calendar;
+    }
+
+    /**
+     * Backend store: hanya mem-parse file (join ke karyawan dilakukan di createHRFunctions).
+     * Backend mock: membangun LeaveRequestIndex dan mengembalikan null.
+     */
+    private List<HRDataStore.LeaveRequestChunk> loadLeaveRequests() throws IOException {
+        Path file = dataDir.resolve("leave_requests.csv");
+        FileStamp stamp = FileStamp.of(file);
+        List<HRDataStore.LeaveRequestChunk> chunks = null;
+        if (backend == Backend.STORE) {
+            chunks = HRDataStore.parseLeaveRequests(file);
+        } else {
+            leaveRequestIndex = LeaveRequestIndex.load(file.toString());
         }
-        
-        String[] cols = employeeData.split(",");
-        if (cols.length < 5) {
-            return "Data departemen tidak tersedia.";
+        leaveRequestIds = IdAllocator.seed(file, "LR", 3);
+        knownStamps.put("leave_requests.csv", stamp);
+        return chunks;
+    }
+
+    private List<HRDataStore.ReviewChunk> loadReviews() throws IOException {
+        Path file = dataDir.resolve("performance_reviews.csv");
+        FileStamp stamp = FileStamp.of(file);
+        List<HRDataStore.ReviewChunk> chunks = backend == Backend.STORE ? HRDataStore.parseReviews(file) : null;
+        reviewIds = IdAllocator.seed(file, "PR", 2);
+        knownStamps.put("performance_reviews.csv", stamp);
+        return chunks;
+    }
+
+    /**
+     * @param requests hasil parse leave_requests.csv, atau null untuk membacanya ulang dari file
+     * @param reviews hasil parse performance_reviews.csv, atau null untuk membacanya ulang dari file
+     */
+    private HRFunctions createHRFunctions(EmployeeDirectory directory, List<HRDataStore.LeaveRequestChunk> requests,
+                                          List<HRDataStore.ReviewChunk> reviews) {
+        if (backend == Backend.STORE) {
+            try {
+                return new StoreHRFunctions(HRDataStore.build(directory.all(),
+                    requests != null ? requests : HRDataStore.parseLeaveRequests(dataDir.resolve("leave_requests.csv")),
+                    reviews != null ? reviews : HRDataStore.parseReviews(dataDir.resolve("performance_reviews.csv"))));
+            } catch (IOException | UncheckedIOException e) {
+                System.err.println("Error loading HR data store, memakai backend mock: " + e.getMessage());
+                try {
+                    leaveRequestIndex = LeaveRequestIndex.load(dataDir.resolve("leave_requests.csv").toString());
+                } catch (IOException | UncheckedIOException e2) {
+                    System.err.println("Error loading leave requests: " + e2.getMessage());
+                }
+            }
         }
-        
-        return capitalize(employeeName) + " bekerja di departemen " + cols[4] + ".";
+        return new MockHRFunctions(dataDir, directory, leaveRequestIndex);
     }
 
-    private static String getJobInfo(String employeeName) {
-        String employeeData = HRAgentApp.employeeData.get(employeeName.toLowerCase());
-        if (employeeData == null) {
-            return "Karyawan " + capitalize(employeeName) + " tidak ditemukan.";
+    // Baris kalender merujuk ke direktori karyawan, jadi dibangun ulang dari file setelah salah satunya berubah
+    private LeaveCalendar buildLeaveCalendar(EmployeeDirectory directory) throws IOException {
+        return LeaveCalendar.build(directory, LeaveCalendar.parse(dataDir.resolve("leave_requests.csv")));
+    }
+
+    private ReviewScheduler buildReviewScheduler(EmployeeDirectory directory) throws IOException {
+        return ReviewScheduler.build(directory, ReviewScheduler.parse(dataDir.resolve("performance_reviews.csv")));
+    }
+
+    // ===================== HOT RELOAD =====================
+
+    /**
+     * Memantau direktori data; file yang diubah dari luar dimuat ulang di thread latar belakang.
+     */
+    public void startWatching() {
+        try {
+            watcher = new DataWatcher(dataDir, new HashSet<>(Arrays.asList(DATA_FILES)),
+                RELOAD_DEBOUNCE_MILLIS, this::reload);
+            watcher.start();
+        } catch (IOException e) {
+            System.err.println("Error memantau direktori data: " + e.getMessage());
         }
-        
-        String[] cols = employeeData.split(",");
-        if (cols.length < 4) {
-            return "Data jabatan tidak tersedia.";
+    }
+
+    /**
+     * Memuat ulang satu file data jika isinya berubah dari luar (bukan tulisan aplikasi sendiri).
+     * Struktur baru dibangun terpisah lalu dipublikasikan dengan satu penukaran referensi volatile
+     * ({@link DataSnapshot}), sehingga pembaca tidak pernah menunggu atau melihat data yang setengah
+     * dimuat, termasuk direktori baru dengan kalender atau penjadwal lama.
+     */
+    public void reload(String fileName) {
+        long start = System.nanoTime();
+        try {
+            String summary;
+            switch (fileName) {
+                case "employees.csv":
+                    summary = reloadEmployees();
+                    break;
+                case "leave_balances.csv":
+                    summary = reloadLeaveBalances();
+                    break;
+                case "leave_requests.csv":
+                    summary = reloadLeaveRequests();
+                    break;
+                case "performance_reviews.csv":
+                    summary = reloadReviews();
+                    break;
+                case "holidays.csv":
+                    summary = reloadHolidays();
+                    break;
+                default:
+                    return;
+            }
+            if (summary != null) {
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+                System.err.println("Reload " + fileName + ": " + summary + " dalam " + elapsedMs + " ms");
+            }
+        } catch (IOException e) {
+            System.err.println("Error memuat ulang " + fileName + ": " + e.getMessage());
         }
-        
-        return capitalize(employeeName) + " memiliki jabatan " + cols[3] + ".";
     }
 
-    private static String getEmployeeStatus(String employeeName) {
-        String employeeData = HRAgentApp.employeeData.get(employeeName.toLowerCase());
-        if (employeeData == null) {
-            return "Karyawan " + capitalize(employeeName) + " tidak ditemukan.";
+    private boolean changedExternally(String fileName) throws IOException {
+        return !FileStamp.of(dataDir.resolve(fileName)).equals(knownStamps.get(fileName));
+    }
+
+    private String reloadEmployees() throws IOException {
+        if (!changedExternally("employees.csv")) {
+            return null;
         }
-        
-        String[] cols = employeeData.split(",");
-        if (cols.length < 8) {
-            return "Data status tidak tersedia.";
+        EmployeeDirectory directory = loadEmployees();
+        // Semua yang merujuk baris direktori dibangun dengan kedua file terkunci supaya tidak ada append
+        // yang terlewat, lalu ditukar bersama direktorinya
+        synchronized (leaveRequestFileLock) {
+            synchronized (reviewFileLock) {
+                flushAppends(leaveRequestAppender);
+                flushAppends(reviewAppender);
+                data = new DataSnapshot(directory, createHRFunctions(directory, null, null),
+                    buildLeaveCalendar(directory), buildReviewScheduler(directory));
+            }
         }
-        
-        return "Status " + capitalize(employeeName) + " adalah " + cols[7] + ".";
+        responseCache.clear();
+        return directory.size() + " karyawan";
     }
 
-    private static String getEmailInfo(String employeeName) {
-        String employeeData = HRAgentApp.employeeData.get(employeeName.toLowerCase());
-        if (employeeData == null) {
-            return "Karyawan " + capitalize(employeeName) + " tidak ditemukan.";
+    private String reloadLeaveBalances() throws IOException {
+        int employees = leaveBalances.reloadIfChanged();
+        if (employees < 0) {
+            return null;
         }
-        
-        String[] cols = employeeData.split(",");
-        if (cols.length < 3) {
-            return "Data email tidak tersedia.";
-        }
-        
-        return "Email " + capitalize(employeeName) + " adalah " + cols[2] + ".";
+        responseCache.clear();
+        return employees + " karyawan dengan sisa cuti";
     }
 
-    // ===================== PARSING FUNCTIONS =====================
-    
-    private static String extractEmployeeName(String input) {
-        String lowerInput = input.toLowerCase().trim();
-
-        // Loop semua nama dari employeeData
-        for (String record : employeeData.values()) {
-            String[] cols = record.split(",");
-            if (cols.length >= 6) {
-                String fullName = cols[1].toLowerCase().trim();
-
-                // Kalau input mengandung nama lengkap karyawan
-                if (lowerInput.contains(fullName)) {
-                    return capitalize(fullName);
+    private String reloadLeaveRequests() throws IOException {
+        // Append pengajuan dan review baru ditahan selama reload supaya tidak ada yang hilang
+        synchronized (leaveRequestFileLock) {
+            synchronized (reviewFileLock) {
+                flushAppends(leaveRequestAppender);
+                if (!changedExternally("leave_requests.csv")) {
+                    return null;
                 }
-
-                // Kalau input hanya mengandung nama depan
-                String firstName = fullName.split("\\s+")[0];
-                if (lowerInput.contains(firstName)) {
-                    return capitalize(fullName);
+                List<HRDataStore.LeaveRequestChunk> chunks = loadLeaveRequests();
+                if (leaveRequestAppender != null) {
+                    leaveRequestAppender.reopen();
                 }
+                flushAppends(reviewAppender);
+                DataSnapshot current = data;
+                DataSnapshot reloaded = current.with(createHRFunctions(current.getDirectory(), chunks, null),
+                    buildLeaveCalendar(current.getDirectory()), null);
+                data = reloaded;
+                HRDataStore store = reloaded.dataStore();
+                return (store != null ? store.leaveRequestCount() : leaveRequestIndex.recordedCount())
+                    + " pengajuan cuti";
             }
         }
-
-        return null;
     }
 
-    private static String extractFirstEmployeeName(String input) {
-        String lowerInput = input.toLowerCase().trim();
-        String bestMatch = null;
-        int earliestIndex = Integer.MAX_VALUE;
-
-        for (String record : employeeData.values()) {
-            String[] cols = record.split(",");
-            if (cols.length >= 6) {
-                String fullName = cols[1].toLowerCase().trim();
+    private String reloadHolidays() throws IOException {
+        if (!changedExternally("holidays.csv")) {
+            return null;
+        }
+        WorkingDayCalendar calendar = loadHolidays();
+        workingDays = calendar;
+        return calendar.fileHolidayCount() + " hari libur";
+    }
 
-                int idx = lowerInput.indexOf(fullName);
-                if (idx != -1 && idx < earliestIndex) {
-                    earliestIndex = idx;
-                    bestMatch = capitalize(fullName);
+    private String reloadReviews() throws IOException {
+        synchronized (leaveRequestFileLock) {
+            synchronized (reviewFileLock) {
+                flushAppends(reviewAppender);
+                if (!changedExternally("performance_reviews.csv")) {
+                    return null;
                 }
-
-                String firstName = fullName.split("\\s+")[0];
-                idx = lowerInput.indexOf(firstName);
-                if (idx != -1 && idx < earliestIndex) {
-                    earliestIndex = idx;
-                    bestMatch = capitalize(fullName);
+                List<HRDataStore.ReviewChunk> chunks = loadReviews();
+                if (reviewAppender != null) {
+                    reviewAppender.reopen();
                 }
+                flushAppends(leaveRequestAppender);
+                DataSnapshot current = data;
+                DataSnapshot reloaded = current.with(createHRFunctions(current.getDirectory(), null, chunks),
+                    null, buildReviewScheduler(current.getDirectory()));
+                data = reloaded;
+                HRDataStore store = reloaded.dataStore();
+                return store != null
+                    ? store.reviewCount() + " review performa"
+                    : "id review terakhir " + reviewIds.lastIssued();
             }
         }
-        return bestMatch;
     }
 
-    
-    private static String extractLeaveType(String input) {
-        String lowerInput = input.toLowerCase();
-        
-        if (lowerInput.contains("sakit") || lowerInput.contains("illness")) {
-            return "Sakit";
-        } else if (lowerInput.contains("tahunan") || lowerInput.contains("annual") || 
-                  lowerInput.contains("libur") || lowerInput.contains("vacation")) {
-            return "Tahunan";
-        } else if (lowerInput.contains("melahirkan") || lowerInput.contains("maternity")) {
-            return "Cuti Melahirkan";
-        } else {
-            return "Tahunan"; // default
+    // ===================== METRIK =====================
+
+    /**
+     * Mencetak metrik ke stderr setiap intervalSeconds detik (dan sekali lagi saat close).
+     */
+    public synchronized void startMetricsDump(long intervalSeconds) {
+        if (metricsDumper != null) {
+            return;
         }
+        metricsDumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        metricsDumper.scheduleAtFixedRate(() -> System.err.print(metrics.render()),
+            intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
     }
-    
-    private static LocalDate[] extractDates(String input) {
-        LocalDate[] dates = new LocalDate[2];
-        String lowerInput = input.toLowerCase();
-        
-        // Pattern: "dari 1-5 januari" atau "1 sampai 5 januari"
-        Pattern dateRangePattern = Pattern.compile("(\\d{1,2})\\s*(?:-|sampai|hingga|to)\\s*(\\d{1,2})\\s+(\\w+)");
-        java.util.regex.Matcher matcher = dateRangePattern.matcher(lowerInput);
-        
-        if (matcher.find()) {
-            int startDay = Integer.parseInt(matcher.group(1));
-            int endDay = Integer.parseInt(matcher.group(2));
-            String monthName = matcher.group(3);
-            
-            int month = parseMonthName(monthName);
-            int year = LocalDate.now().getYear(); // default tahun sekarang
-            
+
+    /**
+     * Menulis snapshot sisa cuti terakhir dan menutup WAL.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (metricsDumper != null) {
+                metricsDumper.shutdownNow();
+                metricsDumper = null;
+                System.err.print(metrics.render());
+            }
+        }
+        try {
+            if (watcher != null) {
+                watcher.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Error menutup watcher: " + e.getMessage());
+        }
+        for (GroupCommitAppender appender : new GroupCommitAppender[] {leaveRequestAppender, reviewAppender}) {
             try {
-                dates[0] = LocalDate.of(year, month, startDay);
-                dates[1] = LocalDate.of(year, month, endDay);
-                return dates;
-            } catch (Exception e) {
-                // Invalid date
+                if (appender != null) {
+                    appender.close();
+                }
+            } catch (IOException e) {
+                System.err.println("Error menutup file data: " + e.getMessage());
             }
         }
-        
-        LocalDate singleDate = extractSingleDate(input);
-        if (singleDate != null) {
-            dates[0] = singleDate;
-            dates[1] = singleDate.plusDays(1); // default satu hari
-            return dates;
+        try {
+            leaveBalances.close();
+        } catch (IOException e) {
+            System.err.println("Error menutup data sisa cuti: " + e.getMessage());
         }
-        
-        if (lowerInput.contains("besok") || lowerInput.contains("tomorrow")) {
-            System.out.println(lowerInput);
-            dates[0] = LocalDate.now().plusDays(1);
-            dates[1] = dates[0].plusDays(1);
-            return dates;
-        } else if (lowerInput.contains("hari ini") || lowerInput.contains("today")) {
-            dates[0] = LocalDate.now();
-            dates[1] = dates[0].plusDays(1);
-            return dates;
+        try {
+            if (expenseLedger != null) {
+                expenseLedger.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Error menutup ledger pengeluaran: " + e.getMessage());
         }
-
-        return dates;
     }
-    
-    private static LocalDate extractSingleDate(String input) {
-        String lowerInput = input.toLowerCase();
-        
-        // Pattern: "1 januari" atau "15 agustus"
-        Pattern singleDatePattern = Pattern.compile("(\\d{1,2})\\s+(\\w+)");
-        java.util.regex.Matcher matcher = singleDatePattern.matcher(lowerInput);
+
+    // ===================== DATA LOOKUP FUNCTIONS =====================
+
+    private String getManagerInfo(DataSnapshot data, String employeeName) {
+        Employee employee = data.getDirectory().findByName(employeeName);
+        if (employee == null) {
+            return "Karyawan " + capitalize(employeeName) + " tidak ditemukan.";
+        }
         
-        if (matcher.find()) {
-            int day = Integer.parseInt(matcher.group(1));
-            String monthName = matcher.group(2);
-            
-            int month = parseMonthName(monthName);
-            int year = LocalDate.now().getYear(); // default tahun sekarang
-            
-            try {
-                return LocalDate.of(year, month, day);
-            } catch (Exception e) {
-                return null;
-            }
+        if (!employee.hasManager()) {
+            return capitalize(employeeName) + " adalah direktur utama (tidak memiliki manajer).";
         }
         
-        return null;
+        Employee manager = data.getDirectory().findManager(employee);
+        if (manager != null) {
+            return "Manajer " + capitalize(employeeName) + " adalah " + manager.getName() + ".";
+        } else {
+            return "Data manajer untuk " + capitalize(employeeName) + " tidak ditemukan.";
+        }
     }
-    
-    private static int parseMonthName(String monthName) {
-        String[] months = {"januari", "februari", "maret", "april", "mei", "juni",
-                          "juli", "agustus", "september", "oktober", "november", "desember"};
-        
-        for (int i = 0; i < months.length; i++) {
-            if (months[i].startsWith(monthName) || monthName.startsWith(months[i])) {
-                return i + 1;
-            }
+
+    private String getLeaveBalanceInfo(DataSnapshot data, String employeeName) {
+        Employee employee = data.getDirectory().findByName(employeeName);
+        Map<String, Integer> balances = employee != null ? leaveBalances.snapshot(employee.getId()) : null;
+        if (balances == null || balances.isEmpty()) {
+            return "Data sisa cuti untuk " + capitalize(employeeName) + " tidak ditemukan.";
         }
         
-        // Bulan dalam bahasa Inggris
-        String[] englishMonths = {"january", "february", "march", "april", "may", "june",
-                                 "july", "august", "september", "october", "november", "december"};
-        
-        for (int i = 0; i < englishMonths.length; i++) {
-            if (englishMonths[i].startsWith(monthName) || monthName.startsWith(englishMonths[i])) {
-                return i + 1;
-            }
+        StringBuilder result = new StringBuilder("Sisa cuti " + capitalize(employeeName) + ":\n");
+        for (Map.Entry<String, Integer> entry : balances.entrySet()) {
+            result.append("- ").append(entry.getKey()).append(": ").append(entry.getValue()).append(" hari\n");
         }
-        
-        return LocalDate.now().getMonthValue(); // default bulan sekarang
+        return result.toString().trim();
     }
-    
-    private static String extractReviewerName(String input) {
-        String lowerInput = input.toLowerCase();
-        
-        // cari pola "dengan [nama]" atau "by [nama]" atau "oleh [nama]"
-        Pattern reviewerPattern = Pattern.compile("(?:dengan|by|oleh)\\s+(\\w+\\s+\\w+)");
-        java.util.regex.Matcher matcher = reviewerPattern.matcher(lowerInput);
-        
-        if (matcher.find()) {
-            return matcher.group(1);
+
+    private String getDepartmentInfo(DataSnapshot data, String employeeName) {
+        Employee employee = data.getDirectory().findByName(employeeName);
+        if (employee == null) {
+            return "Karyawan " + capitalize(employeeName) + " tidak ditemukan.";
         }
         
-        return null;
+        return capitalize(employeeName) + " bekerja di departemen " + employee.getDepartment() + ".";
     }
-    
-    private static String extractExpenseCategory(String input) {
-        String lowerInput = input.toLowerCase();
-        
-        if (lowerInput.contains("transport") || lowerInput.contains("transportasi") || 
-            lowerInput.contains("ongkos") || lowerInput.contains("taksi") || lowerInput.contains("grab")) {
-            return "Transportasi";
-        } else if (lowerInput.contains("makan") || lowerInput.contains("food") || 
-                  lowerInput.contains("restoran") || lowerInput.contains("lunch")) {
-            return "Makanan";
-        } else if (lowerInput.contains("hotel") || lowerInput.contains("penginapan") || 
-                  lowerInput.contains("akomodasi")) {
-            return "Akomodasi";
-        } else if (lowerInput.contains("komunikasi") || lowerInput.contains("telepon") || 
-                  lowerInput.contains("internet") || lowerInput.contains("data")) {
-            return "Komunikasi";
-        } else if (lowerInput.contains("alat") || lowerInput.contains("peralatan") || 
-                  lowerInput.contains("stationery") || lowerInput.contains("kantor")) {
-            return "Peralatan Kantor";
-        } else {
-            return "Lain-lain";
+
+    private String getJobInfo(DataSnapshot data, String employeeName) {
+        Employee employee = data.getDirectory().findByName(employeeName);
+        if (employee == null) {
+            return "Karyawan " + capitalize(employeeName) + " tidak ditemukan.";
         }
+        
+        return capitalize(employeeName) + " memiliki jabatan " + employee.getPosition() + ".";
     }
-    
-    private static double extractAmount(String input) {
-        // Cari pola angka dengan atau tanpa "Rp", koma/desimal, kata ribu/juta/k/m
-        Pattern amountPattern = Pattern.compile("(?:rp\\s*)?(\\d+(?:[.,]\\d+)?)\\s*(?:ribu|juta|k|m)?", Pattern.CASE_INSENSITIVE);
-        java.util.regex.Matcher matcher = amountPattern.matcher(input);
+
+    private String getEmployeeStatus(DataSnapshot data, String employeeName) {
+        Employee employee = data.getDirectory().findByName(employeeName);
+        if (employee == null) {
+            return "Karyawan " + capitalize(employeeName) + " tidak ditemukan.";
+        }
         
-        if (matcher.find()) {
-            try {
-                double amount = Double.parseDouble(matcher.group(1).replace(",", "."));
-                
-                // Cek untuk "ribu", "juta", "k", "m"
-                String fullMatch = matcher.group(0).toLowerCase();
-                if (fullMatch.contains("juta") || fullMatch.contains("m")) {
-                    amount *= 1000000;
-                } else if (fullMatch.contains("ribu") || fullMatch.contains("k")) {
-                    amount *= 1000;
-                }
-                
-                return amount;
-            } catch (NumberFormatException e) {
-                return 0;
-            }
+        return "Status " + capitalize(employeeName) + " adalah " + employee.getStatus() + ".";
+    }
+
+    private String getEmailInfo(DataSnapshot data, String employeeName) {
+        Employee employee = data.getDirectory().findByName(employeeName);
+        if (employee == null) {
+            return "Karyawan " + capitalize(employeeName) + " tidak ditemukan.";
         }
         
-        return 0;
+        return "Email " + capitalize(employeeName) + " adalah " + employee.getEmail() + ".";
+    }
+
+    // ===================== PARSING FUNCTIONS =====================
+    
+    private String employeeName(IntentResult request) {
+        // Slot nama sudah diisi classifier (penyebutan paling awal/terpanjang)
+        Employee employee = request.getEmployee();
+        return employee != null ? capitalize(employee.getLowerName()) : null;
     }
 
     // ===================== UTIL =====================
 
-    private static String capitalize(String s) {
+    static String capitalize(String s) {
         if (s == null || s.isEmpty()) {
             return s;
         }
@@ -0,0 +1,461 @@
+package com.hr.agent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Penyimpanan data HR in-process berbentuk kolom (columnar).
+ * Karyawan (dari {@link EmployeeDirectory}), leave_requests.csv dan performance_reviews.csv
+ * dimuat sekali ke array per kolom;
+ * kolom bernilai sedikit (departemen, jabatan, status, tipe cuti) di-dictionary-encode menjadi int,
+ * dan tanggal disimpan sebagai epoch day. Baris dirujuk lewat nomor baris (int).
+ *
+ * Tabel karyawan immutable setelah dimuat. Tabel pengajuan cuti dan review bisa ditambah
+ * (append) satu penulis pada satu waktu; pembaca tidak memakai lock karena jumlah baris
+ * (dan pengajuan terakhir per karyawan) dipublikasikan lewat write volatile setelah isi barisnya
+ * selesai ditulis.
+ */
+public class HRDataStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final StringDictionary departments = new StringDictionary();
+    private final StringDictionary positions = new StringDictionary();
+    private final StringDictionary employeeStatuses = new StringDictionary();
+    private final StringDictionary leaveTypes = new StringDictionary();
+    private final StringDictionary requestStatuses = new StringDictionary();
+    private final StringDictionary reviewStatuses = new StringDictionary();
+
+    // ===================== KARYAWAN =====================
+
+    private int employeeCount;
+    private String[] employeeIds = new String[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[] emails = new String[INITIAL_CAPACITY];
+    private int[] positionCodes = new int[INITIAL_CAPACITY];
+    private int[] departmentCodes = new int[INITIAL_CAPACITY];
+    private int[] managerRows = new int[INITIAL_CAPACITY];
+    private int[] joinDays = new int[INITIAL_CAPACITY];
+    private int[] statusCodes = new int[INITIAL_CAPACITY];
+    // Jumlah karyawan per kode departemen dan hierarki atasan-bawahan
+    private int[] departmentHeadcounts = new int[0];
+    private OrgChart orgChart = new OrgChart(new int[0]);
+
+    private final Map<String, Integer> employeeRowById = new HashMap<>();
+    // Nama lengkap lowercase -> baris pertama dengan nama tsb (sama seperti scan berurutan)
+    private final Map<String, Integer> employeeRowByName = new HashMap<>();
+
+    // ===================== PENGAJUAN CUTI =====================
+
+    private final Object leaveRequestLock = new Object();
+    private volatile int leaveRequestCount;
+    private String[] requestIds = new String[INITIAL_CAPACITY];
+    private int[] requestEmployeeRows = new int[INITIAL_CAPACITY];
+    private int[] requestTypeCodes = new int[INITIAL_CAPACITY];
+    private int[] requestStartDays = new int[INITIAL_CAPACITY];
+    private int[] requestEndDays = new int[INITIAL_CAPACITY];
+    private int[] requestStatusCodes = new int[INITIAL_CAPACITY];
+    // Baris karyawan -> baris pengajuan cuti terakhir (-1 jika belum ada)
+    private AtomicIntegerArray latestRequestByEmployee = new AtomicIntegerArray(0);
+
+    // ===================== REVIEW PERFORMA =====================
+
+    private final Object reviewLock = new Object();
+    private volatile int reviewCount;
+    private String[] reviewIds = new String[INITIAL_CAPACITY];
+    private int[] reviewEmployeeRows = new int[INITIAL_CAPACITY];
+    private int[] reviewerRows = new int[INITIAL_CAPACITY];
+    private int[] reviewDays = new int[INITIAL_CAPACITY];
+    private int[] reviewScores = new int[INITIAL_CAPACITY];
+    private int[] reviewStatusCodes = new int[INITIAL_CAPACITY];
+
+    /**
+     * Menggabungkan hasil parse ketiga file. Id karyawan di pengajuan cuti dan review baru
+     * di-resolve ke nomor baris di sini, sekali, setelah tabel karyawan lengkap.
+     */
+    public static HRDataStore build(List<Employee> employees, List<LeaveRequestChunk> requests,
+                                    List<ReviewChunk> reviews) {
+        HRDataStore store = new HRDataStore();
+        store.loadEmployees(employees);
+        store.appendLeaveRequests(requests);
+        for (ReviewChunk chunk : reviews) {
+            for (int i = 0; i < chunk.size; i++) {
+                store.appendReview(chunk.ids[i], chunk.employeeIds[i], chunk.reviewerIds[i],
+                    LocalDate.ofEpochDay(chunk.days[i]), chunk.scores[i], chunk.statuses.decode(chunk.statusCodes[i]));
+            }
+        }
+        return store;
+    }
+
+    private void loadEmployees(List<Employee> employees) {
+        int capacity = Math.max(INITIAL_CAPACITY, employees.size());
+        employeeIds = new String[capacity];
+        names = new String[capacity];
+        emails = new String[capacity];
+        positionCodes = new int[capacity];
+        departmentCodes = new int[capacity];
+        managerRows = new int[capacity];
+        joinDays = new int[capacity];
+        statusCodes = new int[capacity];
+        for (Employee employee : employees) {
+            int row = employeeCount++;
+            employeeIds[row] = employee.getId();
+            names[row] = employee.getName();
+            emails[row] = employee.getEmail();
+            positionCodes[row] = positions.encode(employee.getPosition());
+            departmentCodes[row] = departments.encode(employee.getDepartment());
+            joinDays[row] = parseEpochDay(employee.getJoinDate());
+            statusCodes[row] = employeeStatuses.encode(employee.getStatus());
+
+            employeeRowById.put(employeeIds[row], row);
+            employeeRowByName.putIfAbsent(employee.getLowerName(), row);
+        }
+
+        // Id manajer di-resolve ke nomor baris setelah semua karyawan dimuat
+        for (int row = 0; row < employeeCount; row++) {
+            Integer managerRow = employeeRowById.get(employees.get(row).getManagerId());
+            managerRows[row] = managerRow != null ? managerRow : -1;
+        }
+        orgChart = new OrgChart(Arrays.copyOf(managerRows, employeeCount));
+        departmentHeadcounts = new int[departments.size()];
+        for (int row = 0; row < employeeCount; row++) {
+            departmentHeadcounts[departmentCodes[row]]++;
+        }
+        latestRequestByEmployee = new AtomicIntegerArray(employeeCount);
+        for (int row = 0; row < employeeCount; row++) {
+            latestRequestByEmployee.set(row, -1);
+        }
+    }
+
+    // Dipanggil sebelum store dipublikasikan, jadi array bisa diisi langsung tanpa lock
+    private void appendLeaveRequests(List<LeaveRequestChunk> chunks) {
+        int total = 0;
+        for (LeaveRequestChunk chunk : chunks) {
+            total += chunk.size;
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, total);
+        requestIds = new String[capacity];
+        requestEmployeeRows = new int[capacity];
+        requestTypeCodes = new int[capacity];
+        requestStartDays = new int[capacity];
+        requestEndDays = new int[capacity];
+        requestStatusCodes = new int[capacity];
+
+        int row = 0;
+        for (LeaveRequestChunk chunk : chunks) {
+            int[] typeCodes = chunk.types.remapTo(leaveTypes);
+            int[] statusCodesMap = chunk.statuses.remapTo(requestStatuses);
+            System.arraycopy(chunk.ids, 0, requestIds, row, chunk.size);
+            System.arraycopy(chunk.startDays, 0, requestStartDays, row, chunk.size);
+            System.arraycopy(chunk.endDays, 0, requestEndDays, row, chunk.size);
+            for (int i = 0; i < chunk.size; i++, row++) {
+                int employeeRow = findEmployeeRowById(chunk.employeeIds[i]);
+                requestEmployeeRows[row] = employeeRow;
+                requestTypeCodes[row] = typeCodes[chunk.typeCodes[i]];
+                requestStatusCodes[row] = statusCodesMap[chunk.statusCodes[i]];
+                if (employeeRow >= 0) {
+                    latestRequestByEmployee.set(employeeRow, row);
+                }
+            }
+        }
+        leaveRequestCount = row;
+    }
+
+    // ===================== PARSING =====================
+
+    /**
+     * Mem-parse leave_requests.csv (paralel per potongan file) tanpa butuh tabel karyawan.
+     * @return potongan sesuai urutan file; kosong jika file tidak ada.
+     */
+    public static List<LeaveRequestChunk> parseLeaveRequests(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Collections.emptyList();
+        }
+        return ParallelCsv.parse(file, 6, LeaveRequestChunk::new, LeaveRequestChunk::add);
+    }
+
+    /**
+     * Mem-parse performance_reviews.csv (paralel per potongan file) tanpa butuh tabel karyawan.
+     * @return potongan sesuai urutan file; kosong jika file tidak ada.
+     */
+    public static List<ReviewChunk> parseReviews(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Collections.emptyList();
+        }
+        return ParallelCsv.parse(file, 6, ReviewChunk::new, ReviewChunk::add);
+    }
+
+    /**
+     * Baris pengajuan cuti dari satu potongan file, masih memakai id karyawan mentah dan
+     * dictionary lokal (supaya potongan bisa di-parse paralel tanpa berbagi state).
+     */
+    public static final class LeaveRequestChunk {
+        private final StringDictionary types = new StringDictionary();
+        private final StringDictionary statuses = new StringDictionary();
+        private int size;
+        private String[] ids = new String[INITIAL_CAPACITY];
+        private String[] employeeIds = new String[INITIAL_CAPACITY];
+        private int[] typeCodes = new int[INITIAL_CAPACITY];
+        private int[] startDays = new int[INITIAL_CAPACITY];
+        private int[] endDays = new int[INITIAL_CAPACITY];
+        private int[] statusCodes = new int[INITIAL_CAPACITY];
+
+        private void add(CsvReader row) {
+            int start;
+            int end;
+            try {
+                start = (int) row.getDate(3).toEpochDay();
+                end = (int) row.getDate(4).toEpochDay();
+            } catch (DateTimeParseException e) {
+                return; // baris rusak dilewati
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                employeeIds = Arrays.copyOf(employeeIds, capacity);
+                typeCodes = Arrays.copyOf(typeCodes, capacity);
+                startDays = Arrays.copyOf(startDays, capacity);
+                endDays = Arrays.copyOf(endDays, capacity);
+                statusCodes = Arrays.copyOf(statusCodes, capacity);
+            }
+            ids[size] = row.getString(0);
+            employeeIds[size] = row.getString(1);
+            typeCodes[size] = types.encode(row.getString(2));
+            startDays[size] = start;
+            endDays[size] = end;
+            statusCodes[size] = statuses.encode(row.getString(5));
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Baris review performa dari satu potongan file, belum di-join ke tabel karyawan.
+     */
+    public static final class ReviewChunk {
+        private final StringDictionary statuses = new StringDictionary();
+        private int size;
+        private String[] ids = new String[INITIAL_CAPACITY];
+        private String[] employeeIds = new String[INITIAL_CAPACITY];
+        private String[] reviewerIds = new String[INITIAL_CAPACITY];
+        private int[] days = new int[INITIAL_CAPACITY];
+        private int[] scores = new int[INITIAL_CAPACITY];
+        private int[] statusCodes = new int[INITIAL_CAPACITY];
+
+        private void add(CsvReader row) {
+            int day;
+            int score;
+            try {
+                day = (int) row.getDate(3).toEpochDay();
+                score = row.getInt(4);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                return; // baris rusak dilewati
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                employeeIds = Arrays.copyOf(employeeIds, capacity);
+                reviewerIds = Arrays.copyOf(reviewerIds, capacity);
+                days = Arrays.copyOf(days, capacity);
+                scores = Arrays.copyOf(scores, capacity);
+                statusCodes = Arrays.copyOf(statusCodes, capacity);
+            }
+            ids[size] = row.getString(0);
+            employeeIds[size] = row.getString(1);
+            reviewerIds[size] = row.getString(2);
+            days[size] = day;
+            scores[size] = score;
+            statusCodes[size] = statuses.encode(row.getString(5));
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    private static int parseEpochDay(String date) {
+        try {
+            return (int) LocalDate.parse(date).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return Integer.MIN_VALUE;
+        }
+    }
+
+    // ===================== LOOKUP KARYAWAN =====================
+
+    /**
+     * @return baris karyawan dengan nama lengkap tsb (case-insensitive), atau -1.
+     */
+    public int findEmployeeRow(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Integer row = employeeRowByName.get(name.trim().toLowerCase());
+        return row != null ? row : -1;
+    }
+
+    /**
+     * @return baris karyawan dengan id tsb, atau -1.
+     */
+    public int findEmployeeRowById(String id) {
+        Integer row = id == null ? null : employeeRowById.get(id);
+        return row != null ? row : -1;
+    }
+
+    public String employeeId(int row) {
+        return employeeIds[row];
+    }
+
+    public String employeeName(int row) {
+        return names[row];
+    }
+
+    public String email(int row) {
+        return emails[row];
+    }
+
+    public String position(int row) {
+        return positions.decode(positionCodes[row]);
+    }
+
+    public String department(int row) {
+        return departments.decode(departmentCodes[row]);
+    }
+
+    public String employeeStatus(int row) {
+        return employeeStatuses.decode(statusCodes[row]);
+    }
+
+    /**
+     * Hierarki atasan-bawahan; baris sama dengan baris karyawan di store ini.
+     */
+    public OrgChart getOrgChart() {
+        return orgChart;
+    }
+
+    /**
+     * @return jumlah karyawan di departemen tsb (case-insensitive), atau -1 jika departemen tidak ada.
+     */
+    public int departmentHeadcount(String department) {
+        if (department == null) {
+            return -1;
+        }
+        for (int code = 0; code < departmentHeadcounts.length; code++) {
+            if (departments.decode(code).equalsIgnoreCase(department.trim())) {
+                return departmentHeadcounts[code];
+            }
+        }
+        return -1;
+    }
+
+    // ===================== PENGAJUAN CUTI =====================
+
+    /**
+     * Menambahkan pengajuan cuti baru; menjadi pengajuan terakhir karyawan tsb.
+     */
+    public void appendLeaveRequest(LeaveRequest request) {
+        synchronized (leaveRequestLock) {
+            int row = leaveRequestCount;
+            if (row == requestIds.length) {
+                int capacity = row * 2;
+                requestIds = Arrays.copyOf(requestIds, capacity);
+                requestEmployeeRows = Arrays.copyOf(requestEmployeeRows, capacity);
+                requestTypeCodes = Arrays.copyOf(requestTypeCodes, capacity);
+                requestStartDays = Arrays.copyOf(requestStartDays, capacity);
+                requestEndDays = Arrays.copyOf(requestEndDays, capacity);
+                requestStatusCodes = Arrays.copyOf(requestStatusCodes, capacity);
+            }
+            int employeeRow = findEmployeeRowById(request.getEmployeeId());
+            requestIds[row] = request.getRequestId();
+            requestEmployeeRows[row] = employeeRow;
+            requestTypeCodes[row] = leaveTypes.encode(request.getLeaveType());
+            requestStartDays[row] = (int) request.getStartDate().toEpochDay();
+            requestEndDays[row] = (int) request.getEndDate().toEpochDay();
+            requestStatusCodes[row] = requestStatuses.encode(request.getStatus());
+            leaveRequestCount = row + 1; // publikasi baris ke pembaca
+            if (employeeRow >= 0) {
+                latestRequestByEmployee.set(employeeRow, row);
+            }
+        }
+    }
+
+    public int leaveRequestCount() {
+        return leaveRequestCount;
+    }
+
+    /**
+     * @return baris pengajuan cuti terakhir milik karyawan, atau -1.
+     */
+    public int latestLeaveRequest(int employeeRow) {
+        return latestRequestByEmployee.get(employeeRow);
+    }
+
+    public String leaveType(int row) {
+        return leaveTypes.decode(requestTypeCodes[row]);
+    }
+
+    public String leaveRequestStatus(int row) {
+        return requestStatuses.decode(requestStatusCodes[row]);
+    }
+
+    // ===================== REVIEW PERFORMA =====================
+
+    /**
+     * Menambahkan satu review performa.
+     */
+    public void appendReview(String reviewId, String employeeId, String reviewerId,
+                             LocalDate reviewDate, int score, String status) {
+        synchronized (reviewLock) {
+            int row = reviewCount;
+            if (row == reviewIds.length) {
+                int capacity = row * 2;
+                reviewIds = Arrays.copyOf(reviewIds, capacity);
+                reviewEmployeeRows = Arrays.copyOf(reviewEmployeeRows, capacity);
+                reviewerRows = Arrays.copyOf(reviewerRows, capacity);
+                reviewDays = Arrays.copyOf(reviewDays, capacity);
+                reviewScores = Arrays.copyOf(reviewScores, capacity);
+                reviewStatusCodes = Arrays.copyOf(reviewStatusCodes, capacity);
+            }
+            reviewIds[row] = reviewId;
+            reviewEmployeeRows[row] = findEmployeeRowById(employeeId);
+            reviewerRows[row] = findEmployeeRowById(reviewerId);
+            reviewDays[row] = (int) reviewDate.toEpochDay();
+            reviewScores[row] = score;
+            reviewStatusCodes[row] = reviewStatuses.encode(status);
+            reviewCount = row + 1; // publikasi baris ke pembaca
+        }
+    }
+
+    public int reviewCount() {
+        return reviewCount;
+    }
+
+    public String reviewId(int row) {
+        return reviewIds[row];
+    }
+
+    public int reviewEmployeeRow(int row) {
+        return reviewEmployeeRows[row];
+    }
+
+    public LocalDate reviewDate(int row) {
+        return LocalDate.ofEpochDay(reviewDays[row]);
+    }
+
+    public String reviewStatus(int row) {
+        return reviewStatuses.decode(reviewStatusCodes[row]);
+    }
+}
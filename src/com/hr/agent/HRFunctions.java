@@ -32,9 +32,10 @@ public interface HRFunctions {
     
     /**
      * Mengajukan laporan pengeluaran (expense report).
+     * @param amount jumlah dalam rupiah
      * @return String berisi pesan konfirmasi.
      */
-    String submitExpenseReport(String employeeName, String category, double amount);
+    String submitExpenseReport(String employeeName, String category, long amount);
 
     /**
      * Mencari informasi dasar (non-sensitif) tentang rekan kerja.
@@ -42,4 +43,28 @@ public interface HRFunctions {
      * @return String berisi info kontak atau jabatan.
      */
     String lookupColleagueInfo(String colleagueName);
+
+    /**
+     * Mendaftar bawahan langsung seorang manajer.
+     * @return String berisi nama dan jabatan bawahan.
+     */
+    String listDirectReports(String managerName);
+
+    /**
+     * Mendaftar seluruh tim seorang manajer (bawahan langsung dan tidak langsung).
+     * @return String berisi nama dan jabatan anggota tim.
+     */
+    String listTeamMembers(String managerName);
+
+    /**
+     * Menelusuri rantai atasan seorang karyawan sampai puncak hierarki.
+     * @return String berisi atasan dari yang terdekat.
+     */
+    String getChainOfCommand(String employeeName);
+
+    /**
+     * Menghitung jumlah anggota sebuah departemen, atau tim seorang manajer jika bukan nama departemen.
+     * @return String berisi jumlah orang.
+     */
+    String countTeamMembers(String managerOrDepartment);
 }
\ No newline at end of file
@@ -0,0 +1,312 @@
+package com.hr.agent;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Mode server HTTP/JSON di atas com.sun.net.httpserver.
+ * Satu {@link HRAgentApp} (dataset yang sudah dimuat) dipakai bersama oleh semua request;
+ * setiap request dijalankan di virtual thread (JDK 21+) dan jumlah request yang diproses
+ * bersamaan dibatasi semaphore. Request di atas batas langsung dijawab 503.
+ *
+ * Endpoint:
+ * <pre>
+ * POST /ask                 teks bebas (atau {"input": "..."}) -> {"intent", "response"}
+ * POST /leave/apply         employee, leave_type, start_date, end_date
+ * POST /review/schedule     employee, reviewer (opsional), review_date (opsional)
+ * POST /review/bulk         department atau manager (keduanya kosong: seluruh karyawan), from, to, capacity
+ * GET  /leave/status        employee
+ * GET  /leave/calendar      department atau employee (opsional), from, to (yyyy-MM-dd, default hari ini)
+ * POST /expense             employee, category, amount (rupiah, dicatat ke ledger)
+ * GET  /expense/total       employee, category, month (yyyy-MM); semuanya opsional
+ * GET  /colleague           name
+ * GET  /org/reports         employee (bawahan langsung)
+ * GET  /org/team            employee (seluruh bawahan, langsung dan tidak langsung)
+ * GET  /org/chain           employee (rantai atasan sampai puncak)
+ * GET  /org/headcount       team (nama departemen atau nama manajer)
+ * GET  /cache/stats         hit/miss/eviction cache jawaban
+ * GET  /metrics             latensi per tahap dan intent (teks Prometheus), tidak dibatasi semaphore
+ * </pre>
+ * Parameter endpoint bertipe dibaca dari query string, body JSON datar, atau body form-urlencoded.
+ */
+public class HRServer implements Closeable {
+
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int BACKLOG = 4096;
+
+    private final HRAgentApp agent;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+
+    public HRServer(HRAgentApp agent, InetSocketAddress address, int maxInFlight) throws IOException {
+        this.agent = agent;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.executor = VirtualThreads.newPerTaskExecutor("hr-http");
+        this.server = HttpServer.create(address, BACKLOG);
+        server.setExecutor(executor);
+
+        server.createContext("/ask", exchange -> handle(exchange, "POST", this::ask));
+        server.createContext("/leave/apply", exchange -> handle(exchange, "POST", params -> response(agent.applyForLeave(
+            required(params, "employee"), required(params, "leave_type"),
+            date(params, "start_date", true), date(params, "end_date", true)))));
+        server.createContext("/review/schedule", exchange -> handle(exchange, "POST", params -> response(
+            agent.schedulePerformanceReview(required(params, "employee"), params.get("reviewer"),
+                date(params, "review_date", false)))));
+        server.createContext("/review/bulk", exchange -> handle(exchange, "POST", params -> response(
+            agent.scheduleReviews(params.get("department"), params.get("manager"), date(params, "from", true),
+                date(params, "to", true), capacity(params)))));
+        server.createContext("/leave/status", exchange -> handle(exchange, "GET", params -> response(
+            agent.checkLeaveRequestStatus(required(params, "employee")))));
+        server.createContext("/leave/calendar", exchange -> handle(exchange, "GET", params -> {
+            LocalDate from = date(params, "from", false);
+            from = from != null ? from : LocalDate.now();
+            LocalDate to = date(params, "to", false);
+            return response(agent.getWhoIsOut(params.get("department"), params.get("employee"), from,
+                to != null ? to : from));
+        }));
+        server.createContext("/expense", exchange -> handle(exchange, "POST", params -> response(
+            agent.submitExpenseReport(required(params, "employee"), required(params, "category"),
+                amount(params)))));
+        server.createContext("/expense/total", exchange -> handle(exchange, "GET", params -> response(
+            agent.getExpenseTotal(params.get("employee"), params.get("category"), month(params)))));
+        server.createContext("/colleague", exchange -> handle(exchange, "GET", params -> response(
+            agent.lookupColleagueInfo(required(params, "name")))));
+        server.createContext("/org/reports", exchange -> handle(exchange, "GET", params -> response(
+            agent.listDirectReports(required(params, "employee")))));
+        server.createContext("/org/team", exchange -> handle(exchange, "GET", params -> response(
+            agent.listTeamMembers(required(params, "employee")))));
+        server.createContext("/org/chain", exchange -> handle(exchange, "GET", params -> response(
+            agent.getChainOfCommand(required(params, "employee")))));
+        server.createContext("/org/headcount", exchange -> handle(exchange, "GET", params -> response(
+            agent.countTeamMembers(required(params, "team")))));
+        server.createContext("/cache/stats", exchange -> handle(exchange, "GET", params -> cacheStats()));
+        server.createContext("/metrics", this::metrics);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdownNow();
+    }
+
+    // ===================== HANDLER =====================
+
+    private String ask(Map<String, String> params) {
+        AgentResponse response = agent.ask(required(params, "input"));
+        return "{\"intent\":" + Json.quote(response.getIntent().name()) +
+            ",\"response\":" + Json.quote(response.getMessage()) + "}";
+    }
+
+    private String cacheStats() {
+        ResponseCache cache = agent.getResponseCache();
+        return "{\"hits\":" + cache.hits() + ",\"misses\":" + cache.misses() +
+            ",\"evictions\":" + cache.evictions() + ",\"size\":" + cache.size() + "}";
+    }
+
+    // Tetap dijawab saat server penuh, supaya metrik bisa dibaca ketika paling dibutuhkan
+    private void metrics(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                send(exchange, 405, error("Gunakan method GET"));
+                return;
+            }
+            send(exchange, 200, agent.getMetrics().render(), "text/plain; version=0.0.4; charset=utf-8");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String response(String message) {
+        return "{\"response\":" + Json.quote(message) + "}";
+    }
+
+    /**
+     * Menjalankan handler dengan batas request bersamaan; error input dijawab 400.
+     */
+    private void handle(HttpExchange exchange, String method, Function<Map<String, String>, String> handler)
+            throws IOException {
+        try {
+            if (!method.equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", method);
+                send(exchange, 405, error("Gunakan method " + method));
+                return;
+            }
+            if (!inFlight.tryAcquire()) {
+                agent.getMetrics().counter("hr_http_rejected_total").increment();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 503, error("Server sedang sibuk, coba lagi."));
+                return;
+            }
+            try {
+                send(exchange, 200, handler.apply(readParams(exchange)));
+            } catch (IllegalArgumentException e) {
+                send(exchange, 400, error(e.getMessage()));
+            } finally {
+                inFlight.release();
+            }
+        } catch (RuntimeException e) {
+            agent.getMetrics().counter("hr_http_errors_total").increment();
+            send(exchange, 500, error("Terjadi kesalahan: " + e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + Json.quote(message) + "}";
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        send(exchange, status, json, "application/json; charset=utf-8");
+    }
+
+    private static void send(HttpExchange exchange, int status, String text, String contentType) throws IOException {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // ===================== PARAMETER =====================
+
+    /**
+     * Menggabungkan parameter query string dan body. Body /ask yang bukan JSON/form
+     * dianggap teks bebas (parameter "input").
+     */
+    private static Map<String, String> readParams(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+
+        String body = readBody(exchange.getRequestBody()).trim();
+        if (body.isEmpty()) {
+            return params;
+        }
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType == null) {
+            contentType = "";
+        }
+        if (contentType.startsWith("application/json") || body.startsWith("{")) {
+            params.putAll(Json.parseObject(body));
+        } else if (contentType.startsWith("application/x-www-form-urlencoded") && body.contains("=")) {
+            parseForm(body, params);
+        } else {
+            params.put("input", body);
+        }
+        return params;
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[4096];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            buffer.write(chunk, 0, read);
+            if (buffer.size() > MAX_BODY_BYTES) {
+                throw new IllegalArgumentException("Body request terlalu besar");
+            }
+        }
+        return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void parseForm(String encoded, Map<String, String> params) throws UnsupportedEncodingException {
+        if (encoded == null || encoded.isEmpty()) {
+            return;
+        }
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq >= 0 ? pair.substring(0, eq) : pair;
+            String value = eq >= 0 ? pair.substring(eq + 1) : "";
+            params.put(URLDecoder.decode(key, "UTF-8"), URLDecoder.decode(value, "UTF-8"));
+        }
+    }
+
+    private static String required(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Parameter '" + name + "' wajib diisi");
+        }
+        return value.trim();
+    }
+
+    private static LocalDate date(Map<String, String> params, String name, boolean required) {
+        String value = required ? required(params, name) : params.get(name);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Parameter '" + name + "' harus berformat yyyy-MM-dd");
+        }
+    }
+
+    // Rupiah; pecahan dibulatkan ke rupiah terdekat
+    private static long amount(Map<String, String> params) {
+        try {
+            long amount = new BigDecimal(required(params, "amount").trim())
+                .setScale(0, RoundingMode.HALF_UP).longValueExact();
+            if (amount <= 0) {
+                throw new IllegalArgumentException("Parameter 'amount' harus lebih dari 0");
+            }
+            return amount;
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Parameter 'amount' harus berupa angka");
+        }
+    }
+
+    private static int capacity(Map<String, String> params) {
+        String value = params.get("capacity");
+        if (value == null || value.trim().isEmpty()) {
+            return ReviewScheduler.DEFAULT_DAILY_CAPACITY;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter 'capacity' harus berupa angka");
+        }
+    }
+
+    private static YearMonth month(Map<String, String> params) {
+        String value = params.get("month");
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Parameter 'month' harus berformat yyyy-MM");
+        }
+    }
+}
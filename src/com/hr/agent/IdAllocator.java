@@ -0,0 +1,103 @@
+package com.hr.agent;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pembuat id berurutan seperti LR001 / PR01.
+ * Counter di-seed sekali dari bagian akhir file (seek mundur, tanpa membaca seluruh file),
+ * lalu id berikutnya dibagikan lewat AtomicLong sehingga aman dipakai banyak handler.
+ * Lebar angka minimal dipertahankan dan otomatis bertambah (LR999 -> LR1000).
+ */
+public class IdAllocator {
+
+    // Ukuran blok awal yang dibaca dari akhir file
+    private static final int TAIL_BLOCK = 64 * 1024;
+
+    private final String prefix;
+    private final int minWidth;
+    private final AtomicLong last;
+
+    public IdAllocator(String prefix, int minWidth, long lastIssued) {
+        this.prefix = prefix;
+        this.minWidth = minWidth;
+        this.last = new AtomicLong(lastIssued);
+    }
+
+    /**
+     * Membaca bagian akhir file CSV dan mengambil nomor id terbesar dengan prefix yang diberikan
+     * (kolom pertama). Membaca blok sebesar 64 KB dan memperbesarnya hanya jika blok itu tidak
+     * memuat satu pun id yang valid.
+     */
+    public static IdAllocator seed(Path file, String prefix, int minWidth) throws IOException {
+        if (!Files.exists(file)) {
+            return new IdAllocator(prefix, minWidth, 0);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            long length = raf.length();
+            long blockSize = TAIL_BLOCK;
+            while (true) {
+                long start = Math.max(0, length - blockSize);
+                byte[] block = new byte[(int) (length - start)];
+                raf.seek(start);
+                raf.readFully(block);
+
+                // Baris pertama blok bisa terpotong kecuali blok dimulai dari awal file
+                String text = new String(block, StandardCharsets.UTF_8);
+                int firstLine = start == 0 ? 0 : text.indexOf('\n') + 1;
+                long max = maxId(text.substring(firstLine), prefix);
+                if (max >= 0 || start == 0) {
+                    return new IdAllocator(prefix, minWidth, Math.max(0, max));
+                }
+                blockSize *= 2;
+            }
+        }
+    }
+
+    private static long maxId(String text, String prefix) {
+        long max = -1;
+        for (String line : text.split("\n")) {
+            if (!line.startsWith(prefix)) {
+                continue;
+            }
+            int comma = line.indexOf(',');
+            String digits = line.substring(prefix.length(), comma >= 0 ? comma : line.length()).trim();
+            try {
+                max = Math.max(max, Long.parseLong(digits));
+            } catch (NumberFormatException e) {
+                // bukan id valid (misal header)
+            }
+        }
+        return max;
+    }
+
+    public String next() {
+        return format(last.incrementAndGet());
+    }
+
+    /**
+     * Id yang akan dikembalikan next() berikutnya, tanpa membagikannya. Hanya tepat jika semua
+     * pemanggil next() untuk allocator ini memegang lock yang sama dengan pemanggil peek().
+     */
+    public String peek() {
+        return format(last.get() + 1);
+    }
+
+    public long lastIssued() {
+        return last.get();
+    }
+
+    private String format(long number) {
+        String digits = Long.toString(number);
+        StringBuilder sb = new StringBuilder(prefix.length() + Math.max(minWidth, digits.length()));
+        sb.append(prefix);
+        for (int i = digits.length(); i < minWidth; i++) {
+            sb.append('0');
+        }
+        return sb.append(digits).toString();
+    }
+}
@@ -0,0 +1,42 @@
+package com.hr.agent;
+
+/**
+ * Jenis permintaan hasil klasifikasi input pengguna.
+ */
+public enum Intent {
+    // Pertanyaan (data lookup)
+    MANAGER(true),
+    LEAVE_BALANCE(true),
+    DEPARTMENT(true),
+    JOB(true),
+    COLLEAGUE_INFO(true),
+    EMPLOYEE_STATUS(true),
+    EMAIL(true),
+    DIRECT_REPORTS(true),
+    TEAM_MEMBERS(true),
+    CHAIN_OF_COMMAND(true),
+    TEAM_HEADCOUNT(true),
+    EXPENSE_TOTAL(true),
+    WHO_IS_OUT(true),
+    UNKNOWN_QUESTION(true),
+
+    // Perintah (aksi HR)
+    APPLY_LEAVE(false),
+    SCHEDULE_REVIEW(false),
+    CHECK_LEAVE_STATUS(false),
+    EXPENSE(false),
+    LOOKUP_COLLEAGUE(false),
+    UNKNOWN_COMMAND(false),
+
+    UNKNOWN(false);
+
+    private final boolean question;
+
+    Intent(boolean question) {
+        this.question = question;
+    }
+
+    public boolean isQuestion() {
+        return question;
+    }
+}
@@ -0,0 +1,312 @@
+package com.hr.agent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Klasifikasi intent berbasis tabel kata kunci.
+ * Semua kata kunci disimpan dalam satu trie; input dipindai satu kali dari setiap awal kata.
+ * Kata kunci harus berakhir di batas kata, kecuali diikuti akhiran/partikel seperti "-nya" atau "-kah"
+ * ("cutinya", "manajernya", "siapakah"); jadi "mana" tidak cocok di "manajer" dan "set" tidak cocok
+ * di "Setiawan".
+ */
+public class IntentClassifier {
+
+    // Penanda jenis kalimat
+    private static final long QUESTION = 1L;
+    private static final long COMMAND = 1L << 1;
+    // Frasa perintah lengkap: mengalahkan kata kunci yang sekaligus penanda pertanyaan
+    // ("jadwalkan review semua bawahan Agus" adalah perintah, bukan pertanyaan bawahan)
+    private static final long EXPLICIT_COMMAND = 1L << 21;
+
+    // Topik pertanyaan
+    private static final long TOPIC_MANAGER = 1L << 2;
+    private static final long TOPIC_LEAVE = 1L << 3;
+    private static final long TOPIC_DEPARTMENT = 1L << 4;
+    private static final long TOPIC_JOB = 1L << 5;
+    private static final long TOPIC_INFO = 1L << 6;
+    private static final long TOPIC_STATUS = 1L << 7;
+    private static final long TOPIC_EMAIL = 1L << 8;
+
+    // Topik perintah
+    private static final long ACTION_APPLY_LEAVE = 1L << 9;
+    private static final long ACTION_REVIEW = 1L << 10;
+    private static final long ACTION_CHECK_STATUS = 1L << 11;
+    private static final long ACTION_EXPENSE = 1L << 12;
+    private static final long ACTION_LOOKUP = 1L << 13;
+
+    // Topik hierarki (pertanyaan)
+    private static final long TOPIC_REPORTS = 1L << 14;
+    private static final long TOPIC_TEAM = 1L << 15;
+    private static final long TOPIC_CHAIN = 1L << 16;
+    private static final long TOPIC_HEADCOUNT = 1L << 17;
+    private static final long TOPIC_WHOLE_TEAM = 1L << 18;
+    private static final long TOPIC_EXPENSE_TOTAL = 1L << 19;
+    private static final long TOPIC_WHO_OUT = 1L << 20;
+
+    private static final Map<String, Long> KEYWORDS = new LinkedHashMap<>();
+    // Akhiran yang boleh menempel pada kata kunci
+    private static final String[] SUFFIXES = {"nya", "ku", "mu", "kah", "lah"};
+
+    private static final int FUZZY_CANDIDATES = 5;
+    // Kata kunci dan kata umum tidak pernah dianggap nama yang salah ketik ("saya" ~ "maya")
+    private static final Set<String> NON_NAME_WORDS = new HashSet<>(Arrays.asList(
+        "saya", "aku", "kamu", "dia", "mau", "ingin", "minta", "tanya", "dari", "sampai", "hingga", "dengan",
+        "untuk", "dan", "atau", "yang", "aja", "saja", "kerja", "bekerja", "punya", "rekan", "tentang",
+        "sebesar", "ribu", "juta", "rupiah", "sakit", "tahunan", "melahirkan", "transportasi", "makan",
+        "hotel", "tanggal", "hari", "minggu", "bulan", "tahun", "besok", "lusa", "depan", "ini", "itu",
+        "ada", "tidak", "sudah", "belum", "masih", "dong", "sih", "nih", "tuh", "berapa", "performa",
+        "januari", "februari", "maret", "april", "mei", "juni", "juli", "agustus", "september",
+        "oktober", "november", "desember"));
+
+    // Urutan prioritas sama dengan rantai if/else lama: aturan pertama yang cocok menang.
+    // Rekap pengeluaran dan topik hierarki lebih spesifik ("bawahan manajer X", "berapa orang di
+    // departemen Y") sehingga didahulukan; topik tim paling akhir karena "tim" juga muncul di
+    // kalimat topik lain.
+    private static final long[] QUESTION_RULES = {
+        TOPIC_EXPENSE_TOTAL, TOPIC_WHO_OUT, TOPIC_HEADCOUNT, TOPIC_CHAIN, TOPIC_WHOLE_TEAM, TOPIC_REPORTS,
+        TOPIC_MANAGER, TOPIC_LEAVE, TOPIC_DEPARTMENT, TOPIC_JOB, TOPIC_INFO, TOPIC_STATUS, TOPIC_EMAIL, TOPIC_TEAM
+    };
+    private static final Intent[] QUESTION_INTENTS = {
+        Intent.EXPENSE_TOTAL, Intent.WHO_IS_OUT, Intent.TEAM_HEADCOUNT, Intent.CHAIN_OF_COMMAND, Intent.TEAM_MEMBERS,
+        Intent.DIRECT_REPORTS, Intent.MANAGER, Intent.LEAVE_BALANCE, Intent.DEPARTMENT, Intent.JOB,
+        Intent.COLLEAGUE_INFO, Intent.EMPLOYEE_STATUS, Intent.EMAIL, Intent.TEAM_MEMBERS
+    };
+    private static final long[] COMMAND_RULES = {
+        ACTION_APPLY_LEAVE, ACTION_REVIEW, ACTION_CHECK_STATUS, ACTION_EXPENSE, ACTION_LOOKUP
+    };
+    private static final Intent[] COMMAND_INTENTS = {
+        Intent.APPLY_LEAVE, Intent.SCHEDULE_REVIEW, Intent.CHECK_LEAVE_STATUS, Intent.EXPENSE, Intent.LOOKUP_COLLEAGUE
+    };
+
+    static {
+        keywords(QUESTION, "apa", "siapa", "berapa", "kapan", "dimana", "mana", "gimana", "bagaimana", "apakah",
+            "bisa", "boleh", "mau tau", "pengen tau", "ingin tau", "tolong", "mohon");
+        keywords(COMMAND, "ajukan", "buat", "create", "submit", "kirim", "lapor", "report", "jadwalkan", "schedule",
+            "set", "atur", "update", "ubah", "change", "modify", "hapus", "delete", "remove", "batal", "cancel",
+            "proses", "process", "eksekusi", "execute", "jalankan", "run", "cek", "info", "informasi", "data",
+            "detail", "lihat", "tampilkan", "show", "display");
+
+        keywords(TOPIC_MANAGER, "manajer", "manager");
+        keywords(TOPIC_LEAVE, "sisa cuti", "cuti", "leave");
+        keywords(TOPIC_DEPARTMENT, "departemen", "department", "divisi", "bagian");
+        keywords(TOPIC_JOB, "jabatan", "posisi", "role", "job");
+        keywords(TOPIC_INFO, "info", "informasi", "data", "detail");
+        keywords(TOPIC_STATUS, "status", "keadaan");
+        keywords(TOPIC_EMAIL, "email", "kontak");
+        keywords(TOPIC_REPORTS, "bawahan", "anak buah", "direct report", "direct reports");
+        keywords(TOPIC_TEAM, "tim", "team");
+        keywords(TOPIC_WHOLE_TEAM, "seluruh bawahan", "semua bawahan", "seluruh tim", "anggota tim", "struktur tim");
+        keywords(TOPIC_CHAIN, "rantai atasan", "rantai komando", "hierarki", "garis atasan", "chain of command");
+        keywords(TOPIC_HEADCOUNT, "berapa orang", "jumlah orang", "jumlah anggota", "jumlah karyawan", "headcount");
+        keywords(TOPIC_EXPENSE_TOTAL, "total pengeluaran", "jumlah pengeluaran", "rekap pengeluaran", "total expense");
+        keywords(TOPIC_WHO_OUT, "yang cuti", "sedang cuti", "lagi cuti", "siapa cuti", "yang libur",
+            "kalender cuti", "jadwal cuti", "who is out");
+        // Cukup untuk membentuk pertanyaan tanpa kata tanya ("bawahan Santi", "hierarki Budi")
+        keywords(QUESTION, "bawahan", "anak buah", "rantai atasan", "rantai komando", "hierarki", "headcount",
+            "jumlah orang", "jumlah anggota", "jumlah karyawan", "total pengeluaran", "jumlah pengeluaran",
+            "rekap pengeluaran", "total expense", "kalender cuti", "jadwal cuti", "who is out");
+
+        keywords(ACTION_APPLY_LEAVE, "ajukan cuti", "minta cuti");
+        keywords(ACTION_REVIEW, "review performa", "review", "jadwalkan review", "performance");
+        keywords(EXPLICIT_COMMAND, "jadwalkan review");
+        keywords(ACTION_CHECK_STATUS, "cek status", "status cuti", "check status");
+        keywords(ACTION_EXPENSE, "lapor pengeluaran", "expense", "pengeluaran", "reimburse");
+        keywords(ACTION_LOOKUP, "cari info", "info rekan", "lookup", "colleague");
+    }
+
+    private static void keywords(long flag, String... words) {
+        for (String word : words) {
+            KEYWORDS.merge(word, flag, (a, b) -> a | b);
+            NON_NAME_WORDS.addAll(Arrays.asList(word.split(" ")));
+        }
+    }
+
+    private final char[][] labels;
+    private final int[][] targets;
+    private final long[] flags;
+
+    public IntentClassifier() {
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Long> nodeFlags = new ArrayList<>();
+        children.add(new TreeMap<>());
+        nodeFlags.add(0L);
+        for (Map.Entry<String, Long> keyword : KEYWORDS.entrySet()) {
+            String word = keyword.getKey();
+            int node = 0;
+            for (int i = 0; i < word.length(); i++) {
+                Integer next = children.get(node).get(word.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    nodeFlags.add(0L);
+                    children.get(node).put(word.charAt(i), next);
+                }
+                node = next;
+            }
+            nodeFlags.set(node, nodeFlags.get(node) | keyword.getValue());
+        }
+
+        labels = new char[children.size()][];
+        targets = new int[children.size()][];
+        flags = new long[children.size()];
+        for (int node = 0; node < children.size(); node++) {
+            Map<Character, Integer> edges = children.get(node);
+            labels[node] = new char[edges.size()];
+            targets[node] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                labels[node][i] = edge.getKey();
+                targets[node][i] = edge.getValue();
+                i++;
+            }
+            flags[node] = nodeFlags.get(node);
+        }
+    }
+
+    /**
+     * Intent dari input yang sudah di-lowercase (sekali, lalu dipakai bersama oleh trie dan
+     * {@link #extractEmployee}).
+     */
+    public Intent detect(String lowerInput) {
+        return resolve(scan(lowerInput));
+    }
+
+    /**
+     * Slot nama karyawan: penyebutan paling awal/terpanjang; jika tidak ada nama yang cocok persis,
+     * kata-kata di input (selain kata kunci dan kata umum) dicari di indeks nama toleran typo.
+     * @param fuzzyIndex null untuk pencocokan persis saja
+     * @return null jika tidak ada nama yang cocok
+     */
+    public NameMatcher.Match extractEmployee(String lowerInput, NameMatcher nameMatcher, FuzzyNameIndex fuzzyIndex) {
+        NameMatcher.Match employee = nameMatcher != null ? nameMatcher.findFirst(lowerInput) : null;
+        if (employee == null && fuzzyIndex != null) {
+            employee = findFuzzy(lowerInput, fuzzyIndex);
+        }
+        return employee;
+    }
+
+    /**
+     * Kata dengan kandidat terbaik (jarak terkecil, lalu skor tertinggi) menang;
+     * jika seimbang, kata yang lebih awal di input.
+     */
+    NameMatcher.Match findFuzzy(String lowerInput, FuzzyNameIndex fuzzyIndex) {
+        NameMatcher.Match best = null;
+        FuzzyNameIndex.Candidate bestCandidate = null;
+        int length = lowerInput.length();
+        int start = 0;
+        while (start < length) {
+            if (!Character.isLetter(lowerInput.charAt(start))) {
+                start++;
+                continue;
+            }
+            int end = start;
+            while (end < length && Character.isLetterOrDigit(lowerInput.charAt(end))) {
+                end++;
+            }
+            String word = lowerInput.substring(start, end);
+            if (!NON_NAME_WORDS.contains(word)) {
+                List<FuzzyNameIndex.Candidate> candidates = fuzzyIndex.search(word, FUZZY_CANDIDATES);
+                if (!candidates.isEmpty() && isBetter(candidates.get(0), bestCandidate)) {
+                    bestCandidate = candidates.get(0);
+                    List<Employee> employees = new ArrayList<>(candidates.size());
+                    for (FuzzyNameIndex.Candidate candidate : candidates) {
+                        employees.add(candidate.getEmployee());
+                    }
+                    best = new NameMatcher.Match(start, end, false, employees);
+                }
+            }
+            start = end;
+        }
+        return best;
+    }
+
+    private static boolean isBetter(FuzzyNameIndex.Candidate candidate, FuzzyNameIndex.Candidate current) {
+        if (current == null) {
+            return true;
+        }
+        if (candidate.getDistance() != current.getDistance()) {
+            return candidate.getDistance() < current.getDistance();
+        }
+        return candidate.getScore() > current.getScore();
+    }
+
+    /**
+     * Mengumpulkan flag semua kata kunci yang dimulai di awal kata dan berakhir di batas kata.
+     */
+    long scan(String lowerInput) {
+        long found = 0L;
+        int length = lowerInput.length();
+        for (int start = 0; start < length; start++) {
+            if (!Character.isLetterOrDigit(lowerInput.charAt(start))
+                    || (start > 0 && Character.isLetterOrDigit(lowerInput.charAt(start - 1)))) {
+                continue;
+            }
+            int node = 0;
+            for (int i = start; i < length && node >= 0; i++) {
+                node = child(node, lowerInput.charAt(i));
+                if (node >= 0 && flags[node] != 0 && endsWord(lowerInput, i + 1)) {
+                    found |= flags[node];
+                }
+            }
+        }
+        return found;
+    }
+
+    // Kata kunci yang berakhir di posisi end: cocok jika tidak ada huruf/angka sesudahnya, kecuali akhiran
+    private static boolean endsWord(String text, int end) {
+        if (!Character.isLetterOrDigit(text.charAt(end - 1)) || isBoundary(text, end)) {
+            return true;
+        }
+        for (String suffix : SUFFIXES) {
+            if (text.startsWith(suffix, end) && isBoundary(text, end + suffix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        return index >= text.length() || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private static Intent resolve(long found) {
+        if ((found & QUESTION) != 0 && (found & EXPLICIT_COMMAND) == 0) {
+            return firstMatch(found, QUESTION_RULES, QUESTION_INTENTS, Intent.UNKNOWN_QUESTION);
+        }
+        if ((found & COMMAND) != 0) {
+            return firstMatch(found, COMMAND_RULES, COMMAND_INTENTS, Intent.UNKNOWN_COMMAND);
+        }
+        // Tanpa kata tanya maupun kata perintah, topik saja sudah cukup ("sisa cuti bdi", "manajer rina"),
+        // tetapi hanya untuk intent yang tidak mengubah data
+        if ((found & ACTION_CHECK_STATUS) != 0) {
+            return Intent.CHECK_LEAVE_STATUS;
+        }
+        return firstMatch(found, QUESTION_RULES, QUESTION_INTENTS, Intent.UNKNOWN);
+    }
+
+    private static Intent firstMatch(long found, long[] rules, Intent[] intents, Intent fallback) {
+        for (int i = 0; i < rules.length; i++) {
+            if ((found & rules[i]) != 0) {
+                return intents[i];
+            }
+        }
+        return fallback;
+    }
+
+    private int child(int node, char c) {
+        char[] nodeLabels = labels[node];
+        for (int i = 0; i < nodeLabels.length; i++) {
+            if (nodeLabels[i] == c) {
+                return targets[node][i];
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,34 @@
+package com.hr.agent;
+
+/**
+ * Hasil klasifikasi satu input: intent beserta slot nama karyawan, satu-satunya slot yang
+ * diekstrak untuk semua intent. Slot lain (tanggal, tipe cuti, nominal, ...) diekstrak handler
+ * intent masing-masing dari input lowercase, supaya handler tidak perlu lowercase ulang.
+ */
+public final class IntentResult {
+
+    private final Intent intent;
+    private final String lowerInput;
+    private final NameMatcher.Match employeeMatch;
+
+    public IntentResult(Intent intent, String lowerInput, NameMatcher.Match employeeMatch) {
+        this.intent = intent;
+        this.lowerInput = lowerInput;
+        this.employeeMatch = employeeMatch;
+    }
+
+    public Intent getIntent() {
+        return intent;
+    }
+
+    public String getLowerInput() {
+        return lowerInput;
+    }
+
+    /**
+     * @return karyawan yang disebut paling awal di input, atau null.
+     */
+    public Employee getEmployee() {
+        return employeeMatch != null ? employeeMatch.getEmployee() : null;
+    }
+}
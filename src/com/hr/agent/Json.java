@@ -0,0 +1,193 @@
+package com.hr.agent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Utilitas kecil untuk menulis dan membaca JSON tanpa library tambahan.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * @return string JSON (dengan tanda kutip) untuk nilai yang diberikan; "null" jika value null.
+     */
+    static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Mem-parse objek JSON datar, misalnya {"employee":"Budi Santoso","amount":250000}.
+     * Nilai string, angka, boolean dan null dikembalikan sebagai String (null tetap null).
+     * @throws IllegalArgumentException jika bukan objek datar yang valid.
+     */
+    static Map<String, String> parseObject(String json) {
+        Parser parser = new Parser(json);
+        Map<String, String> result = parser.parseObject();
+        parser.skipWhitespace();
+        if (parser.pos != json.length()) {
+            throw parser.error("karakter tambahan setelah objek");
+        }
+        return result;
+    }
+
+    private static final class Parser {
+
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Map<String, String> parseObject() {
+            Map<String, String> result = new LinkedHashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return result;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = parseString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                result.put(key, parseValue());
+                skipWhitespace();
+                char c = next();
+                if (c == '}') {
+                    return result;
+                }
+                if (c != ',') {
+                    throw error("diharapkan ',' atau '}'");
+                }
+            }
+        }
+
+        private String parseValue() {
+            char c = peek();
+            if (c == '"') {
+                return parseString();
+            }
+            int start = pos;
+            while (pos < text.length() && "-+.eE0123456789truefalsn".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw error("nilai tidak valid (hanya objek datar yang didukung)");
+            }
+            return "null".equals(literal) ? null : literal;
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw error("escape unicode tidak lengkap");
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("escape unicode tidak valid");
+                        }
+                        pos += 4;
+                        break;
+                    default:
+                        sb.append(escaped); // \" \\ \/
+                }
+            }
+        }
+
+        void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private char peek() {
+            if (pos >= text.length()) {
+                throw error("JSON terpotong");
+            }
+            return text.charAt(pos);
+        }
+
+        private char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw error("diharapkan '" + expected + "'");
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("JSON tidak valid di posisi " + pos + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.hr.agent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram latensi (nanodetik) dengan bucket log-linear ala HdrHistogram: setiap rentang pangkat dua
+ * dibagi 16 sub-bucket, sehingga kesalahan relatif kuantil paling besar 1/16 (6,25%).
+ * Ukurannya tetap (960 bucket) dan pencatatan hanya beberapa operasi atomik tanpa lock atau alokasi.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Nilai < 16 punya bucket sendiri; sisanya 16 sub-bucket untuk setiap eksponen 4..62
+    private static final int BUCKETS = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // Nilai terbesar yang masih masuk bucket tsb
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (SUB_BUCKETS + bucket % SUB_BUCKETS) * width + width - 1;
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long sum() {
+        return sum.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Kuantil (0..1) dalam nanodetik: batas atas bucket yang memuat kuantil tsb, tidak melebihi max.
+     * Semua kuantil dihitung dari satu salinan bucket yang dibaca tanpa lock, jadi hasilnya bisa
+     * sedikit tertinggal dari pencatatan yang sedang berjalan.
+     */
+    public long[] quantiles(double... quantiles) {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        long maxValue = max();
+        long[] result = new long[quantiles.length];
+        if (total == 0) {
+            return result;
+        }
+        for (int q = 0; q < quantiles.length; q++) {
+            long rank = Math.max(1, (long) Math.ceil(quantiles[q] * total));
+            long seen = 0;
+            int i = 0;
+            while (i < BUCKETS - 1 && seen + snapshot[i] < rank) {
+                seen += snapshot[i];
+                i++;
+            }
+            result[q] = Math.min(upperBound(i), maxValue);
+        }
+        return result;
+    }
+}
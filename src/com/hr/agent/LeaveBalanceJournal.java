@@ -0,0 +1,226 @@
+package com.hr.agent;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-ahead log untuk perubahan sisa cuti.
+ * Setiap perubahan ditulis sebagai satu baris "urutan,id_karyawan,tipe_cuti,delta,id_pengajuan" di akhir
+ * file, sehingga biaya per pengajuan cuti tidak bergantung pada ukuran leave_balances.csv. Id pengajuan
+ * dipakai saat startup untuk mengembalikan potongan yang barisnya tidak pernah tersimpan di
+ * leave_requests.csv (crash di antara keduanya); kolom ini kosong untuk perubahan tanpa pengajuan.
+ *
+ * Nomor urut naik terus (juga melewati truncate). Snapshot mencatat nomor urut terakhir yang sudah
+ * tercakup, dan replay melewati record sampai nomor tsb; jadi crash antara penulisan snapshot dan
+ * truncate WAL tidak membuat delta diterapkan dua kali. Record lama tanpa nomor urut
+ * ("id_karyawan,tipe_cuti,delta") hanya diterapkan di atas snapshot yang belum bernomor.
+ */
+public class LeaveBalanceJournal implements Closeable {
+
+    /**
+     * Kapan data WAL dipaksa ke disk (fsync).
+     */
+    public enum FsyncPolicy {
+        /** fsync setiap append; paling aman. */
+        ALWAYS,
+        /** fsync berkala oleh thread latar belakang (maks. kehilangan satu interval saat crash OS). */
+        INTERVAL,
+        /** Serahkan ke OS. */
+        NEVER
+    }
+
+    private static final long FSYNC_INTERVAL_MS = 1000;
+
+    private final Path path;
+    private final FsyncPolicy fsyncPolicy;
+    private final FileChannel channel;
+    private final ScheduledExecutorService syncer;
+    private long pendingRecords;
+    private long lastSequence;
+    private boolean dirty;
+
+    /**
+     * @param snapshotSequence nomor urut yang tercakup snapshot; nomor berikutnya dimulai setelah
+     *                         nomor terbesar di snapshot maupun di WAL
+     */
+    public LeaveBalanceJournal(Path path, FsyncPolicy fsyncPolicy, long snapshotSequence) throws IOException {
+        this.path = path;
+        this.fsyncPolicy = fsyncPolicy;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+        // Buang record terakhir yang terpotong supaya append berikutnya tidak menempel padanya
+        byte[] content = Files.readAllBytes(path);
+        int validLength = completeLength(content);
+        if (validLength < content.length) {
+            channel.truncate(validLength);
+        }
+        this.pendingRecords = countRecords(content, validLength);
+        this.lastSequence = Math.max(snapshotSequence, maxSequence(content, validLength));
+
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "leave-balance-wal-sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncer.scheduleWithFixedDelay(this::syncQuietly, FSYNC_INTERVAL_MS, FSYNC_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+        } else {
+            syncer = null;
+        }
+    }
+
+    /**
+     * @param requestId id pengajuan cuti yang menyebabkan perubahan ini, atau null
+     */
+    public synchronized void append(String employeeId, String leaveType, int delta, String requestId)
+            throws IOException {
+        long sequence = lastSequence + 1;
+        byte[] record = (sequence + "," + employeeId + "," + leaveType + "," + delta
+            + (requestId != null ? "," + requestId : "") + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        lastSequence = sequence;
+        pendingRecords++;
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            channel.force(false);
+        } else {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Menerapkan ulang delta di WAL yang belum tercakup snapshot ke store. Baris terakhir yang
+     * terpotong (crash di tengah penulisan) diabaikan. Delta yang membawa id pengajuan juga dicatat
+     * ke store sebagai potongan yang belum dikonfirmasi (lihat {@link LeaveBalanceStore#refundOrphans}).
+     * @param snapshotSequence nomor urut terakhir yang sudah ada di snapshot (0 jika tidak ada)
+     * @return jumlah record yang diterapkan.
+     */
+    public static int replay(Path path, LeaveBalanceStore store, long snapshotSequence) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        byte[] content = Files.readAllBytes(path);
+        int applied = 0;
+        // Hanya record yang diakhiri newline yang dianggap lengkap
+        String records = new String(content, 0, completeLength(content), StandardCharsets.UTF_8);
+        for (String line : records.split("\n")) {
+            String[] cols = line.split(",");
+            if (cols.length < 3) {
+                continue;
+            }
+            try {
+                if (cols.length == 3) {
+                    // Format lama tanpa nomor urut
+                    if (snapshotSequence == 0) {
+                        store.applyDelta(cols[0], cols[1], Integer.parseInt(cols[2].trim()));
+                        applied++;
+                    }
+                } else if (Long.parseLong(cols[0]) > snapshotSequence) {
+                    int delta = Integer.parseInt(cols[3].trim());
+                    store.applyDelta(cols[1], cols[2], delta);
+                    if (cols.length > 4) {
+                        store.trackReplayed(cols[4].trim(), cols[1], cols[2], delta);
+                    }
+                    applied++;
+                }
+            } catch (NumberFormatException e) {
+                // record rusak
+            }
+        }
+        return applied;
+    }
+
+    private static int completeLength(byte[] content) {
+        int length = content.length;
+        while (length > 0 && content[length - 1] != '\n') {
+            length--;
+        }
+        return length;
+    }
+
+    /**
+     * Mengosongkan WAL setelah snapshot baru berhasil ditulis. Nomor urut tidak diulang dari awal.
+     */
+    public synchronized void truncate() throws IOException {
+        channel.truncate(0);
+        channel.force(true);
+        pendingRecords = 0;
+        dirty = false;
+    }
+
+    public synchronized long pendingRecords() {
+        return pendingRecords;
+    }
+
+    /**
+     * @return nomor urut record terakhir yang ditulis (atau yang tercakup snapshot saat dibuka).
+     */
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    private synchronized void syncQuietly() {
+        if (!dirty) {
+            return;
+        }
+        try {
+            channel.force(false);
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Error fsync WAL sisa cuti: " + e.getMessage());
+        }
+    }
+
+    private static long countRecords(byte[] content, int length) {
+        long records = 0;
+        for (int i = 0; i < length; i++) {
+            if (content[i] == '\n') {
+                records++;
+            }
+        }
+        return records;
+    }
+
+    private static long maxSequence(byte[] content, int length) {
+        long max = 0;
+        String records = new String(content, 0, length, StandardCharsets.UTF_8);
+        for (String line : records.split("\n")) {
+            String[] cols = line.split(",");
+            if (cols.length >= 4) {
+                try {
+                    max = Math.max(max, Long.parseLong(cols[0]));
+                } catch (NumberFormatException e) {
+                    // record rusak
+                }
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (syncer != null) {
+            syncer.shutdownNow();
+        }
+        if (channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+}
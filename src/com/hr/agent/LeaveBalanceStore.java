@@ -0,0 +1,475 @@
+package com.hr.agent;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Sisa cuti per karyawan yang aman diakses banyak thread.
+ * Setiap karyawan dijaga oleh lock bergaris (striped lock) sehingga cek-lalu-kurangi
+ * berjalan atomik tanpa mengunci karyawan lain.
+ *
+ * Jika dibuka dengan {@link #open}, setiap perubahan dicatat ke WAL dan snapshot
+ * leave_balances.csv ditulis ulang secara berkala (kompaksi) lewat file sementara + rename atomik.
+ * Baris terakhir snapshot ({@code #wal_seq,N}) mencatat nomor urut WAL yang sudah tercakup; baris
+ * ini hanya punya dua kolom sehingga dilewati saat parsing, dan replay WAL dimulai setelah N.
+ * Jika snapshot diedit dari luar, {@link #reloadIfChanged()} memuatnya ke map baru lalu menukar
+ * referensinya sekaligus; pembaca tidak pernah melihat map yang setengah dimuat.
+ *
+ * Potongan untuk pengajuan cuti dicatat ke WAL bersama id pengajuannya sebelum baris pengajuan
+ * tersimpan, dan dianggap belum dikonfirmasi sampai {@link #confirm} dipanggil. Potongan yang belum
+ * dikonfirmasi saat kompaksi ditulis ke snapshot sebagai baris {@code #pending,id_pengajuan,...}, jadi
+ * setelah crash {@link #refundOrphans} tetap bisa mengembalikan potongan yang barisnya tidak pernah tersimpan.
+ */
+public class LeaveBalanceStore implements Closeable {
+
+    /**
+     * Hasil percobaan pengurangan sisa cuti.
+     */
+    public enum Deduction {
+        OK,
+        NOT_FOUND,
+        INSUFFICIENT
+    }
+
+    private static final int LOCK_STRIPES = 64;
+    private static final String SEQUENCE_MARKER = "#wal_seq,";
+    private static final String PENDING_MARKER = "#pending";
+
+    // id karyawan -> (tipe cuti -> sisa hari); map dalam hanya diubah di bawah lock karyawan tsb.
+    // Referensi ditukar (bersama employeeOrder) hanya di bawah write lock persistensi saat reload.
+    private volatile Map<String, Map<String, Integer>> balances = new ConcurrentHashMap<>();
+    // Urutan id sesuai file supaya penulisan ulang CSV tetap stabil
+    private volatile List<String> employeeOrder = Collections.synchronizedList(new ArrayList<>());
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    // id pengajuan -> potongan yang sudah di WAL tetapi barisnya belum tentu tersimpan di leave_requests.csv
+    private final Map<String, Pending> unconfirmed = new ConcurrentHashMap<>();
+
+    // Read lock: perubahan saldo + append WAL; write lock: kompaksi (snapshot + truncate WAL) dan reload
+    private final ReadWriteLock persistenceLock = new ReentrantReadWriteLock();
+    private Path snapshotPath;
+    // Versi snapshot yang terakhir dimuat atau ditulis sendiri
+    private FileStamp snapshotStamp = FileStamp.MISSING;
+    private LeaveBalanceJournal journal;
+    private ScheduledExecutorService compactor;
+
+    public LeaveBalanceStore() {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Memuat snapshot CSV lalu memutar ulang WAL, kemudian membuka WAL untuk perubahan berikutnya.
+     */
+    public static LeaveBalanceStore open(Path snapshotPath, Path walPath,
+                                         LeaveBalanceJournal.FsyncPolicy fsyncPolicy) throws IOException {
+        LeaveBalanceStore store = new LeaveBalanceStore();
+        store.snapshotStamp = FileStamp.of(snapshotPath);
+        long snapshotSequence = 0;
+        if (Files.exists(snapshotPath)) {
+            store.loadSnapshot(snapshotPath.toString());
+            snapshotSequence = snapshotSequence(snapshotPath);
+        }
+        LeaveBalanceJournal.replay(walPath, store, snapshotSequence);
+        store.snapshotPath = snapshotPath;
+        store.journal = new LeaveBalanceJournal(walPath, fsyncPolicy, snapshotSequence);
+        return store;
+    }
+
+    private void loadSnapshot(String fileName) throws IOException {
+        // Potongan file di-parse paralel ke store sementara, lalu digabung sesuai urutan file
+        List<LeaveBalanceStore> chunks = ParallelCsv.parse(Paths.get(fileName), 3, LeaveBalanceStore::new,
+            (chunk, reader) -> {
+                if (reader.fieldEqualsIgnoreCase(0, PENDING_MARKER)) {
+                    if (reader.fieldCount() >= 5) {
+                        chunk.unconfirmed.put(reader.getString(1),
+                            new Pending(reader.getString(2), reader.getString(3), reader.getInt(4)));
+                    }
+                } else {
+                    chunk.put(reader.getString(0), reader.getString(1), reader.getInt(2));
+                }
+            });
+        for (LeaveBalanceStore chunk : chunks) {
+            unconfirmed.putAll(chunk.unconfirmed);
+            for (String employeeId : chunk.employeeOrder) {
+                Map<String, Integer> chunkBalances = chunk.balances.get(employeeId);
+                Map<String, Integer> employeeBalances = balances.get(employeeId);
+                if (employeeBalances == null) {
+                    balances.put(employeeId, chunkBalances);
+                    employeeOrder.add(employeeId);
+                } else {
+                    employeeBalances.putAll(chunkBalances);
+                }
+            }
+        }
+    }
+
+    // Nomor urut WAL dari baris "#wal_seq,N" di akhir snapshot; 0 jika tidak ada (misalnya file ditulis tangan)
+    private static long snapshotSequence(Path snapshotPath) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer tail = ByteBuffer.allocate((int) Math.min(size, 64));
+            while (tail.hasRemaining() && channel.read(tail, size - tail.capacity() + tail.position()) > 0) {
+                // baca sampai penuh
+            }
+            String text = new String(tail.array(), 0, tail.position(), StandardCharsets.UTF_8).trim();
+            String last = text.substring(text.lastIndexOf('\n') + 1).trim();
+            if (last.startsWith(SEQUENCE_MARKER)) {
+                try {
+                    return Long.parseLong(last.substring(SEQUENCE_MARKER.length()).trim());
+                } catch (NumberFormatException e) {
+                    // baris penanda rusak: anggap snapshot tanpa nomor urut
+                }
+            }
+            return 0;
+        }
+    }
+
+    private Object lockFor(String employeeId) {
+        return locks[(employeeId.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+
+    public void put(String employeeId, String leaveType, int days) {
+        synchronized (lockFor(employeeId)) {
+            Map<String, Integer> employeeBalances = balances.get(employeeId);
+            if (employeeBalances == null) {
+                employeeBalances = new LinkedHashMap<>();
+                balances.put(employeeId, employeeBalances);
+                employeeOrder.add(employeeId);
+            }
+            employeeBalances.put(leaveType, days);
+        }
+    }
+
+    /**
+     * Mencatat delta WAL milik sebuah pengajuan saat replay: potongan menjadi belum dikonfirmasi,
+     * pengembalian untuk id yang sama menghapusnya.
+     */
+    void trackReplayed(String requestId, String employeeId, String leaveType, int delta) {
+        if (delta < 0) {
+            unconfirmed.put(requestId, new Pending(employeeId, leaveType, -delta));
+        } else {
+            unconfirmed.remove(requestId);
+        }
+    }
+
+    /**
+     * Menerapkan delta dari WAL (tanpa mencatat ulang ke WAL).
+     */
+    void applyDelta(String employeeId, String leaveType, int delta) {
+        synchronized (lockFor(employeeId)) {
+            Map<String, Integer> employeeBalances = balances.get(employeeId);
+            int current = employeeBalances != null && employeeBalances.containsKey(leaveType)
+                ? employeeBalances.get(leaveType) : 0;
+            put(employeeId, leaveType, current + delta);
+        }
+    }
+
+    /**
+     * @return salinan sisa cuti seorang karyawan (urutan sesuai file), atau null jika tidak ada.
+     */
+    public Map<String, Integer> snapshot(String employeeId) {
+        synchronized (lockFor(employeeId)) {
+            Map<String, Integer> employeeBalances = balances.get(employeeId);
+            return employeeBalances != null ? new LinkedHashMap<>(employeeBalances) : null;
+        }
+    }
+
+    /**
+     * Mengurangi sisa cuti secara atomik: hanya berhasil jika sisa hari mencukupi,
+     * sehingga dua pengajuan paralel tidak bisa membuat saldo negatif.
+     * Jika WAL gagal ditulis, perubahan di memori dibatalkan dan IOException dilempar.
+     * @param requestId id pengajuan yang barisnya akan ditulis (atau null); potongan belum dikonfirmasi
+     *                  sampai {@link #confirm} atau {@link #refund} dipanggil dengan id ini
+     */
+    public Deduction tryDeduct(String employeeId, String leaveType, int days, String requestId)
+            throws IOException {
+        persistenceLock.readLock().lock();
+        try {
+            synchronized (lockFor(employeeId)) {
+                Map<String, Integer> employeeBalances = balances.get(employeeId);
+                Integer remaining = employeeBalances != null ? employeeBalances.get(leaveType) : null;
+                if (remaining == null) {
+                    return Deduction.NOT_FOUND;
+                }
+                if (remaining < days) {
+                    return Deduction.INSUFFICIENT;
+                }
+                employeeBalances.put(leaveType, remaining - days);
+            }
+            try {
+                if (journal != null) {
+                    journal.append(employeeId, leaveType, -days, requestId);
+                }
+            } catch (IOException e) {
+                restore(employeeId, leaveType, days);
+                throw e;
+            }
+            // Masih di bawah read lock: kompaksi melihat potongan dan statusnya bersamaan
+            if (requestId != null) {
+                unconfirmed.put(requestId, new Pending(employeeId, leaveType, days));
+            }
+            return Deduction.OK;
+        } finally {
+            persistenceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Baris pengajuan sudah tersimpan: potongannya tidak akan dikembalikan oleh {@link #refundOrphans}.
+     */
+    public void confirm(String requestId) {
+        unconfirmed.remove(requestId);
+    }
+
+    /**
+     * Mengembalikan hari yang sudah dikurangi, misalnya jika penyimpanan pengajuan gagal.
+     */
+    public void refund(String employeeId, String leaveType, int days, String requestId) {
+        persistenceLock.readLock().lock();
+        try {
+            restore(employeeId, leaveType, days);
+            // Dihapus meskipun WAL gagal ditulis: saldo di memori (dan snapshot berikutnya) sudah dikembalikan
+            if (requestId != null) {
+                unconfirmed.remove(requestId);
+            }
+            if (journal != null) {
+                journal.append(employeeId, leaveType, days, requestId);
+            }
+        } catch (IOException e) {
+            System.err.println("Error mencatat pengembalian sisa cuti ke WAL: " + e.getMessage());
+        } finally {
+            persistenceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return id pengajuan yang potongannya belum dikonfirmasi (setelah {@link #open}: potongan dari
+     *         snapshot dan WAL yang barisnya mungkin tidak tersimpan karena crash)
+     */
+    public Set<String> unconfirmedRequests() {
+        return new HashSet<>(unconfirmed.keySet());
+    }
+
+    /**
+     * Dipanggil sekali setelah {@link #open}, sebelum pengajuan baru diterima: potongan yang barisnya
+     * ada di persistedRequestIds dikonfirmasi, sisanya dikembalikan (dan pengembaliannya dicatat ke WAL).
+     * @return jumlah potongan yang dikembalikan
+     */
+    public int refundOrphans(Set<String> persistedRequestIds) {
+        int refunded = 0;
+        for (Map.Entry<String, Pending> entry : new ArrayList<>(unconfirmed.entrySet())) {
+            if (persistedRequestIds.contains(entry.getKey())) {
+                confirm(entry.getKey());
+            } else {
+                Pending pending = entry.getValue();
+                refund(pending.employeeId, pending.leaveType, pending.days, entry.getKey());
+                refunded++;
+            }
+        }
+        return refunded;
+    }
+
+    private void restore(String employeeId, String leaveType, int days) {
+        synchronized (lockFor(employeeId)) {
+            Map<String, Integer> employeeBalances = balances.get(employeeId);
+            if (employeeBalances != null) {
+                employeeBalances.merge(leaveType, days, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Memuat ulang leave_balances.csv jika file diubah dari luar sejak terakhir dimuat/ditulis.
+     * Delta di WAL yang belum dikompaksi diterapkan ulang di atas snapshot hasil edit.
+     * @return jumlah karyawan setelah reload, atau -1 jika file tidak berubah.
+     */
+    public int reloadIfChanged() throws IOException {
+        if (journal == null) {
+            return -1;
+        }
+        persistenceLock.writeLock().lock();
+        try {
+            if (FileStamp.of(snapshotPath).equals(snapshotStamp)) {
+                return -1;
+            }
+            reloadLocked();
+            return employeeOrder.size();
+        } finally {
+            persistenceLock.writeLock().unlock();
+        }
+    }
+
+    // Dipanggil di bawah write lock: tidak ada perubahan saldo yang berjalan bersamaan
+    private void reloadLocked() throws IOException {
+        FileStamp stamp = FileStamp.of(snapshotPath);
+        LeaveBalanceStore fresh = new LeaveBalanceStore();
+        long snapshotSequence = 0;
+        if (Files.exists(snapshotPath)) {
+            fresh.loadSnapshot(snapshotPath.toString());
+            snapshotSequence = snapshotSequence(snapshotPath);
+        }
+        LeaveBalanceJournal.replay(journal.getPath(), fresh, snapshotSequence);
+        balances = fresh.balances;
+        employeeOrder = fresh.employeeOrder;
+        snapshotStamp = stamp;
+    }
+
+    /**
+     * Menulis snapshot baru secara atomik (file sementara + rename + fsync direktori) lalu mengosongkan WAL.
+     * Perubahan saldo ditahan sebentar selama kompaksi supaya snapshot dan WAL konsisten.
+     * Snapshot membawa nomor urut WAL terakhir, jadi crash sebelum WAL dikosongkan aman: saat dibuka,
+     * record yang sudah tercakup snapshot dilewati.
+     * Jika snapshot sempat diedit dari luar, edit tsb dimuat dulu supaya tidak tertimpa.
+     */
+    public void compact() throws IOException {
+        if (journal == null) {
+            return;
+        }
+        persistenceLock.writeLock().lock();
+        try {
+            if (journal.pendingRecords() == 0) {
+                return;
+            }
+            if (!FileStamp.of(snapshotPath).equals(snapshotStamp)) {
+                reloadLocked();
+            }
+            Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            writeSnapshot(temp, journal.lastSequence());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            syncDirectory(snapshotPath.toAbsolutePath().getParent());
+            snapshotStamp = FileStamp.of(snapshotPath);
+            journal.truncate();
+        } finally {
+            persistenceLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Menjalankan kompaksi di thread latar belakang setiap intervalSeconds detik.
+     */
+    public synchronized void startCompactor(long intervalSeconds) {
+        if (journal == null || compactor != null) {
+            return;
+        }
+        compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "leave-balance-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(() -> {
+            try {
+                compact();
+            } catch (IOException e) {
+                System.err.println("Error kompaksi leave_balances.csv: " + e.getMessage());
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    // Rename baru tahan crash setelah entri direktorinya di-fsync. Tidak semua platform bisa
+    // membuka direktori (misalnya Windows); di sana langkah ini dilewati.
+    private static void syncDirectory(Path dir) throws IOException {
+        if (dir == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException | UnsupportedOperationException e) {
+            // fsync direktori tidak didukung
+        }
+    }
+
+    /**
+     * Menulis seluruh sisa cuti in-memory sebagai CSV, diakhiri nomor urut WAL yang tercakup.
+     */
+    private void writeSnapshot(Path path, long walSequence) throws IOException {
+        // Read lock: daftar id dan map saldo tidak ditukar reload selama penulisan
+        persistenceLock.readLock().lock();
+        try {
+            List<String> order = employeeOrder;
+            List<String> ids;
+            synchronized (order) {
+                ids = new ArrayList<>(order);
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                writer.write("id_karyawan,tipe_cuti,sisa_hari");
+                for (String employeeId : ids) {
+                    Map<String, Integer> employeeBalances = snapshot(employeeId);
+                    for (Map.Entry<String, Integer> entry : employeeBalances.entrySet()) {
+                        writer.newLine();
+                        writer.write(employeeId + "," + entry.getKey() + "," + entry.getValue());
+                    }
+                }
+                // Potongan ini sudah termasuk saldo di atas; dicatat supaya tetap bisa dikembalikan setelah crash
+                for (Map.Entry<String, Pending> entry : unconfirmed.entrySet()) {
+                    Pending pending = entry.getValue();
+                    writer.newLine();
+                    writer.write(PENDING_MARKER + "," + entry.getKey() + "," + pending.employeeId + ","
+                        + pending.leaveType + "," + pending.days);
+                }
+                writer.newLine();
+                writer.write(SEQUENCE_MARKER + walSequence);
+            }
+        } finally {
+            persistenceLock.readLock().unlock();
+        }
+    }
+
+    public int employeeCount() {
+        return employeeOrder.size();
+    }
+
+    // Potongan satu pengajuan yang belum dikonfirmasi
+    private static final class Pending {
+        final String employeeId;
+        final String leaveType;
+        final int days;
+
+        Pending(String employeeId, String leaveType, int days) {
+            this.employeeId = employeeId;
+            this.leaveType = leaveType;
+            this.days = days;
+        }
+    }
+
+    /**
+     * Menghentikan kompaktor, melakukan kompaksi terakhir, lalu menutup WAL.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (compactor != null) {
+            compactor.shutdownNow();
+            compactor = null;
+        }
+        if (journal != null) {
+            compact();
+            journal.close();
+        }
+    }
+}
@@ -0,0 +1,541 @@
+package com.hr.agent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kalender cuti: indeks interval atas pengajuan cuti yang masih berlaku (Disetujui dan
+ * Menunggu Persetujuan), dikelompokkan per departemen dan per manajer (tim bawahan langsung).
+ *
+ * Setiap kelompok menyimpan interval terurut tanggal mulai beserta segment tree tanggal selesai
+ * maksimum, sehingga "siapa yang cuti di rentang [a, b]" O(log n + k) tanpa memindai riwayat.
+ * Cuti baru masuk ke buffer kecil yang digabung ke bagian terurut setelah penuh.
+ *
+ * Karyawan dirujuk lewat baris di {@link EmployeeDirectory}; tanggal selesai inklusif
+ * (sama dengan leave_requests.csv). Satu penulis pada satu waktu ({@link #add} synchronized);
+ * pembaca tidak memakai lock karena setiap kelompok dipublikasikan sebagai snapshot immutable dan
+ * kolom entri lewat referensi volatile yang diganti setiap kali tabel diperbesar.
+ */
+public final class LeaveCalendar {
+
+    static final String STATUS_APPROVED = "Disetujui";
+    static final String STATUS_PENDING = "Menunggu Persetujuan";
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int[] NONE = new int[0];
+
+    private final EmployeeDirectory directory;
+    private final StringDictionary leaveTypes = new StringDictionary();
+    private final StringDictionary statuses = new StringDictionary();
+
+    // Tabel entri: indeks kelompok menyimpan nomor entri. Slot baru ditulis sebelum kelompoknya
+    // dipublikasikan, jadi pembaca yang membaca kelompok lalu columns selalu melihat entrinya.
+    private volatile int entryCount;
+    private volatile Columns columns = new Columns(INITIAL_CAPACITY);
+
+    private final Map<String, IntervalIndex> byDepartment = new ConcurrentHashMap<>();
+    private final Map<Integer, IntervalIndex> byManager = new ConcurrentHashMap<>();
+
+    private LeaveCalendar(EmployeeDirectory directory) {
+        this.directory = directory;
+    }
+
+    public static LeaveCalendar empty(EmployeeDirectory directory) {
+        return new LeaveCalendar(directory);
+    }
+
+    /**
+     * Mem-parse leave_requests.csv paralel; hanya pengajuan yang masih berlaku yang disimpan.
+     */
+    public static List<Chunk> parse(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Collections.emptyList();
+        }
+        return ParallelCsv.parse(file, 6, Chunk::new, Chunk::add);
+    }
+
+    /**
+     * Membangun kalender dari hasil {@link #parse}; pengajuan karyawan yang tidak ada di direktori dilewati.
+     */
+    public static LeaveCalendar build(EmployeeDirectory directory, List<Chunk> chunks) {
+        LeaveCalendar calendar = new LeaveCalendar(directory);
+        for (Chunk chunk : chunks) {
+            int[] types = chunk.types.remapTo(calendar.leaveTypes);
+            int[] chunkStatuses = chunk.statuses.remapTo(calendar.statuses);
+            for (int i = 0; i < chunk.size; i++) {
+                int row = directory.rowOf(chunk.employeeIds[i]);
+                if (row >= 0) {
+                    calendar.addEntry(row, chunk.startDays[i], chunk.endDays[i], types[chunk.typeCodes[i]],
+                        chunkStatuses[chunk.statusCodes[i]]);
+                }
+            }
+        }
+
+        // Kelompok dibangun sekali dari semua entri (tanpa buffer)
+        Map<String, IntBuffer> departments = new HashMap<>();
+        Map<Integer, IntBuffer> managers = new HashMap<>();
+        Columns columns = calendar.columns;
+        for (int entry = 0; entry < calendar.entryCount; entry++) {
+            int row = columns.employeeRows[entry];
+            departments.computeIfAbsent(calendar.departmentKey(row), k -> new IntBuffer()).add(entry);
+            int manager = directory.getOrgChart().manager(row);
+            if (manager >= 0) {
+                managers.computeIfAbsent(manager, k -> new IntBuffer()).add(entry);
+            }
+        }
+        for (Map.Entry<String, IntBuffer> group : departments.entrySet()) {
+            calendar.byDepartment.put(group.getKey(), calendar.index(group.getValue().toArray()));
+        }
+        for (Map.Entry<Integer, IntBuffer> group : managers.entrySet()) {
+            calendar.byManager.put(group.getKey(), calendar.index(group.getValue().toArray()));
+        }
+        return calendar;
+    }
+
+    /**
+     * Mencatat cuti baru (status {@link #STATUS_APPROVED} atau {@link #STATUS_PENDING}).
+     */
+    public synchronized void add(int employeeRow, String leaveType, LocalDate start, LocalDate end, String status) {
+        int entry = addEntry(employeeRow, (int) start.toEpochDay(), (int) end.toEpochDay(),
+            leaveTypes.encode(leaveType), statuses.encode(status));
+        String department = departmentKey(employeeRow);
+        byDepartment.put(department, with(byDepartment.get(department), entry));
+        int manager = directory.getOrgChart().manager(employeeRow);
+        if (manager >= 0) {
+            byManager.put(manager, with(byManager.get(manager), entry));
+        }
+    }
+
+    // ===================== QUERY =====================
+
+    /**
+     * @return entri cuti karyawan yang beririsan dengan [start, end], atau -1 jika tidak ada.
+     */
+    public int findOverlap(int employeeRow, LocalDate start, LocalDate end) {
+        IntervalIndex index = byDepartment.get(departmentKey(employeeRow));
+        if (index == null) {
+            return -1;
+        }
+        int[] employeeRows = columns.employeeRows;
+        for (int entry : index.overlapping((int) start.toEpochDay(), (int) end.toEpochDay())) {
+            if (employeeRows[entry] == employeeRow) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Cuti yang beririsan dengan [from, to] di satu departemen (null untuk semua departemen),
+     * terurut tanggal mulai.
+     */
+    public int[] whoIsOut(String department, LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        if (department != null) {
+            IntervalIndex index = byDepartment.get(department.trim().toLowerCase());
+            return index != null ? sortByStart(index.overlapping(fromDay, toDay)) : NONE;
+        }
+        IntBuffer all = new IntBuffer();
+        for (IntervalIndex index : byDepartment.values()) {
+            all.addAll(index.overlapping(fromDay, toDay));
+        }
+        return sortByStart(all.toArray());
+    }
+
+    /**
+     * Cuti satu karyawan yang beririsan dengan [from, to], terurut tanggal mulai.
+     */
+    public int[] employeeOut(int employeeRow, LocalDate from, LocalDate to) {
+        IntervalIndex index = byDepartment.get(departmentKey(employeeRow));
+        if (index == null) {
+            return NONE;
+        }
+        int[] employeeRows = columns.employeeRows;
+        IntBuffer own = new IntBuffer();
+        for (int entry : index.overlapping((int) from.toEpochDay(), (int) to.toEpochDay())) {
+            if (employeeRows[entry] == employeeRow) {
+                own.add(entry);
+            }
+        }
+        return sortByStart(own.toArray());
+    }
+
+    /**
+     * Cuti bawahan langsung seorang manajer yang beririsan dengan [from, to], terurut tanggal mulai.
+     */
+    public int[] teamOut(int managerRow, LocalDate from, LocalDate to) {
+        IntervalIndex index = byManager.get(managerRow);
+        return index != null
+            ? sortByStart(index.overlapping((int) from.toEpochDay(), (int) to.toEpochDay())) : NONE;
+    }
+
+    /**
+     * Jumlah maksimum rekan satu tim (bawahan langsung manajer yang sama, tanpa karyawan itu sendiri)
+     * yang cuti pada hari yang sama di rentang [start, end].
+     * @return null jika karyawan tidak punya manajer
+     */
+    public Coverage teamCoverage(int employeeRow, LocalDate start, LocalDate end) {
+        int manager = directory.getOrgChart().manager(employeeRow);
+        if (manager < 0) {
+            return null;
+        }
+        int startDay = (int) start.toEpochDay();
+        int endDay = (int) end.toEpochDay();
+        // Sweep: +1 di hari mulai, -1 sehari setelah selesai (dipotong ke rentang pengajuan)
+        int[] entries = teamOut(manager, start, end);
+        Columns columns = this.columns;
+        long[] events = new long[entries.length * 2];
+        int eventCount = 0;
+        for (int entry : entries) {
+            if (columns.employeeRows[entry] == employeeRow) {
+                continue;
+            }
+            events[eventCount++] = ((long) Math.max(columns.startDays[entry], startDay) << 1) | 1;
+            events[eventCount++] = (long) (Math.min(columns.endDays[entry], endDay) + 1) << 1;
+        }
+        Arrays.sort(events, 0, eventCount);
+        int out = 0;
+        int peak = 0;
+        int peakDay = startDay;
+        // Untuk hari yang sama, -1 (bit 0) diproses sebelum +1 (bit 1)
+        for (int i = 0; i < eventCount; i++) {
+            out += (events[i] & 1) != 0 ? 1 : -1;
+            if (out > peak) {
+                peak = out;
+                peakDay = (int) (events[i] >> 1);
+            }
+        }
+        return new Coverage(manager, directory.getOrgChart().directReportCount(manager), peak,
+            LocalDate.ofEpochDay(peakDay));
+    }
+
+    public int size() {
+        return entryCount;
+    }
+
+    /**
+     * Direktori yang dipakai saat kalender dibangun; baris entri merujuk ke direktori ini.
+     */
+    public EmployeeDirectory getDirectory() {
+        return directory;
+    }
+
+    public int employeeRow(int entry) {
+        return columns.employeeRows[entry];
+    }
+
+    public LocalDate start(int entry) {
+        return LocalDate.ofEpochDay(columns.startDays[entry]);
+    }
+
+    public LocalDate end(int entry) {
+        return LocalDate.ofEpochDay(columns.endDays[entry]);
+    }
+
+    public String leaveType(int entry) {
+        return leaveTypes.decode(columns.typeCodes[entry]);
+    }
+
+    public String status(int entry) {
+        return statuses.decode(columns.statusCodes[entry]);
+    }
+
+    /**
+     * Hasil cek jumlah rekan tim yang cuti bersamaan.
+     */
+    public static final class Coverage {
+        private final int managerRow;
+        private final int teamSize;
+        private final int peakOthersOut;
+        private final LocalDate peakDay;
+
+        Coverage(int managerRow, int teamSize, int peakOthersOut, LocalDate peakDay) {
+            this.managerRow = managerRow;
+            this.teamSize = teamSize;
+            this.peakOthersOut = peakOthersOut;
+            this.peakDay = peakDay;
+        }
+
+        public int getManagerRow() {
+            return managerRow;
+        }
+
+        /** Jumlah bawahan langsung manajer (termasuk karyawan yang mengajukan). */
+        public int getTeamSize() {
+            return teamSize;
+        }
+
+        /** Rekan tim yang sudah cuti pada hari tersibuk, tanpa karyawan yang mengajukan. */
+        public int getPeakOthersOut() {
+            return peakOthersOut;
+        }
+
+        public LocalDate getPeakDay() {
+            return peakDay;
+        }
+    }
+
+    // ===================== INTERNAL =====================
+
+    private String departmentKey(int employeeRow) {
+        return directory.all().get(employeeRow).getDepartment().toLowerCase();
+    }
+
+    private int addEntry(int row, int startDay, int endDay, int type, int status) {
+        int entry = entryCount;
+        Columns target = columns;
+        if (entry == target.employeeRows.length) {
+            target = target.grow(entry * 2);
+        }
+        // Slot di atas entryCount belum dirujuk kelompok mana pun, aman ditulis di array yang sedang dibaca
+        target.employeeRows[entry] = row;
+        target.startDays[entry] = startDay;
+        target.endDays[entry] = endDay;
+        target.typeCodes[entry] = type;
+        target.statusCodes[entry] = status;
+        columns = target;
+        entryCount = entry + 1;
+        return entry;
+    }
+
+    private int[] sortByStart(int[] entries) {
+        int[] startDays = columns.startDays;
+        long[] keyed = new long[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            keyed[i] = ((long) startDays[entries[i]] << 32) | entries[i];
+        }
+        Arrays.sort(keyed);
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = (int) keyed[i];
+        }
+        return entries;
+    }
+
+    private IntervalIndex index(int[] entries) {
+        return new IntervalIndex(sortByStart(entries), columns);
+    }
+
+    // Snapshot baru dengan satu entri tambahan; buffer penuh digabung ke bagian terurut
+    private IntervalIndex with(IntervalIndex index, int entry) {
+        if (index == null) {
+            return index(new int[] {entry});
+        }
+        int[] buffer = Arrays.copyOf(index.buffer, index.buffer.length + 1);
+        buffer[buffer.length - 1] = entry;
+        if (buffer.length < IntervalIndex.BUFFER_LIMIT) {
+            return new IntervalIndex(index, buffer, columns);
+        }
+        int[] merged = Arrays.copyOf(index.sorted, index.sorted.length + buffer.length);
+        System.arraycopy(buffer, 0, merged, index.sorted.length, buffer.length);
+        return index(merged);
+    }
+
+    /**
+     * Kolom tabel entri. Array diganti (bukan diubah ukurannya) saat tabel penuh; nilai slot
+     * yang sudah terisi tidak pernah berubah.
+     */
+    private static final class Columns {
+        final int[] employeeRows;
+        final int[] startDays;
+        final int[] endDays;
+        final int[] typeCodes;
+        final int[] statusCodes;
+
+        Columns(int capacity) {
+            this(new int[capacity], new int[capacity], new int[capacity], new int[capacity], new int[capacity]);
+        }
+
+        private Columns(int[] employeeRows, int[] startDays, int[] endDays, int[] typeCodes, int[] statusCodes) {
+            this.employeeRows = employeeRows;
+            this.startDays = startDays;
+            this.endDays = endDays;
+            this.typeCodes = typeCodes;
+            this.statusCodes = statusCodes;
+        }
+
+        Columns grow(int capacity) {
+            return new Columns(Arrays.copyOf(employeeRows, capacity), Arrays.copyOf(startDays, capacity),
+                Arrays.copyOf(endDays, capacity), Arrays.copyOf(typeCodes, capacity),
+                Arrays.copyOf(statusCodes, capacity));
+        }
+    }
+
+    /**
+     * Interval satu kelompok: bagian terurut tanggal mulai + segment tree tanggal selesai maksimum,
+     * ditambah buffer kecil tak terurut untuk cuti baru. Immutable; tanggal yang dibutuhkan query
+     * disalin saat dibangun sehingga tidak membaca tabel entri kalender.
+     */
+    private static final class IntervalIndex {
+        static final int BUFFER_LIMIT = 256;
+
+        final int[] sorted;
+        final int[] sortedStarts;
+        // tree[1] akar; daun di [leaves, 2 * leaves)
+        final int[] maxEnd;
+        final int leaves;
+        final int[] buffer;
+        final int[] bufferStarts;
+        final int[] bufferEnds;
+
+        IntervalIndex(int[] sorted, Columns columns) {
+            int[] startDays = columns.startDays;
+            int[] endDays = columns.endDays;
+            this.sorted = sorted;
+            this.buffer = NONE;
+            this.bufferStarts = NONE;
+            this.bufferEnds = NONE;
+            this.sortedStarts = new int[sorted.length];
+            int size = 1;
+            while (size < sorted.length) {
+                size <<= 1;
+            }
+            this.leaves = size;
+            this.maxEnd = new int[2 * size];
+            Arrays.fill(maxEnd, Integer.MIN_VALUE);
+            for (int i = 0; i < sorted.length; i++) {
+                sortedStarts[i] = startDays[sorted[i]];
+                maxEnd[size + i] = endDays[sorted[i]];
+            }
+            for (int node = size - 1; node >= 1; node--) {
+                maxEnd[node] = Math.max(maxEnd[2 * node], maxEnd[2 * node + 1]);
+            }
+        }
+
+        // Bagian terurut dipakai bersama, hanya buffer yang baru (entri terakhir buffer = entri baru)
+        IntervalIndex(IntervalIndex base, int[] buffer, Columns columns) {
+            int last = buffer.length - 1;
+            this.sorted = base.sorted;
+            this.sortedStarts = base.sortedStarts;
+            this.maxEnd = base.maxEnd;
+            this.leaves = base.leaves;
+            this.buffer = buffer;
+            this.bufferStarts = Arrays.copyOf(base.bufferStarts, buffer.length);
+            this.bufferEnds = Arrays.copyOf(base.bufferEnds, buffer.length);
+            bufferStarts[last] = columns.startDays[buffer[last]];
+            bufferEnds[last] = columns.endDays[buffer[last]];
+        }
+
+        int[] overlapping(int fromDay, int toDay) {
+            IntBuffer result = new IntBuffer();
+            // Hanya interval dengan mulai <= toDay (prefix [0, limit)) yang mungkin beririsan
+            int limit = upperBound(sortedStarts, toDay);
+            if (limit > 0) {
+                collect(1, 0, leaves, limit, fromDay, result);
+            }
+            for (int i = 0; i < buffer.length; i++) {
+                if (bufferStarts[i] <= toDay && bufferEnds[i] >= fromDay) {
+                    result.add(buffer[i]);
+                }
+            }
+            return result.toArray();
+        }
+
+        // Subtree yang seluruh tanggal selesainya < fromDay dilewati
+        private void collect(int node, int nodeFrom, int nodeTo, int limit, int fromDay, IntBuffer result) {
+            if (nodeFrom >= limit || maxEnd[node] < fromDay) {
+                return;
+            }
+            if (node >= leaves) {
+                result.add(sorted[node - leaves]);
+                return;
+            }
+            int middle = (nodeFrom + nodeTo) >>> 1;
+            collect(2 * node, nodeFrom, middle, limit, fromDay, result);
+            collect(2 * node + 1, middle, nodeTo, limit, fromDay, result);
+        }
+    }
+
+    private static int upperBound(int[] values, int key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static final class IntBuffer {
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(int[] more) {
+            for (int value : more) {
+                add(value);
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * Baris pengajuan cuti yang masih berlaku dari satu potongan file (id karyawan mentah,
+     * dictionary lokal), supaya potongan bisa di-parse paralel sebelum data karyawan selesai dimuat.
+     */
+    public static final class Chunk {
+        private final StringDictionary types = new StringDictionary();
+        private final StringDictionary statuses = new StringDictionary();
+        private int size;
+        private String[] employeeIds = new String[INITIAL_CAPACITY];
+        private int[] startDays = new int[INITIAL_CAPACITY];
+        private int[] endDays = new int[INITIAL_CAPACITY];
+        private int[] typeCodes = new int[INITIAL_CAPACITY];
+        private int[] statusCodes = new int[INITIAL_CAPACITY];
+
+        private void add(CsvReader row) {
+            String status = row.getString(5);
+            if (!STATUS_APPROVED.equals(status) && !STATUS_PENDING.equals(status)) {
+                return;
+            }
+            int start;
+            int end;
+            try {
+                start = (int) row.getDate(3).toEpochDay();
+                end = (int) row.getDate(4).toEpochDay();
+            } catch (DateTimeParseException e) {
+                return; // baris rusak dilewati
+            }
+            if (size == employeeIds.length) {
+                int capacity = size * 2;
+                employeeIds = Arrays.copyOf(employeeIds, capacity);
+                startDays = Arrays.copyOf(startDays, capacity);
+                endDays = Arrays.copyOf(endDays, capacity);
+                typeCodes = Arrays.copyOf(typeCodes, capacity);
+                statusCodes = Arrays.copyOf(statusCodes, capacity);
+            }
+            employeeIds[size] = row.getString(1);
+            startDays[size] = start;
+            endDays[size] = end;
+            typeCodes[size] = types.encode(row.getString(2));
+            statusCodes[size] = statuses.encode(status);
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.hr.agent;
+
+import java.time.LocalDate;
+
+/**
+ * Satu baris leave_requests.csv
+ * (id_request,id_karyawan,tipe_cuti,tanggal_mulai,tanggal_selesai,status_request).
+ */
+public final class LeaveRequest {
+
+    private final String requestId;
+    private final String employeeId;
+    private final String leaveType;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final String status;
+
+    public LeaveRequest(String requestId, String employeeId, String leaveType,
+                        LocalDate startDate, LocalDate endDate, String status) {
+        this.requestId = requestId;
+        this.employeeId = employeeId;
+        this.leaveType = leaveType;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = status;
+    }
+
+    /**
+     * @return null jika jumlah kolom kurang dari 6 atau tanggal tidak valid.
+     */
+    public static LeaveRequest fromColumns(String[] cols) {
+        if (cols.length < 6) {
+            return null;
+        }
+        try {
+            return new LeaveRequest(cols[0].trim(), cols[1].trim(), cols[2].trim(),
+                LocalDate.parse(cols[3].trim()), LocalDate.parse(cols[4].trim()), cols[5].trim());
+        } catch (java.time.format.DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Membaca baris aktif CsvReader; tanggal di-parse langsung dari byte.
+     * @return null jika jumlah kolom kurang dari 6 atau tanggal tidak valid.
+     */
+    public static LeaveRequest fromRow(CsvReader row) {
+        if (row.fieldCount() < 6) {
+            return null;
+        }
+        try {
+            return new LeaveRequest(row.getString(0), row.getString(1), row.getString(2),
+                row.getDate(3), row.getDate(4), row.getString(5));
+        } catch (java.time.format.DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    public String toCsvRow() {
+        return String.join(",", requestId, employeeId, leaveType, startDate.toString(), endDate.toString(), status);
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    public String getLeaveType() {
+        return leaveType;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,63 @@
+package com.hr.agent;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Indeks pengajuan cuti terakhir per id karyawan.
+ * Dibangun sekali dari leave_requests.csv dan diperbarui setiap ada pengajuan baru,
+ * sehingga cek status cuti cukup satu lookup.
+ */
+public class LeaveRequestIndex {
+
+    private final Map<String, LeaveRequest> latestByEmployee = new ConcurrentHashMap<>();
+    private final AtomicInteger recorded = new AtomicInteger();
+
+    public static LeaveRequestIndex load(String fileName) throws IOException {
+        // Tiap potongan file menyimpan pengajuan terakhir per karyawan di potongan itu saja;
+        // digabung sesuai urutan file sehingga baris yang lebih akhir tetap menang
+        List<LeaveRequestIndex> chunks = ParallelCsv.parse(Paths.get(fileName), 6, LeaveRequestIndex::new,
+            (chunk, reader) -> {
+                LeaveRequest request = LeaveRequest.fromRow(reader);
+                if (request != null) {
+                    chunk.record(request);
+                }
+            });
+        if (chunks.size() == 1) {
+            return chunks.get(0);
+        }
+        LeaveRequestIndex index = new LeaveRequestIndex();
+        for (LeaveRequestIndex chunk : chunks) {
+            index.latestByEmployee.putAll(chunk.latestByEmployee);
+            index.recorded.addAndGet(chunk.recorded.get());
+        }
+        return index;
+    }
+
+    /**
+     * Mencatat pengajuan baru; baris yang lebih akhir menggantikan pengajuan sebelumnya.
+     */
+    public void record(LeaveRequest request) {
+        latestByEmployee.put(request.getEmployeeId(), request);
+        recorded.incrementAndGet();
+    }
+
+    public LeaveRequest findLatest(String employeeId) {
+        return employeeId == null ? null : latestByEmployee.get(employeeId);
+    }
+
+    public int size() {
+        return latestByEmployee.size();
+    }
+
+    /**
+     * @return jumlah pengajuan yang pernah dicatat (baris file + pengajuan baru).
+     */
+    public int recordedCount() {
+        return recorded.get();
+    }
+}
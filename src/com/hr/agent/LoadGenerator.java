@@ -0,0 +1,175 @@
+package com.hr.agent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load generator lokal untuk mode server. Untuk setiap tingkat konkurensi, N klien berjalan
+ * bersamaan (virtual thread di JDK 21+) dan masing-masing mengirim beberapa request POST /ask
+ * berurutan; hasilnya p50/p99/maks latensi, throughput, serta jumlah 503 (backpressure) dan error.
+ *
+ * <pre>
+ * java -cp bin com.hr.agent.LoadGenerator [--url http://localhost:8080/ask]
+ *     [--concurrency 1000,5000,20000] [--requests 5] [--input "siapa manajer rina?"]
+ * </pre>
+ */
+public class LoadGenerator {
+
+    private static final int TIMEOUT_MS = 60_000;
+
+    private final URL url;
+    private final byte[] body;
+
+    public LoadGenerator(URL url, String input) {
+        this.url = url;
+        this.body = input.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = option(args, "--url", "http://localhost:8080/ask");
+        String levels = option(args, "--concurrency", "1000,5000,20000");
+        int requests = Integer.parseInt(option(args, "--requests", "5"));
+        String input = option(args, "--input", "siapa manajer rina?");
+
+        // Pool keep-alive HttpURLConnection default hanya 5 koneksi per host
+        if (System.getProperty("http.maxConnections") == null) {
+            System.setProperty("http.maxConnections", "20000");
+        }
+        LoadGenerator generator = new LoadGenerator(new URL(url), input);
+        generator.run(200, 1); // pemanasan JIT di klien dan server
+
+        System.out.println("koneksi   request      p50(ms)   p99(ms)   maks(ms)   req/s      503   error");
+        for (String level : levels.split(",")) {
+            System.out.println(generator.run(Integer.parseInt(level.trim()), requests));
+        }
+    }
+
+    /**
+     * @return satu baris ringkasan untuk tingkat konkurensi tsb.
+     */
+    public String run(int concurrency, int requestsPerClient) throws InterruptedException {
+        long[][] latencies = new long[concurrency][];
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch ready = new CountDownLatch(concurrency);
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        ExecutorService executor = VirtualThreads.newPerTaskExecutor("load-client");
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                int client = i;
+                executor.execute(() -> {
+                    long[] samples = new long[requestsPerClient];
+                    int count = 0;
+                    try {
+                        ready.countDown();
+                        go.await();
+                        for (int r = 0; r < requestsPerClient; r++) {
+                            long start = System.nanoTime();
+                            int status;
+                            try {
+                                status = post();
+                            } catch (IOException e) {
+                                // Satu request gagal (timeout, koneksi ditolak): dihitung lalu klien lanjut
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                            if (status == 200) {
+                                samples[count++] = System.nanoTime() - start;
+                            } else if (status == 503) {
+                                rejected.incrementAndGet();
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        latencies[client] = Arrays.copyOf(samples, count);
+                        done.countDown();
+                    }
+                });
+            }
+            ready.await();
+            long start = System.nanoTime();
+            go.countDown();
+            done.await();
+            long elapsedNanos = System.nanoTime() - start;
+            return summarize(concurrency, latencies, elapsedNanos, rejected.get(), errors.get());
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private int post() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setConnectTimeout(TIMEOUT_MS);
+        connection.setReadTimeout(TIMEOUT_MS);
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "text/plain; charset=utf-8");
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+        int status = connection.getResponseCode();
+        // Baca habis body supaya koneksi bisa dipakai ulang (keep-alive)
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            if (in != null) {
+                byte[] buffer = new byte[4096];
+                while (in.read(buffer) != -1) {
+                    // buang
+                }
+            }
+        }
+        return status;
+    }
+
+    private static String summarize(int concurrency, long[][] latencies, long elapsedNanos,
+                                    long rejected, long errors) {
+        int total = 0;
+        for (long[] samples : latencies) {
+            total += samples.length;
+        }
+        long[] all = new long[total];
+        int pos = 0;
+        for (long[] samples : latencies) {
+            System.arraycopy(samples, 0, all, pos, samples.length);
+            pos += samples.length;
+        }
+        Arrays.sort(all);
+
+        double seconds = elapsedNanos / 1e9;
+        return String.format(Locale.ROOT, "%-9d %-12d %-9.2f %-9.2f %-10.2f %-10.0f %-7d %d",
+            concurrency, total, percentile(all, 0.50), percentile(all, 0.99),
+            all.length > 0 ? all[all.length - 1] / 1e6 : 0.0, total / seconds, rejected, errors);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,158 @@
+package com.hr.agent;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry metrik hot path: histogram latensi per (tahap, intent), counter error per intent,
+ * counter bernama dan gauge. Pencatatan tidak memakai lock (LongAdder dan bucket atomik);
+ * histogram dibuat saat pertama kali dipakai.
+ *
+ * {@link #render()} menghasilkan format teks Prometheus (dipakai endpoint /metrics dan dump berkala).
+ */
+public final class Metrics {
+
+    /**
+     * Tahap pemrosesan satu input.
+     */
+    public enum Stage {
+        /** Scan kata kunci dan penentuan intent. */
+        INTENT_DETECTION("intent_detection"),
+        /** Pencarian nama karyawan (persis, lalu toleran typo). */
+        NAME_EXTRACTION("name_extraction"),
+        /** Ekstraksi tanggal, jumlah, tipe cuti, kategori dan reviewer. */
+        SLOT_EXTRACTION("slot_extraction"),
+        /** Jawaban pertanyaan read-only saat tidak ada di cache. */
+        LOOKUP("lookup"),
+        /** Pemanggilan backend HRFunctions. */
+        HR_FUNCTION("hr_function"),
+        /** Pengurangan/pengembalian sisa cuti (termasuk WAL). */
+        BALANCE_UPDATE("balance_update"),
+        /** Append baris ke file CSV. */
+        PERSISTENCE("persistence"),
+        /** Seluruh ask(), dari input sampai jawaban. */
+        TOTAL("total");
+
+        private final String label;
+
+        Stage(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final Intent[] INTENTS = Intent.values();
+    private static final Stage[] STAGES = Stage.values();
+
+    private final AtomicReferenceArray<LatencyHistogram> histograms =
+        new AtomicReferenceArray<>(STAGES.length * INTENTS.length);
+    private final LongAdder[] errors = new LongAdder[INTENTS.length];
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    public Metrics() {
+        for (int i = 0; i < errors.length; i++) {
+            errors[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Mencatat durasi satu tahap (nanodetik) untuk intent tertentu.
+     */
+    public void record(Stage stage, Intent intent, long nanos) {
+        histogram(stage, intent).record(nanos);
+    }
+
+    public LatencyHistogram histogram(Stage stage, Intent intent) {
+        int slot = stage.ordinal() * INTENTS.length + intent.ordinal();
+        LatencyHistogram histogram = histograms.get(slot);
+        if (histogram == null) {
+            histograms.compareAndSet(slot, null, new LatencyHistogram());
+            histogram = histograms.get(slot);
+        }
+        return histogram;
+    }
+
+    /**
+     * Exception yang diubah menjadi pesan error untuk pengguna.
+     */
+    public void recordError(Intent intent) {
+        errors[intent.ordinal()].increment();
+    }
+
+    public long errors(Intent intent) {
+        return errors[intent.ordinal()].sum();
+    }
+
+    /**
+     * Counter bernama (nama metrik Prometheus), dibuat saat pertama kali diminta.
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Nilai yang dibaca saat render, misalnya statistik cache.
+     */
+    public void registerGauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * Semua metrik dalam format teks Prometheus; latensi dalam mikrodetik.
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder(4096);
+        out.append("# TYPE hr_stage_latency_microseconds summary\n");
+        for (Stage stage : STAGES) {
+            for (Intent intent : INTENTS) {
+                LatencyHistogram histogram = histograms.get(stage.ordinal() * INTENTS.length + intent.ordinal());
+                if (histogram == null || histogram.count() == 0) {
+                    continue;
+                }
+                String labels = "stage=\"" + stage.getLabel() + "\",intent=\"" + intent.name() + "\"";
+                long[] values = histogram.quantiles(QUANTILES);
+                for (int q = 0; q < QUANTILES.length; q++) {
+                    out.append("hr_stage_latency_microseconds{").append(labels).append(",quantile=\"")
+                        .append(QUANTILES[q]).append("\"} ").append(micros(values[q])).append('\n');
+                }
+                out.append("hr_stage_latency_microseconds_max{").append(labels).append("} ")
+                    .append(micros(histogram.max())).append('\n');
+                out.append("hr_stage_latency_microseconds_sum{").append(labels).append("} ")
+                    .append(micros(histogram.sum())).append('\n');
+                out.append("hr_stage_latency_microseconds_count{").append(labels).append("} ")
+                    .append(histogram.count()).append('\n');
+            }
+        }
+
+        out.append("# TYPE hr_errors_total counter\n");
+        for (Intent intent : INTENTS) {
+            long count = errors(intent);
+            if (count > 0) {
+                out.append("hr_errors_total{intent=\"").append(intent.name()).append("\"} ").append(count).append('\n');
+            }
+        }
+        for (Map.Entry<String, LongAdder> counter : new TreeMap<>(counters).entrySet()) {
+            out.append("# TYPE ").append(counter.getKey()).append(" counter\n")
+                .append(counter.getKey()).append(' ').append(counter.getValue().sum()).append('\n');
+        }
+        for (Map.Entry<String, LongSupplier> gauge : new TreeMap<>(gauges).entrySet()) {
+            out.append("# TYPE ").append(gauge.getKey()).append(" gauge\n")
+                .append(gauge.getKey()).append(' ').append(gauge.getValue().getAsLong()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String micros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000.0);
+    }
+}
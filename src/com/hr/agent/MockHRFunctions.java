@@ -7,6 +7,42 @@ public class MockHRFunctions implements HRFunctions {
     
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("d MMMM yyyy");
 
+    private final java.nio.file.Path employeesFile;
+    private final EmployeeDirectory employeeDirectory;
+    private final LeaveRequestIndex leaveRequestIndex;
+
+    /**
+     * Memuat employees.csv dan leave_requests.csv sendiri (dipakai tanpa HRAgentApp).
+     */
+    public MockHRFunctions() {
+        this(java.nio.file.Paths.get(""), loadDirectory(), loadLeaveRequests());
+    }
+
+    public MockHRFunctions(java.nio.file.Path dataDir, EmployeeDirectory employeeDirectory,
+                           LeaveRequestIndex leaveRequestIndex) {
+        this.employeesFile = dataDir.resolve("employees.csv");
+        this.employeeDirectory = employeeDirectory;
+        this.leaveRequestIndex = leaveRequestIndex;
+    }
+
+    private static EmployeeDirectory loadDirectory() {
+        try {
+            return EmployeeDirectory.load("employees.csv");
+        } catch (java.io.IOException e) {
+            System.err.println("Error loading employee data: " + e.getMessage());
+            return EmployeeDirectory.empty();
+        }
+    }
+
+    private static LeaveRequestIndex loadLeaveRequests() {
+        try {
+            return LeaveRequestIndex.load("leave_requests.csv");
+        } catch (java.io.IOException e) {
+            System.err.println("Error loading leave requests: " + e.getMessage());
+            return new LeaveRequestIndex();
+        }
+    }
+
     @Override
     public String applyForLeave(String employeeName, String leaveType, LocalDate startDate, LocalDate endDate) {
         return String.format(
@@ -25,98 +61,46 @@ public class MockHRFunctions implements HRFunctions {
 
     @Override
     public String checkLeaveRequestStatus(String employeeName) {
-        // Implementasi nyata: mencari di leave_requests.csv
-        try (java.io.BufferedReader br = new java.io.BufferedReader(new java.io.FileReader("leave_requests.csv"))) {
-            String line;
-            boolean isFirstLine = true;
-            String lastStatus = "Tidak ada pengajuan cuti";
-            
-            while ((line = br.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue; // skip header
-                }
-                String[] cols = line.split(",");
-                if (cols.length >= 6) {
-                    String idKaryawan = cols[1];
-                    String status = cols[5];
-                    
-                    String empName = getEmployeeNameById(idKaryawan);
-                    if (empName != null && empName.equalsIgnoreCase(employeeName)) {
-                        lastStatus = status;
-                    }
-                }
-            }
-            
-            return String.format(
-                "INFO: Status pengajuan cuti terakhir untuk %s adalah: %s.",
-                employeeName, lastStatus
-            );
-        } catch (java.io.IOException e) {
-            return String.format(
-                "ERROR: Tidak dapat mengakses data status cuti untuk %s: %s",
-                employeeName, e.getMessage()
-            );
-        }
-    }
-    
-    private String getEmployeeNameById(String id) {
-        try (java.io.BufferedReader br = new java.io.BufferedReader(new java.io.FileReader("employees.csv"))) {
-            String line;
-            boolean isFirstLine = true;
-            while ((line = br.readLine()) != null) {
-                if (isFirstLine) {
-                    isFirstLine = false;
-                    continue; // skip header
-                }
-                String[] cols = line.split(",");
-                if (cols.length > 0 && cols[0].equals(id)) {
-                    return cols[1]; // return nama
-                }
-            }
-        } catch (java.io.IOException e) {
-            // ignore
-        }
-        return null;
+        // Nama di-resolve ke id satu kali, lalu cukup satu lookup di indeks
+        Employee employee = employeeDirectory.findByName(employeeName);
+        LeaveRequest latest = employee != null ? leaveRequestIndex.findLatest(employee.getId()) : null;
+        String lastStatus = latest != null ? latest.getStatus() : "Tidak ada pengajuan cuti";
+
+        return String.format(
+            "INFO: Status pengajuan cuti terakhir untuk %s adalah: %s.",
+            employeeName, lastStatus
+        );
     }
     
     @Override
-    public String submitExpenseReport(String employeeName, String category, double amount) {
+    public String submitExpenseReport(String employeeName, String category, long amount) {
         return String.format(
-            "KONFIRMASI: Laporan pengeluaran untuk %s sebesar Rp%,.2f (kategori: %s) telah diajukan untuk diproses.",
+            "KONFIRMASI: Laporan pengeluaran untuk %s sebesar Rp%,d (kategori: %s) telah diajukan untuk diproses.",
             employeeName, amount, category
         );
     }
 
     @Override
     public String lookupColleagueInfo(String colleagueName) {
-        // Implementasi nyata: mencari di employees.csv
-        try (java.io.BufferedReader br = new java.io.BufferedReader(new java.io.FileReader("employees.csv"))) {
-            String line;
+        // Implementasi nyata: mencari di employees.csv (nama dibandingkan tanpa membuat String per baris)
+        try (CsvReader reader = CsvReader.open(employeesFile)) {
+            String wanted = colleagueName.trim();
             boolean isFirstLine = true;
-            
-            while ((line = br.readLine()) != null) {
+
+            while (reader.next()) {
                 if (isFirstLine) {
                     isFirstLine = false;
                     continue; // skip header
                 }
-                String[] cols = line.split(",");
-                if (cols.length >= 8) {
-                    String nama = cols[1];
-                    String email = cols[2];
-                    String jabatan = cols[3];
-                    String departemen = cols[4];
-                    String status = cols[7];
-                    
-                    if (nama.trim().equalsIgnoreCase(colleagueName.trim())) {
-                        return String.format(
-                            "INFO: Informasi untuk %s:\n• Email: %s\n• Jabatan: %s\n• Departemen: %s\n• Status: %s",
-                            nama.trim(), email.trim(), jabatan.trim(), departemen.trim(), status.trim()
-                        );
-                    }
+                if (reader.fieldCount() >= 8 && reader.fieldEqualsIgnoreCase(1, wanted)) {
+                    return String.format(
+                        "INFO: Informasi untuk %s:\n• Email: %s\n• Jabatan: %s\n• Departemen: %s\n• Status: %s",
+                        reader.getString(1), reader.getString(2), reader.getString(3), reader.getString(4),
+                        reader.getString(7)
+                    );
                 }
             }
-            
+
             return String.format(
                 "INFO: Karyawan %s tidak ditemukan dalam database.",
                 colleagueName
@@ -128,4 +112,50 @@ public class MockHRFunctions implements HRFunctions {
             );
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public String listDirectReports(String managerName) {
+        int row = row(managerName);
+        return row < 0 ? OrgChartAnswers.notFound(managerName)
+            : OrgChartAnswers.directReports(employeeDirectory.getOrgChart(), row, this::name, this::position);
+    }
+
+    @Override
+    public String listTeamMembers(String managerName) {
+        int row = row(managerName);
+        return row < 0 ? OrgChartAnswers.notFound(managerName)
+            : OrgChartAnswers.teamMembers(employeeDirectory.getOrgChart(), row, this::name, this::position);
+    }
+
+    @Override
+    public String getChainOfCommand(String employeeName) {
+        int row = row(employeeName);
+        return row < 0 ? OrgChartAnswers.notFound(employeeName)
+            : OrgChartAnswers.chainOfCommand(employeeDirectory.getOrgChart(), row, this::name, this::position);
+    }
+
+    @Override
+    public String countTeamMembers(String managerOrDepartment) {
+        int count = employeeDirectory.countByDepartment(managerOrDepartment);
+        if (count >= 0) {
+            return OrgChartAnswers.departmentHeadcount(managerOrDepartment.trim(), count);
+        }
+        int row = row(managerOrDepartment);
+        return row < 0 ? OrgChartAnswers.notFound(managerOrDepartment)
+            : OrgChartAnswers.teamHeadcount(employeeDirectory.getOrgChart(), row, this::name);
+    }
+
+    // Baris OrgChart sama dengan indeks di employeeDirectory.all()
+    private int row(String employeeName) {
+        Employee employee = employeeDirectory.findByName(employeeName);
+        return employee != null ? employeeDirectory.rowOf(employee.getId()) : -1;
+    }
+
+    private String name(int row) {
+        return employeeDirectory.all().get(row).getName();
+    }
+
+    private String position(int row) {
+        return employeeDirectory.all().get(row).getPosition();
+    }
+}
@@ -0,0 +1,219 @@
+package com.hr.agent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Automaton Aho-Corasick atas nama lengkap dan nama depan karyawan.
+ * Dibangun sekali saat data dimuat; setiap input cukup dipindai satu kali
+ * untuk menemukan semua penyebutan nama beserta posisinya.
+ */
+public class NameMatcher {
+
+    /**
+     * Satu penyebutan nama di dalam input (posisi dalam input lowercase).
+     */
+    public static final class Match {
+        private final int start;
+        private final int end;
+        private final boolean fullName;
+        private final List<Employee> candidates;
+
+        Match(int start, int end, boolean fullName, List<Employee> candidates) {
+            this.start = start;
+            this.end = end;
+            this.fullName = fullName;
+            this.candidates = candidates;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+
+        public boolean isFullName() {
+            return fullName;
+        }
+
+        /** Karyawan pertama (urutan employees.csv) yang cocok dengan nama ini. */
+        public Employee getEmployee() {
+            return candidates.get(0);
+        }
+
+        public List<Employee> getCandidates() {
+            return candidates;
+        }
+    }
+
+    private static final class Pattern {
+        final int length;
+        final boolean fullName;
+        final List<Employee> employees = new ArrayList<>(1);
+
+        Pattern(int length, boolean fullName) {
+            this.length = length;
+            this.fullName = fullName;
+        }
+    }
+
+    // Transisi node disimpan sebagai array label terurut + target (binary search)
+    private final char[][] labels;
+    private final int[][] targets;
+    private final int[] fail;
+    private final int[] outputLink;
+    private final Pattern[] outputs;
+
+    public NameMatcher(List<Employee> employees) {
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Pattern> nodeOutputs = new ArrayList<>();
+        children.add(new TreeMap<>());
+        nodeOutputs.add(null);
+
+        for (Employee employee : employees) {
+            addPattern(children, nodeOutputs, employee.getLowerName(), true, employee);
+            if (!employee.getLowerFirstName().equals(employee.getLowerName())) {
+                addPattern(children, nodeOutputs, employee.getLowerFirstName(), false, employee);
+            }
+        }
+
+        int size = children.size();
+        labels = new char[size][];
+        targets = new int[size][];
+        outputs = nodeOutputs.toArray(new Pattern[0]);
+        for (int node = 0; node < size; node++) {
+            Map<Character, Integer> edges = children.get(node);
+            labels[node] = new char[edges.size()];
+            targets[node] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                labels[node][i] = edge.getKey();
+                targets[node][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        // BFS untuk failure link dan output link
+        fail = new int[size];
+        outputLink = new int[size];
+        outputLink[0] = -1;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            fail[child] = 0;
+            outputLink[child] = -1;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < labels[node].length; i++) {
+                char c = labels[node][i];
+                int child = targets[node][i];
+                int f = fail[node];
+                int next = child(f, c);
+                while (next < 0 && f != 0) {
+                    f = fail[f];
+                    next = child(f, c);
+                }
+                fail[child] = next >= 0 && next != child ? next : 0;
+                outputLink[child] = outputs[fail[child]] != null ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+    private static void addPattern(List<Map<Character, Integer>> children, List<Pattern> nodeOutputs,
+                                   String word, boolean fullName, Employee employee) {
+        if (word.isEmpty()) {
+            return;
+        }
+        int node = 0;
+        for (int i = 0; i < word.length(); i++) {
+            Integer next = children.get(node).get(word.charAt(i));
+            if (next == null) {
+                next = children.size();
+                children.add(new TreeMap<>());
+                nodeOutputs.add(null);
+                children.get(node).put(word.charAt(i), next);
+            }
+            node = next;
+        }
+        Pattern pattern = nodeOutputs.get(node);
+        if (pattern == null) {
+            pattern = new Pattern(word.length(), fullName);
+            nodeOutputs.set(node, pattern);
+        }
+        pattern.employees.add(employee);
+    }
+
+    private int child(int node, char c) {
+        char[] nodeLabels = labels[node];
+        int lo = 0;
+        int hi = nodeLabels.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char label = nodeLabels[mid];
+            if (label < c) {
+                lo = mid + 1;
+            } else if (label > c) {
+                hi = mid - 1;
+            } else {
+                return targets[node][mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Mencari semua penyebutan nama (utuh per kata) di input yang sudah lowercase,
+     * diurutkan berdasarkan posisi mulai lalu panjang terpanjang.
+     */
+    public List<Match> findAll(String lowerInput) {
+        List<Match> matches = null;
+        int node = 0;
+        for (int i = 0; i < lowerInput.length(); i++) {
+            char c = lowerInput.charAt(i);
+            int next = child(node, c);
+            while (next < 0 && node != 0) {
+                node = fail[node];
+                next = child(node, c);
+            }
+            node = next < 0 ? 0 : next;
+
+            for (int out = outputs[node] != null ? node : outputLink[node]; out >= 0; out = outputLink[out]) {
+                Pattern pattern = outputs[out];
+                int start = i - pattern.length + 1;
+                if (isBoundary(lowerInput, start - 1) && isBoundary(lowerInput, i + 1)) {
+                    if (matches == null) {
+                        matches = new ArrayList<>(2);
+                    }
+                    matches.add(new Match(start, i + 1, pattern.fullName, pattern.employees));
+                }
+            }
+        }
+        if (matches == null) {
+            return Collections.emptyList();
+        }
+        matches.sort((a, b) -> a.start != b.start ? Integer.compare(a.start, b.start)
+                                                  : Integer.compare(b.end, a.end));
+        return matches;
+    }
+
+    /**
+     * Penyebutan nama paling awal; jika posisinya sama, yang terpanjang menang.
+     * @return null jika tidak ada nama karyawan di input.
+     */
+    public Match findFirst(String lowerInput) {
+        List<Match> matches = findAll(lowerInput);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    private static boolean isBoundary(String s, int index) {
+        return index < 0 || index >= s.length() || !Character.isLetterOrDigit(s.charAt(index));
+    }
+}
@@ -0,0 +1,177 @@
+package com.hr.agent;
+
+import java.util.Arrays;
+
+/**
+ * Indeks hierarki atasan-bawahan, dibangun sekali saat data karyawan dimuat.
+ * Karyawan diwakili nomor baris (urutan di employees.csv).
+ *
+ * Bawahan langsung disimpan sebagai adjacency list ringkas (CSR: childStart + children).
+ * Urutan preorder (Euler tour) membuat setiap subtree menjadi rentang kontigu
+ * [enter[v], exit[v]) di array order, sehingga jumlah anggota tim dan cek "apakah X di tim Y"
+ * O(1), daftar seluruh tim O(ukuran tim), dan rantai atasan O(kedalaman).
+ *
+ * Data yang salah (manajer tidak ada di data, atau siklus seperti A -> B -> A) tidak membuat
+ * indeks gagal: karyawan tsb diperlakukan sebagai puncak hierarki.
+ */
+public final class OrgChart {
+
+    private final int[] parents;
+    private final int[] depths;
+    private final int[] childStart;
+    private final int[] children;
+    private final int[] order;
+    private final int[] enter;
+    private final int[] exit;
+
+    /**
+     * @param managerRows baris manajer untuk setiap baris karyawan (-1 jika tidak ada); tidak diubah
+     */
+    public OrgChart(int[] managerRows) {
+        int count = managerRows.length;
+        parents = breakCycles(managerRows);
+
+        // Adjacency list: bawahan setiap manajer berurutan sesuai baris
+        childStart = new int[count + 1];
+        for (int row = 0; row < count; row++) {
+            if (parents[row] >= 0) {
+                childStart[parents[row] + 1]++;
+            }
+        }
+        for (int row = 0; row < count; row++) {
+            childStart[row + 1] += childStart[row];
+        }
+        children = new int[childStart[count]];
+        int[] fill = Arrays.copyOf(childStart, count);
+        for (int row = 0; row < count; row++) {
+            if (parents[row] >= 0) {
+                children[fill[parents[row]]++] = row;
+            }
+        }
+
+        // Euler tour iteratif (hierarki bisa sangat dalam, jadi tanpa rekursi)
+        depths = new int[count];
+        order = new int[count];
+        enter = new int[count];
+        exit = new int[count];
+        int[] stack = new int[count];
+        int[] nextChild = new int[count];
+        int position = 0;
+        for (int root = 0; root < count; root++) {
+            if (parents[root] >= 0) {
+                continue;
+            }
+            int top = 0;
+            stack[0] = root;
+            enter[root] = position;
+            order[position++] = root;
+            nextChild[root] = childStart[root];
+            while (top >= 0) {
+                int node = stack[top];
+                if (nextChild[node] < childStart[node + 1]) {
+                    int child = children[nextChild[node]++];
+                    depths[child] = depths[node] + 1;
+                    enter[child] = position;
+                    order[position++] = child;
+                    nextChild[child] = childStart[child];
+                    stack[++top] = child;
+                } else {
+                    exit[node] = position;
+                    top--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Salinan managerRows tanpa siklus: setiap rantai atasan ditelusuri sekali, dan jika kembali ke
+     * karyawan di rantai yang sama, relasi ke atasan karyawan tsb diputus.
+     */
+    private static int[] breakCycles(int[] managerRows) {
+        int count = managerRows.length;
+        int[] parents = new int[count];
+        for (int row = 0; row < count; row++) {
+            int manager = managerRows[row];
+            parents[row] = manager >= 0 && manager < count ? manager : -1;
+        }
+        // 0 = belum, 1 = sedang ditelusuri, 2 = selesai
+        byte[] state = new byte[count];
+        for (int start = 0; start < count; start++) {
+            int node = start;
+            while (node >= 0 && state[node] == 0) {
+                state[node] = 1;
+                int parent = parents[node];
+                if (parent >= 0 && state[parent] == 1) {
+                    parents[node] = -1; // siklus
+                    parent = -1;
+                }
+                node = parent;
+            }
+            for (node = start; node >= 0 && state[node] == 1; node = parents[node]) {
+                state[node] = 2;
+            }
+        }
+        return parents;
+    }
+
+    public int size() {
+        return parents.length;
+    }
+
+    /**
+     * @return baris atasan langsung, atau -1 untuk puncak hierarki.
+     */
+    public int manager(int row) {
+        return parents[row];
+    }
+
+    /**
+     * @return jarak ke puncak hierarki (0 untuk puncak).
+     */
+    public int depth(int row) {
+        return depths[row];
+    }
+
+    public int directReportCount(int row) {
+        return childStart[row + 1] - childStart[row];
+    }
+
+    public int[] directReports(int row) {
+        return Arrays.copyOfRange(children, childStart[row], childStart[row + 1]);
+    }
+
+    /**
+     * @return jumlah seluruh bawahan langsung dan tidak langsung (tanpa karyawan itu sendiri).
+     */
+    public int teamSize(int row) {
+        return exit[row] - enter[row] - 1;
+    }
+
+    /**
+     * @return seluruh bawahan dalam urutan preorder (setiap atasan diikuti timnya), paling banyak limit.
+     */
+    public int[] teamMembers(int row, int limit) {
+        int from = enter[row] + 1;
+        return Arrays.copyOfRange(order, from, from + Math.min(limit, teamSize(row)));
+    }
+
+    /**
+     * @return true jika member berada di tim manager (langsung atau tidak langsung).
+     */
+    public boolean isInTeam(int member, int manager) {
+        return enter[manager] < enter[member] && enter[member] < exit[manager];
+    }
+
+    /**
+     * @return atasan dari yang terdekat sampai puncak hierarki.
+     */
+    public int[] chainOfCommand(int row) {
+        int[] chain = new int[depths[row]];
+        int node = row;
+        for (int i = 0; i < chain.length; i++) {
+            node = parents[node];
+            chain[i] = node;
+        }
+        return chain;
+    }
+}
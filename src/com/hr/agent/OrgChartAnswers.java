@@ -0,0 +1,78 @@
+package com.hr.agent;
+
+import java.util.function.IntFunction;
+
+/**
+ * Kalimat jawaban pertanyaan hierarki, dipakai bersama oleh backend mock dan store
+ * (yang berbeda hanya cara membaca nama dan jabatan dari nomor baris).
+ */
+final class OrgChartAnswers {
+
+    // Tim besar (misalnya seluruh perusahaan) tidak didaftar lengkap
+    static final int MAX_LISTED = 50;
+
+    private OrgChartAnswers() {
+    }
+
+    static String notFound(String employeeName) {
+        return String.format("INFO: Karyawan %s tidak ditemukan dalam database.", employeeName);
+    }
+
+    static String directReports(OrgChart chart, int row, IntFunction<String> name, IntFunction<String> position) {
+        int[] reports = chart.directReports(row);
+        if (reports.length == 0) {
+            return String.format("INFO: %s tidak memiliki bawahan langsung.", name.apply(row));
+        }
+        return String.format("INFO: Bawahan langsung %s (%d orang): %s.", name.apply(row), reports.length,
+            list(reports, reports.length, name, position));
+    }
+
+    static String teamMembers(OrgChart chart, int row, IntFunction<String> name, IntFunction<String> position) {
+        int size = chart.teamSize(row);
+        if (size == 0) {
+            return String.format("INFO: %s tidak memiliki bawahan.", name.apply(row));
+        }
+        return String.format("INFO: Tim %s (%d orang, termasuk bawahan tidak langsung): %s.", name.apply(row), size,
+            list(chart.teamMembers(row, MAX_LISTED), size, name, position));
+    }
+
+    static String chainOfCommand(OrgChart chart, int row, IntFunction<String> name, IntFunction<String> position) {
+        int[] chain = chart.chainOfCommand(row);
+        if (chain.length == 0) {
+            return String.format("INFO: %s berada di puncak hierarki (tidak memiliki atasan).", name.apply(row));
+        }
+        StringBuilder result = new StringBuilder();
+        for (int manager : chain) {
+            if (result.length() > 0) {
+                result.append(" -> ");
+            }
+            result.append(name.apply(manager)).append(" (").append(position.apply(manager)).append(')');
+        }
+        return String.format("INFO: Rantai atasan %s: %s.", name.apply(row), result);
+    }
+
+    static String teamHeadcount(OrgChart chart, int row, IntFunction<String> name) {
+        return String.format("INFO: Tim %s beranggotakan %d orang (%d bawahan langsung).", name.apply(row),
+            chart.teamSize(row), chart.directReportCount(row));
+    }
+
+    static String departmentHeadcount(String department, int count) {
+        return String.format("INFO: Departemen %s beranggotakan %d orang.", department, count);
+    }
+
+    // "Nama (Jabatan), ..." dengan sisa yang tidak didaftar diringkas
+    private static String list(int[] rows, int total, IntFunction<String> name, IntFunction<String> position) {
+        StringBuilder result = new StringBuilder();
+        int listed = Math.min(rows.length, MAX_LISTED);
+        for (int i = 0; i < listed; i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(name.apply(rows[i])).append(" (").append(position.apply(rows[i])).append(')');
+        }
+        if (total > listed) {
+            result.append(", dan ").append(total - listed).append(" orang lainnya");
+        }
+        return result.toString();
+    }
+}
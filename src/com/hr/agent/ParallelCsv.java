@@ -0,0 +1,145 @@
+package com.hr.agent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Parsing CSV besar secara paralel: file (tanpa header) dipotong menjadi rentang byte
+ * yang berakhir di newline, lalu setiap potongan di-parse oleh {@link CsvReader} sendiri
+ * di ForkJoinPool bersama. Setiap potongan mengisi akumulatornya sendiri (tanpa lock);
+ * pemanggil menggabungkan hasilnya sesuai urutan file.
+ *
+ * Batasan: potongan dipisah di newline mana pun, jadi field ber-quote yang berisi newline
+ * tidak didukung untuk file yang lebih besar dari satu potongan.
+ */
+final class ParallelCsv {
+
+    static final long CHUNK_BYTES = 16L * 1024 * 1024;
+
+    private ParallelCsv() {
+    }
+
+    /**
+     * Mem-parse semua baris data (header dilewati) yang punya minimal minColumns kolom.
+     *
+     * @param newChunk membuat akumulator kosong untuk satu potongan
+     * @param handler dipanggil untuk setiap baris dengan akumulator potongannya
+     * @return akumulator per potongan, sesuai urutan di file
+     */
+    static <A> List<A> parse(Path file, int minColumns, Supplier<A> newChunk,
+                             BiConsumer<A, CsvReader> handler) throws IOException {
+        long dataStart;
+        long fileSize;
+        try (CsvReader reader = CsvReader.open(file)) {
+            reader.next(); // header
+            dataStart = reader.position();
+        }
+        List<long[]> ranges = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            fileSize = channel.size();
+            long start = dataStart;
+            while (start < fileSize) {
+                long end = start + CHUNK_BYTES >= fileSize ? fileSize : lineEnd(channel, start + CHUNK_BYTES);
+                ranges.add(new long[] {start, end});
+                start = end;
+            }
+        }
+
+        List<A> chunks = new ArrayList<>(ranges.size());
+        for (int i = 0; i < ranges.size(); i++) {
+            chunks.add(newChunk.get());
+        }
+        if (ranges.size() == 1) {
+            // File kecil: tidak perlu fork-join
+            parseRange(file, ranges.get(0), minColumns, chunks.get(0), handler);
+        } else if (ranges.size() > 1) {
+            try {
+                ForkJoinPool.commonPool().invoke(
+                    new ChunkTask<>(file, ranges, minColumns, chunks, handler, 0, ranges.size()));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return chunks;
+    }
+
+    // Offset tepat setelah newline pertama pada/di atas position (atau akhir file)
+    private static long lineEnd(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long offset = position;
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+    }
+
+    private static <A> void parseRange(Path file, long[] range, int minColumns, A chunk,
+                                       BiConsumer<A, CsvReader> handler) throws IOException {
+        try (CsvReader reader = CsvReader.open(file, range[0], range[1])) {
+            while (reader.next()) {
+                if (reader.fieldCount() >= minColumns) {
+                    handler.accept(chunk, reader);
+                }
+            }
+        }
+    }
+
+    // Membagi daftar potongan menjadi dua sampai tersisa satu potongan per task
+    private static final class ChunkTask<A> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Path file;
+        private final transient List<long[]> ranges;
+        private final int minColumns;
+        private final transient List<A> chunks;
+        private final transient BiConsumer<A, CsvReader> handler;
+        private final int from;
+        private final int to;
+
+        ChunkTask(Path file, List<long[]> ranges, int minColumns, List<A> chunks,
+                  BiConsumer<A, CsvReader> handler, int from, int to) {
+            this.file = file;
+            this.ranges = ranges;
+            this.minColumns = minColumns;
+            this.chunks = chunks;
+            this.handler = handler;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                try {
+                    parseRange(file, ranges.get(from), minColumns, chunks.get(from), handler);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask<>(file, ranges, minColumns, chunks, handler, from, middle),
+                new ChunkTask<>(file, ranges, minColumns, chunks, handler, middle, to));
+        }
+    }
+}
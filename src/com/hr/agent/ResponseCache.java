@@ -0,0 +1,158 @@
+package com.hr.agent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache LRU terbatas untuk jawaban pertanyaan read-only, dengan key (intent, id karyawan).
+ * Dibagi menjadi beberapa segmen (masing-masing LinkedHashMap access-order dengan lock sendiri)
+ * supaya thread yang menanyakan karyawan berbeda tidak saling menunggu.
+ *
+ * Setiap segmen punya nomor generasi yang naik saat ada invalidasi; jawaban yang dihitung
+ * sebelum invalidasi tidak disimpan, sehingga cache tidak pernah menyimpan jawaban basi.
+ */
+public class ResponseCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity jumlah maksimum jawaban yang disimpan (dibagi rata ke semua segmen)
+     */
+    public ResponseCache(int capacity) {
+        int perSegment = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Mengembalikan jawaban dari cache, atau menghitungnya dengan loader lalu menyimpannya.
+     * Exception dari loader diteruskan dan tidak disimpan.
+     */
+    public String get(Intent intent, String employeeId, Supplier<String> loader) {
+        Key key = new Key(intent, employeeId);
+        Segment segment = segmentFor(employeeId);
+        long generation;
+        synchronized (segment) {
+            String cached = segment.entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            generation = segment.generation;
+        }
+        misses.increment();
+
+        // Dihitung di luar lock; disimpan hanya jika segmen tidak diinvalidasi sementara itu
+        String value = loader.get();
+        synchronized (segment) {
+            if (segment.generation == generation && value != null) {
+                segment.entries.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Menghapus satu jawaban, misalnya LEAVE_BALANCE setelah sisa cuti berubah.
+     */
+    public void invalidate(Intent intent, String employeeId) {
+        Segment segment = segmentFor(employeeId);
+        synchronized (segment) {
+            segment.generation++;
+            segment.entries.remove(new Key(intent, employeeId));
+        }
+    }
+
+    /**
+     * Mengosongkan cache, misalnya setelah data karyawan dimuat ulang.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.generation++;
+                segment.entries.clear();
+            }
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.entries.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(String employeeId) {
+        return segments[(employeeId.hashCode() & 0x7fffffff) % SEGMENTS];
+    }
+
+    private final class Segment {
+
+        private final Map<Key, String> entries;
+        private long generation;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<Key, String>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    private static final class Key {
+
+        private final Intent intent;
+        private final String employeeId;
+
+        Key(Intent intent, String employeeId) {
+            this.intent = intent;
+            this.employeeId = employeeId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return intent == other.intent && employeeId.equals(other.employeeId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * intent.hashCode() + employeeId.hashCode();
+        }
+    }
+}
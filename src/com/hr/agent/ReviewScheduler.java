@@ -0,0 +1,390 @@
+package com.hr.agent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Penjadwal review performa: mencatat beban review terjadwal per reviewer per hari dan
+ * mencarikan slot untuk satu karyawan atau satu kelompok besar (departemen, tim manajer).
+ *
+ * Slot yang sah: hari kerja ({@link WorkingDayCalendar}), reviewer dan karyawan tidak sedang cuti
+ * yang disetujui ({@link LeaveCalendar}), reviewer belum mencapai kapasitas hariannya, dan karyawan
+ * belum punya review di hari yang sama. Penjadwalan massal memakai greedy tanggal paling awal
+ * dengan kursor per reviewer (hari yang sudah penuh tidak diperiksa ulang), sehingga ribuan
+ * karyawan dijadwalkan dalam O(karyawan + hari x reviewer).
+ *
+ * Karyawan dirujuk lewat baris di {@link EmployeeDirectory}. Rencana ({@link Plan}) tidak mengubah
+ * beban sampai {@link #book(Plan)} dipanggil. HRAgentApp memanggilnya di bawah lock file segera setelah
+ * baris diantrekan ke {@link GroupCommitAppender}, sebelum baris tsb tersimpan di disk, supaya
+ * penjadwalan berikutnya langsung melihat beban baru; jika penulisan gagal, penjadwal dibangun ulang
+ * dari file.
+ */
+public final class ReviewScheduler {
+
+    public static final int DEFAULT_DAILY_CAPACITY = 4;
+    static final String STATUS_SCHEDULED = "Terjadwal";
+    // Jendela penjadwalan paling panjang (hari kalender)
+    static final int MAX_WINDOW_DAYS = 366;
+    // Jika atasan langsung tidak punya slot, dicoba atasan berikutnya sampai batas ini
+    private static final int MAX_REVIEWER_LEVELS = 2;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final EmployeeDirectory directory;
+    // (baris reviewer, epoch day) -> jumlah review terjadwal
+    private final Map<Long, Integer> reviewerLoad = new HashMap<>();
+    // (baris karyawan, epoch day) yang sudah punya review terjadwal
+    private final Set<Long> revieweeDays = new HashSet<>();
+    // Baris karyawan -> tanggal review terjadwal paling akhir (epoch day)
+    private final Map<Integer, Integer> latestReview = new HashMap<>();
+
+    private ReviewScheduler(EmployeeDirectory directory) {
+        this.directory = directory;
+    }
+
+    public static ReviewScheduler empty(EmployeeDirectory directory) {
+        return new ReviewScheduler(directory);
+    }
+
+    /**
+     * Mem-parse performance_reviews.csv paralel; hanya review berstatus Terjadwal yang disimpan.
+     */
+    public static List<Chunk> parse(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Collections.emptyList();
+        }
+        return ParallelCsv.parse(file, 6, Chunk::new, Chunk::add);
+    }
+
+    /**
+     * Membangun beban reviewer dari hasil {@link #parse}; baris dengan karyawan yang tidak dikenal dilewati.
+     */
+    public static ReviewScheduler build(EmployeeDirectory directory, List<Chunk> chunks) {
+        ReviewScheduler scheduler = new ReviewScheduler(directory);
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.size; i++) {
+                int reviewee = directory.rowOf(chunk.employeeIds[i]);
+                int reviewer = directory.rowOf(chunk.reviewerIds[i]);
+                if (reviewee >= 0 && reviewer >= 0) {
+                    scheduler.addBooking(reviewee, reviewer, chunk.days[i]);
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    public EmployeeDirectory getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Mencari slot untuk sekelompok karyawan di [from, to] tanpa mengubah beban.
+     * @param reviewerRow reviewer untuk semua karyawan, atau -1 untuk atasan masing-masing (dengan
+     *                    atasan berikutnya sebagai cadangan jika atasan langsung penuh atau cuti)
+     * @param skipScheduled lewati karyawan yang masih punya review terjadwal yang akan datang (mulai hari
+     *                      ini, atau mulai from jika from sudah lewat)
+     */
+    public synchronized Plan plan(int[] reviewees, int reviewerRow, LocalDate from, LocalDate to, int capacity,
+                                  boolean skipScheduled, LeaveCalendar leave, WorkingDayCalendar workingDays) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Kapasitas review per hari harus lebih dari 0");
+        }
+        long windowDays = to.toEpochDay() - from.toEpochDay() + 1;
+        if (windowDays <= 0 || windowDays > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Rentang penjadwalan harus 1-" + MAX_WINDOW_DAYS + " hari");
+        }
+        if (leave.getDirectory() != directory) {
+            // HRAgentApp mengambil keduanya dari DataSnapshot yang sama
+            throw new IllegalArgumentException("Kalender cuti dan penjadwal review memakai direktori karyawan berbeda");
+        }
+
+        // Hari kerja di jendela (epoch day) dan cuti disetujui per karyawan (offset dari from)
+        int fromDay = (int) from.toEpochDay();
+        int[] days = new int[(int) windowDays];
+        int dayCount = 0;
+        for (int offset = 0; offset < windowDays; offset++) {
+            if (workingDays.isWorkingDay(from.plusDays(offset))) {
+                days[dayCount++] = fromDay + offset;
+            }
+        }
+        days = Arrays.copyOf(days, dayCount);
+        Map<Integer, BitSet> onLeave = approvedLeave(leave, from, to);
+
+        // Review terjadwal yang tanggalnya sudah lewat dianggap tidak menghalangi review baru
+        int upcomingFrom = Math.min(fromDay, (int) LocalDate.now().toEpochDay());
+        OrgChart chart = directory.getOrgChart();
+        Plan plan = new Plan(reviewees.length, capacity);
+        Map<Long, Integer> planned = new HashMap<>();
+        Map<Integer, Integer> cursors = new HashMap<>();
+        for (int reviewee : reviewees) {
+            if (skipScheduled && latestReview.getOrDefault(reviewee, Integer.MIN_VALUE) >= upcomingFrom) {
+                plan.alreadyScheduled++;
+                continue;
+            }
+            int reviewer = reviewerRow >= 0 ? reviewerRow : chart.manager(reviewee);
+            if (reviewer < 0 || reviewer == reviewee) {
+                plan.noReviewer++;
+                continue;
+            }
+            int levels = reviewerRow >= 0 ? 1 : MAX_REVIEWER_LEVELS;
+            int slot = -1;
+            for (int level = 0; level < levels && reviewer >= 0; level++) {
+                slot = findSlot(reviewer, reviewee, days, fromDay, capacity, onLeave, planned, cursors);
+                if (slot >= 0) {
+                    break;
+                }
+                reviewer = chart.manager(reviewer);
+            }
+            if (slot < 0) {
+                plan.noSlot++;
+                continue;
+            }
+            planned.merge(key(reviewer, days[slot]), 1, Integer::sum);
+            plan.add(reviewee, reviewer, days[slot]);
+        }
+        return plan;
+    }
+
+    /**
+     * @return alasan slot (reviewee, reviewer, tanggal) tidak bisa dipakai, atau null jika bisa.
+     */
+    public synchronized String conflict(int reviewee, int reviewer, LocalDate date, int capacity,
+                                        LeaveCalendar leave, WorkingDayCalendar workingDays) {
+        int day = (int) date.toEpochDay();
+        if (!workingDays.isWorkingDay(date)) {
+            return "tanggal tersebut bukan hari kerja";
+        }
+        if (onApprovedLeave(leave, reviewer, date)) {
+            return directory.all().get(reviewer).getName() + " sedang cuti pada tanggal tersebut";
+        }
+        if (onApprovedLeave(leave, reviewee, date)) {
+            return directory.all().get(reviewee).getName() + " sedang cuti pada tanggal tersebut";
+        }
+        if (revieweeDays.contains(key(reviewee, day))) {
+            return directory.all().get(reviewee).getName() + " sudah memiliki review terjadwal pada tanggal tersebut";
+        }
+        int load = reviewerLoad.getOrDefault(key(reviewer, day), 0);
+        if (load >= capacity) {
+            return String.format("%s sudah memiliki %d review pada tanggal tersebut (maks. %d per hari)",
+                directory.all().get(reviewer).getName(), load, capacity);
+        }
+        return null;
+    }
+
+    /**
+     * Mencatat rencana ke beban reviewer (baris sudah diantrekan ke file).
+     */
+    public synchronized void book(Plan plan) {
+        for (int i = 0; i < plan.size; i++) {
+            addBooking(plan.reviewees[i], plan.reviewers[i], plan.days[i]);
+        }
+    }
+
+    /**
+     * Mencatat satu review ke beban reviewer (baris sudah diantrekan ke file).
+     */
+    public synchronized void book(int reviewee, int reviewer, LocalDate date) {
+        addBooking(reviewee, reviewer, (int) date.toEpochDay());
+    }
+
+    /**
+     * @return jumlah review terjadwal reviewer pada tanggal tsb.
+     */
+    public synchronized int reviewerLoad(int reviewer, LocalDate date) {
+        return reviewerLoad.getOrDefault(key(reviewer, (int) date.toEpochDay()), 0);
+    }
+
+    private void addBooking(int reviewee, int reviewer, int day) {
+        reviewerLoad.merge(key(reviewer, day), 1, Integer::sum);
+        revieweeDays.add(key(reviewee, day));
+        latestReview.merge(reviewee, day, Math::max);
+    }
+
+    // Indeks hari pertama yang bisa dipakai, atau -1. Kursor reviewer maju melewati hari yang pasti
+    // tidak bisa dipakai lagi (reviewer penuh atau cuti); hari yang hanya bentrok dengan karyawan ini tidak.
+    private int findSlot(int reviewer, int reviewee, int[] days, int fromDay, int capacity,
+                         Map<Integer, BitSet> onLeave, Map<Long, Integer> planned, Map<Integer, Integer> cursors) {
+        BitSet reviewerLeave = onLeave.get(reviewer);
+        BitSet revieweeLeave = onLeave.get(reviewee);
+        int start = cursors.getOrDefault(reviewer, 0);
+        boolean advancing = true;
+        for (int i = start; i < days.length; i++) {
+            int day = days[i];
+            long reviewerKey = key(reviewer, day);
+            boolean reviewerBusy = (reviewerLeave != null && reviewerLeave.get(day - fromDay))
+                || reviewerLoad.getOrDefault(reviewerKey, 0) + planned.getOrDefault(reviewerKey, 0) >= capacity;
+            if (reviewerBusy) {
+                if (advancing) {
+                    cursors.put(reviewer, i + 1);
+                }
+                continue;
+            }
+            if ((revieweeLeave != null && revieweeLeave.get(day - fromDay))
+                    || revieweeDays.contains(key(reviewee, day))) {
+                advancing = false;
+                continue;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    // Baris karyawan -> hari cuti disetujui di [from, to] (offset dari from)
+    private static Map<Integer, BitSet> approvedLeave(LeaveCalendar leave, LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        Map<Integer, BitSet> onLeave = new HashMap<>();
+        for (int entry : leave.whoIsOut(null, from, to)) {
+            if (!LeaveCalendar.STATUS_APPROVED.equals(leave.status(entry))) {
+                continue;
+            }
+            int start = Math.max((int) leave.start(entry).toEpochDay(), fromDay);
+            int end = Math.min((int) leave.end(entry).toEpochDay(), toDay);
+            onLeave.computeIfAbsent(leave.employeeRow(entry), k -> new BitSet())
+                .set(start - fromDay, end - fromDay + 1);
+        }
+        return onLeave;
+    }
+
+    private static boolean onApprovedLeave(LeaveCalendar leave, int row, LocalDate date) {
+        for (int entry : leave.employeeOut(row, date, date)) {
+            if (LeaveCalendar.STATUS_APPROVED.equals(leave.status(entry))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long key(int row, int day) {
+        return ((long) row << 32) | (day & 0xFFFFFFFFL);
+    }
+
+    // ===================== RENCANA =====================
+
+    /**
+     * Hasil penjadwalan: pasangan (karyawan, reviewer, tanggal) dan jumlah karyawan yang dilewati.
+     */
+    public static final class Plan {
+        private final int capacity;
+        private int size;
+        private int[] reviewees;
+        private int[] reviewers;
+        private int[] days;
+        private int alreadyScheduled;
+        private int noReviewer;
+        private int noSlot;
+
+        private Plan(int expected, int capacity) {
+            this.capacity = capacity;
+            int initial = Math.max(1, expected);
+            reviewees = new int[initial];
+            reviewers = new int[initial];
+            days = new int[initial];
+        }
+
+        private void add(int reviewee, int reviewer, int day) {
+            if (size == reviewees.length) {
+                int grown = size * 2;
+                reviewees = Arrays.copyOf(reviewees, grown);
+                reviewers = Arrays.copyOf(reviewers, grown);
+                days = Arrays.copyOf(days, grown);
+            }
+            reviewees[size] = reviewee;
+            reviewers[size] = reviewer;
+            days[size] = day;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public int reviewee(int i) {
+            return reviewees[i];
+        }
+
+        public int reviewer(int i) {
+            return reviewers[i];
+        }
+
+        public LocalDate date(int i) {
+            return LocalDate.ofEpochDay(days[i]);
+        }
+
+        /**
+         * @return jumlah reviewer berbeda di rencana ini.
+         */
+        public int reviewerCount() {
+            Set<Integer> distinct = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                distinct.add(reviewers[i]);
+            }
+            return distinct.size();
+        }
+
+        public int getAlreadyScheduled() {
+            return alreadyScheduled;
+        }
+
+        public int getNoReviewer() {
+            return noReviewer;
+        }
+
+        public int getNoSlot() {
+            return noSlot;
+        }
+    }
+
+    // ===================== PARSING =====================
+
+    /**
+     * Review berstatus Terjadwal dari satu potongan file (id mentah), supaya potongan bisa di-parse
+     * paralel sebelum data karyawan selesai dimuat.
+     */
+    public static final class Chunk {
+        private int size;
+        private String[] employeeIds = new String[INITIAL_CAPACITY];
+        private String[] reviewerIds = new String[INITIAL_CAPACITY];
+        private int[] days = new int[INITIAL_CAPACITY];
+
+        private void add(CsvReader row) {
+            if (!STATUS_SCHEDULED.equals(row.getString(5))) {
+                return;
+            }
+            int day;
+            try {
+                day = (int) row.getDate(3).toEpochDay();
+            } catch (DateTimeParseException e) {
+                return; // baris rusak dilewati
+            }
+            if (size == employeeIds.length) {
+                int capacity = size * 2;
+                employeeIds = Arrays.copyOf(employeeIds, capacity);
+                reviewerIds = Arrays.copyOf(reviewerIds, capacity);
+                days = Arrays.copyOf(days, capacity);
+            }
+            employeeIds[size] = row.getString(1);
+            reviewerIds[size] = row.getString(2);
+            days[size] = day;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+}
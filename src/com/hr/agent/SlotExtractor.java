@@ -0,0 +1,368 @@
+package com.hr.agent;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Ekstraksi slot (tanggal, tipe cuti, reviewer, kategori dan jumlah pengeluaran)
+ * dari input yang sudah lowercase. Pattern dikompilasi sekali dan Matcher
+ * dipakai ulang per thread.
+ */
+public class SlotExtractor {
+
+    // Pattern: "dari 1-5 januari" atau "1 sampai 5 januari"
+    private static final Pattern DATE_RANGE_PATTERN =
+        Pattern.compile("(\\d{1,2})\\s*(?:-|sampai|hingga|to)\\s*(\\d{1,2})\\s+(\\w+)");
+    // Pattern: "1 januari" atau "15 agustus"
+    private static final Pattern SINGLE_DATE_PATTERN = Pattern.compile("(\\d{1,2})\\s+(\\w+)");
+    // Pattern: "dengan [nama]" atau "by [nama]" atau "oleh [nama]"
+    private static final Pattern REVIEWER_PATTERN = Pattern.compile("(?:dengan|by|oleh)\\s+(\\w+\\s+\\w+)");
+    // Angka dengan atau tanpa "Rp", lalu satuan ribu/juta/k/m sebagai kata utuh ("50000 makan" bukan juta).
+    // Grup 1: pemisah ribuan titik ("1.500.000", desimal koma); grup 2: pemisah ribuan koma ("1,500,000",
+    // atau "250,000" tanpa satuan); grup 3: angka biasa dengan desimal titik/koma ("1,5 juta")
+    private static final Pattern AMOUNT_PATTERN = Pattern.compile(
+        "(?:rp\\.?\\s*)?"
+            + "(?:(\\d{1,3}(?:\\.\\d{3})+(?!\\d)(?:,\\d+)?)"
+            + "|(\\d{1,3}(?:,\\d{3}){2,}(?!\\d)(?:\\.\\d+)?|\\d{1,3},\\d{3}(?![\\d.,])(?!\\s*(?:ribu|juta|k|m)\\b))"
+            + "|(\\d+(?:[.,]\\d+)?))"
+            + "(?:\\s*(ribu|juta|k|m)\\b)?",
+        Pattern.CASE_INSENSITIVE);
+    // Pattern: "bulan september" atau "bulan agustus 2025"
+    private static final Pattern MONTH_PATTERN = Pattern.compile("bulan\\s+(\\w+)(?:\\s+(\\d{4}))?");
+    // Pattern: "3 per hari" atau "5 review/hari"
+    private static final Pattern CAPACITY_PATTERN =
+        Pattern.compile("(\\d{1,3})\\s*(?:review\\s*)?(?:per|/)\\s*hari");
+
+    private static final ThreadLocal<Matcher> DATE_RANGE_MATCHER =
+        ThreadLocal.withInitial(() -> DATE_RANGE_PATTERN.matcher(""));
+    private static final ThreadLocal<Matcher> SINGLE_DATE_MATCHER =
+        ThreadLocal.withInitial(() -> SINGLE_DATE_PATTERN.matcher(""));
+    private static final ThreadLocal<Matcher> REVIEWER_MATCHER =
+        ThreadLocal.withInitial(() -> REVIEWER_PATTERN.matcher(""));
+    private static final ThreadLocal<Matcher> AMOUNT_MATCHER =
+        ThreadLocal.withInitial(() -> AMOUNT_PATTERN.matcher(""));
+    private static final ThreadLocal<Matcher> CAPACITY_MATCHER =
+        ThreadLocal.withInitial(() -> CAPACITY_PATTERN.matcher(""));
+    private static final ThreadLocal<Matcher> MONTH_MATCHER =
+        ThreadLocal.withInitial(() -> MONTH_PATTERN.matcher(""));
+
+    private static final String[] INDONESIAN_MONTHS = {"januari", "februari", "maret", "april", "mei", "juni",
+        "juli", "agustus", "september", "oktober", "november", "desember"};
+    private static final String[] ENGLISH_MONTHS = {"january", "february", "march", "april", "may", "june",
+        "july", "august", "september", "october", "november", "december"};
+
+    // Nama bulan Indonesia/Inggris beserta singkatannya (prefix minimal 3 huruf) -> nomor bulan
+    private static final Map<String, Integer> MONTHS = new HashMap<>();
+
+    static {
+        for (String[] names : new String[][] {INDONESIAN_MONTHS, ENGLISH_MONTHS}) {
+            for (int i = 0; i < names.length; i++) {
+                for (int length = 3; length <= names[i].length(); length++) {
+                    MONTHS.put(names[i].substring(0, length), i + 1);
+                }
+            }
+        }
+        // Singkatan umum yang bukan prefix
+        MONTHS.put("agt", 8);
+        MONTHS.put("peb", 2);
+        MONTHS.put("nop", 11);
+    }
+
+    public String extractLeaveType(String lowerInput) {
+        if (lowerInput.contains("sakit") || lowerInput.contains("illness")) {
+            return "Sakit";
+        } else if (lowerInput.contains("tahunan") || lowerInput.contains("annual") ||
+                  lowerInput.contains("libur") || lowerInput.contains("vacation")) {
+            return "Tahunan";
+        } else if (lowerInput.contains("melahirkan") || lowerInput.contains("maternity")) {
+            return "Cuti Melahirkan";
+        } else {
+            return "Tahunan"; // default
+        }
+    }
+
+    /**
+     * @return array {mulai, selesai} dengan tanggal selesai inklusif (satu tanggal: mulai == selesai);
+     *         elemen bernilai null jika tanggal tidak ditemukan.
+     */
+    public LocalDate[] extractDates(String lowerInput) {
+        LocalDate[] dates = new LocalDate[2];
+
+        Matcher matcher = DATE_RANGE_MATCHER.get().reset(lowerInput);
+        if (matcher.find()) {
+            int startDay = Integer.parseInt(matcher.group(1));
+            int endDay = Integer.parseInt(matcher.group(2));
+            int month = parseMonthName(matcher.group(3));
+            int year = LocalDate.now().getYear(); // default tahun sekarang
+
+            try {
+                dates[0] = LocalDate.of(year, month, startDay);
+                dates[1] = LocalDate.of(year, month, endDay);
+                return dates;
+            } catch (Exception e) {
+                // Invalid date
+            }
+        }
+
+        LocalDate singleDate = extractSingleDate(lowerInput);
+        if (singleDate != null) {
+            dates[0] = singleDate;
+            dates[1] = singleDate;
+            return dates;
+        }
+
+        if (lowerInput.contains("besok") || lowerInput.contains("tomorrow")) {
+            dates[0] = LocalDate.now().plusDays(1);
+            dates[1] = dates[0];
+        } else if (lowerInput.contains("hari ini") || lowerInput.contains("today")) {
+            dates[0] = LocalDate.now();
+            dates[1] = dates[0];
+        }
+        return dates;
+    }
+
+    public LocalDate extractSingleDate(String lowerInput) {
+        Matcher matcher = SINGLE_DATE_MATCHER.get().reset(lowerInput);
+        if (matcher.find()) {
+            int day = Integer.parseInt(matcher.group(1));
+            int month = parseMonthName(matcher.group(2));
+            int year = LocalDate.now().getYear(); // default tahun sekarang
+
+            try {
+                return LocalDate.of(year, month, day);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return nomor bulan (1-12); bulan sekarang jika nama tidak dikenali.
+     */
+    public static int parseMonthName(String monthName) {
+        Integer month = MONTHS.get(monthName);
+        if (month != null) {
+            return month;
+        }
+        // Nama bulan dengan akhiran, misal "januarinya"
+        for (int i = 0; i < 12; i++) {
+            if (monthName.startsWith(INDONESIAN_MONTHS[i]) || monthName.startsWith(ENGLISH_MONTHS[i])) {
+                return i + 1;
+            }
+        }
+        return LocalDate.now().getMonthValue(); // default bulan sekarang
+    }
+
+    /**
+     * Rentang tanggal untuk pertanyaan kalender cuti: "hari ini", "besok", "minggu ini/depan",
+     * "bulan ini/depan", "bulan september", "1-5 september" atau "5 september".
+     * @return {dari, sampai} inklusif; hari ini jika tidak ada rentang di input
+     */
+    public LocalDate[] extractPeriod(String lowerInput) {
+        LocalDate[] period = findPeriod(lowerInput);
+        return period != null ? period : new LocalDate[] {LocalDate.now(), LocalDate.now()};
+    }
+
+    /**
+     * Sama dengan {@link #extractPeriod}, tetapi null jika input tidak menyebut rentang tanggal.
+     */
+    public LocalDate[] findPeriod(String lowerInput) {
+        LocalDate today = LocalDate.now();
+        if (lowerInput.contains("minggu depan") || lowerInput.contains("pekan depan") || lowerInput.contains("next week")) {
+            LocalDate monday = today.with(DayOfWeek.MONDAY).plusWeeks(1);
+            return new LocalDate[] {monday, monday.plusDays(6)};
+        }
+        if (lowerInput.contains("minggu ini") || lowerInput.contains("pekan ini") || lowerInput.contains("this week")) {
+            LocalDate monday = today.with(DayOfWeek.MONDAY);
+            return new LocalDate[] {monday, monday.plusDays(6)};
+        }
+        if (lowerInput.contains("bulan depan") || lowerInput.contains("next month")) {
+            YearMonth month = YearMonth.from(today).plusMonths(1);
+            return new LocalDate[] {month.atDay(1), month.atEndOfMonth()};
+        }
+        if (lowerInput.contains("bulan ini") || lowerInput.contains("this month")) {
+            YearMonth month = YearMonth.from(today);
+            return new LocalDate[] {month.atDay(1), month.atEndOfMonth()};
+        }
+        Matcher monthMatcher = MONTH_MATCHER.get().reset(lowerInput);
+        while (monthMatcher.find()) {
+            Integer month = MONTHS.get(monthMatcher.group(1));
+            if (month != null) {
+                int year = monthMatcher.group(2) != null ? Integer.parseInt(monthMatcher.group(2)) : today.getYear();
+                YearMonth period = YearMonth.of(year, month);
+                return new LocalDate[] {period.atDay(1), period.atEndOfMonth()};
+            }
+        }
+        Matcher rangeMatcher = DATE_RANGE_MATCHER.get().reset(lowerInput);
+        if (rangeMatcher.find()) {
+            try {
+                int month = parseMonthName(rangeMatcher.group(3));
+                return new LocalDate[] {
+                    LocalDate.of(today.getYear(), month, Integer.parseInt(rangeMatcher.group(1))),
+                    LocalDate.of(today.getYear(), month, Integer.parseInt(rangeMatcher.group(2)))};
+            } catch (DateTimeException e) {
+                // tanggal tidak valid, coba bentuk lain
+            }
+        }
+        // Hanya angka yang diikuti nama bulan ("3 per hari" bukan tanggal)
+        Matcher singleMatcher = SINGLE_DATE_MATCHER.get().reset(lowerInput);
+        while (singleMatcher.find()) {
+            Integer month = MONTHS.get(singleMatcher.group(2));
+            if (month != null) {
+                try {
+                    LocalDate single = LocalDate.of(today.getYear(), month, Integer.parseInt(singleMatcher.group(1)));
+                    return new LocalDate[] {single, single};
+                } catch (DateTimeException e) {
+                    // tanggal tidak valid, coba bentuk lain
+                }
+            }
+        }
+        if (lowerInput.contains("lusa")) {
+            return new LocalDate[] {today.plusDays(2), today.plusDays(2)};
+        }
+        if (lowerInput.contains("besok") || lowerInput.contains("tomorrow")) {
+            return new LocalDate[] {today.plusDays(1), today.plusDays(1)};
+        }
+        if (lowerInput.contains("hari ini") || lowerInput.contains("today")) {
+            return new LocalDate[] {today, today};
+        }
+        return null;
+    }
+
+    /**
+     * Kapasitas review per reviewer per hari, misalnya "maks 3 per hari" atau "5 review/hari".
+     * @return defaultCapacity jika tidak disebut
+     */
+    public int extractDailyCapacity(String lowerInput, int defaultCapacity) {
+        Matcher matcher = CAPACITY_MATCHER.get().reset(lowerInput);
+        if (matcher.find()) {
+            int capacity = Integer.parseInt(matcher.group(1));
+            if (capacity > 0) {
+                return capacity;
+            }
+        }
+        return defaultCapacity;
+    }
+
+    /**
+     * @return nama bulan Indonesia (lowercase) untuk nomor bulan 1-12.
+     */
+    public static String monthName(int month) {
+        return INDONESIAN_MONTHS[month - 1];
+    }
+
+    public String extractReviewerName(String lowerInput) {
+        Matcher matcher = REVIEWER_MATCHER.get().reset(lowerInput);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    public String extractExpenseCategory(String lowerInput) {
+        String category = findExpenseCategory(lowerInput);
+        return category != null ? category : "Lain-lain";
+    }
+
+    /**
+     * @return kategori pengeluaran yang disebut di input, atau null jika tidak ada.
+     */
+    public String findExpenseCategory(String lowerInput) {
+        if (lowerInput.contains("transport") || lowerInput.contains("transportasi") ||
+            lowerInput.contains("ongkos") || lowerInput.contains("taksi") || lowerInput.contains("grab")) {
+            return "Transportasi";
+        } else if (lowerInput.contains("makan") || lowerInput.contains("food") ||
+                  lowerInput.contains("restoran") || lowerInput.contains("lunch")) {
+            return "Makanan";
+        } else if (lowerInput.contains("hotel") || lowerInput.contains("penginapan") ||
+                  lowerInput.contains("akomodasi")) {
+            return "Akomodasi";
+        } else if (lowerInput.contains("komunikasi") || lowerInput.contains("telepon") ||
+                  lowerInput.contains("internet") || lowerInput.contains("data")) {
+            return "Komunikasi";
+        } else if (lowerInput.contains("alat") || lowerInput.contains("peralatan") ||
+                  lowerInput.contains("stationery") || lowerInput.contains("kantor")) {
+            return "Peralatan Kantor";
+        } else if (lowerInput.contains("lain-lain") || lowerInput.contains("lainnya")) {
+            return "Lain-lain";
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * @return jumlah dalam rupiah (dibulatkan ke rupiah terdekat), atau 0 jika tidak ada angka di input.
+     */
+    public long extractAmount(String lowerInput) {
+        Matcher matcher = AMOUNT_MATCHER.get().reset(lowerInput);
+        if (!matcher.find()) {
+            return 0;
+        }
+        try {
+            // BigDecimal supaya "1,1 juta" tepat 1.100.000 (double memberi 1099999.99...)
+            String number;
+            if (matcher.group(1) != null) {
+                number = matcher.group(1).replace(".", "").replace(',', '.');
+            } else if (matcher.group(2) != null) {
+                number = matcher.group(2).replace(",", "");
+            } else {
+                number = matcher.group(3).replace(',', '.');
+            }
+            BigDecimal amount = new BigDecimal(number);
+
+            String unit = matcher.group(4);
+            if (unit != null) {
+                switch (unit.toLowerCase()) {
+                    case "juta":
+                    case "m":
+                        amount = amount.movePointRight(6);
+                        break;
+                    case "ribu":
+                    case "k":
+                        amount = amount.movePointRight(3);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return amount.setScale(0, RoundingMode.HALF_UP).longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Periode bulan untuk rekap: "bulan ini", "bulan lalu", atau "bulan september [2025]".
+     * Bulan tanpa tahun yang belum lewat tahun ini dianggap tahun lalu.
+     * @return null jika tidak ada periode (semua bulan)
+     */
+    public YearMonth extractMonth(String lowerInput) {
+        YearMonth current = YearMonth.now();
+        if (lowerInput.contains("bulan ini") || lowerInput.contains("this month")) {
+            return current;
+        }
+        if (lowerInput.contains("bulan lalu") || lowerInput.contains("bulan kemarin")
+                || lowerInput.contains("last month")) {
+            return current.minusMonths(1);
+        }
+        Matcher matcher = MONTH_MATCHER.get().reset(lowerInput);
+        while (matcher.find()) {
+            Integer month = MONTHS.get(matcher.group(1));
+            if (month == null) {
+                continue;
+            }
+            if (matcher.group(2) != null) {
+                return YearMonth.of(Integer.parseInt(matcher.group(2)), month);
+            }
+            YearMonth period = YearMonth.of(current.getYear(), month);
+            return period.isAfter(current) ? period.minusYears(1) : period;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,107 @@
+package com.hr.agent;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Implementasi HRFunctions di atas {@link HRDataStore}: semua lookup dilayani dari data
+ * yang sudah dimuat di memori, tanpa membaca ulang file CSV per permintaan.
+ */
+public class StoreHRFunctions implements HRFunctions {
+
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("d MMMM yyyy");
+
+    private final HRDataStore store;
+
+    public StoreHRFunctions(HRDataStore store) {
+        this.store = store;
+    }
+
+    public HRDataStore getStore() {
+        return store;
+    }
+
+    @Override
+    public String applyForLeave(String employeeName, String leaveType, LocalDate startDate, LocalDate endDate) {
+        return String.format(
+            "KONFIRMASI: Pengajuan cuti untuk %s (jenis: %s) dari tanggal %s hingga %s telah dicatat.",
+            employeeName, leaveType, startDate.format(formatter), endDate.format(formatter)
+        );
+    }
+
+    @Override
+    public String schedulePerformanceReview(String employeeName, String reviewerName, LocalDate reviewDate) {
+        return String.format(
+            "KONFIRMASI: Sesi review performa untuk %s dengan %s telah dijadwalkan pada %s.",
+            employeeName, reviewerName, reviewDate.format(DateTimeFormatter.ofPattern("EEEE, d MMMM yyyy"))
+        );
+    }
+
+    @Override
+    public String checkLeaveRequestStatus(String employeeName) {
+        int employeeRow = store.findEmployeeRow(employeeName);
+        int requestRow = employeeRow >= 0 ? store.latestLeaveRequest(employeeRow) : -1;
+        String lastStatus = requestRow >= 0 ? store.leaveRequestStatus(requestRow) : "Tidak ada pengajuan cuti";
+
+        return String.format(
+            "INFO: Status pengajuan cuti terakhir untuk %s adalah: %s.",
+            employeeName, lastStatus
+        );
+    }
+
+    @Override
+    public String submitExpenseReport(String employeeName, String category, long amount) {
+        return String.format(
+            "KONFIRMASI: Laporan pengeluaran untuk %s sebesar Rp%,d (kategori: %s) telah diajukan untuk diproses.",
+            employeeName, amount, category
+        );
+    }
+
+    @Override
+    public String lookupColleagueInfo(String colleagueName) {
+        int row = store.findEmployeeRow(colleagueName);
+        if (row < 0) {
+            return String.format(
+                "INFO: Karyawan %s tidak ditemukan dalam database.",
+                colleagueName
+            );
+        }
+        return String.format(
+            "INFO: Informasi untuk %s:\n• Email: %s\n• Jabatan: %s\n• Departemen: %s\n• Status: %s",
+            store.employeeName(row), store.email(row), store.position(row), store.department(row),
+            store.employeeStatus(row)
+        );
+    }
+
+    @Override
+    public String listDirectReports(String managerName) {
+        int row = store.findEmployeeRow(managerName);
+        return row < 0 ? OrgChartAnswers.notFound(managerName)
+            : OrgChartAnswers.directReports(store.getOrgChart(), row, store::employeeName, store::position);
+    }
+
+    @Override
+    public String listTeamMembers(String managerName) {
+        int row = store.findEmployeeRow(managerName);
+        return row < 0 ? OrgChartAnswers.notFound(managerName)
+            : OrgChartAnswers.teamMembers(store.getOrgChart(), row, store::employeeName, store::position);
+    }
+
+    @Override
+    public String getChainOfCommand(String employeeName) {
+        int row = store.findEmployeeRow(employeeName);
+        return row < 0 ? OrgChartAnswers.notFound(employeeName)
+            : OrgChartAnswers.chainOfCommand(store.getOrgChart(), row, store::employeeName, store::position);
+    }
+
+    @Override
+    public String countTeamMembers(String managerOrDepartment) {
+        int count = store.departmentHeadcount(managerOrDepartment);
+        if (count >= 0) {
+            return OrgChartAnswers.departmentHeadcount(managerOrDepartment.trim(), count);
+        }
+        int row = store.findEmployeeRow(managerOrDepartment);
+        return row < 0 ? OrgChartAnswers.notFound(managerOrDepartment)
+            : OrgChartAnswers.teamHeadcount(store.getOrgChart(), row, store::employeeName);
+    }
+}
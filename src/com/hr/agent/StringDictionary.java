@@ -0,0 +1,51 @@
+package com.hr.agent;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary encoding untuk kolom bernilai sedikit (departemen, jabatan, status, tipe cuti).
+ * Setiap nilai unik disimpan sekali dan baris cukup menyimpan kodenya (int).
+ * Nilai baru jarang muncul, jadi decode membaca array tanpa lock (copy-on-write saat encode).
+ */
+final class StringDictionary {
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private volatile String[] values = new String[0];
+
+    /**
+     * @return kode untuk nilai tsb; nilai baru mendapat kode berikutnya.
+     */
+    synchronized int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.length;
+            codes.put(value, code);
+            String[] grown = Arrays.copyOf(values, code + 1);
+            grown[code] = value;
+            values = grown;
+        }
+        return code;
+    }
+
+    String decode(int code) {
+        return values[code];
+    }
+
+    /**
+     * @return array kode dictionary ini -> kode di target (nilai baru ditambahkan ke target).
+     */
+    int[] remapTo(StringDictionary target) {
+        String[] snapshot = values;
+        int[] mapping = new int[snapshot.length];
+        for (int code = 0; code < snapshot.length; code++) {
+            mapping[code] = target.encode(snapshot[code]);
+        }
+        return mapping;
+    }
+
+    int size() {
+        return values.length;
+    }
+}
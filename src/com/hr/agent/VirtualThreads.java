@@ -0,0 +1,40 @@
+package com.hr.agent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor satu-thread-per-task. Di JDK 21+ memakai virtual thread (dipanggil lewat refleksi
+ * supaya kode tetap bisa dikompilasi untuk Java 8); di JDK lama jatuh ke cached thread pool.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    static boolean isAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param fallbackName prefix nama thread jika virtual thread tidak tersedia
+     */
+    static ExecutorService newPerTaskExecutor(String fallbackName) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicLong counter = new AtomicLong();
+            return Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, fallbackName + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
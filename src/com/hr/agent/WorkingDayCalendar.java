@@ -0,0 +1,210 @@
+package com.hr.agent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Kalender hari kerja untuk menghitung potongan cuti: Senin-Jumat, kecuali hari libur.
+ *
+ * Hari libur berasal dari dua sumber:
+ * <ul>
+ * <li>libur nasional Indonesia yang tanggalnya bisa dihitung (Tahun Baru, Hari Buruh, Hari Lahir
+ *     Pancasila, Hari Kemerdekaan, Natal, Wafat dan Kenaikan Isa Almasih dari tanggal Paskah);</li>
+ * <li>holidays.csv ({@code tanggal,keterangan}, tanggal yyyy-MM-dd) untuk libur berbasis kalender
+ *     lunar (Idul Fitri, Idul Adha, Imlek, Nyepi, Waisak, ...) dan cuti bersama, yang tanggalnya
+ *     ditetapkan SKB setiap tahun.</li>
+ * </ul>
+ *
+ * Jumlah hari kerja kumulatif disimpan per hari untuk rentang tahun yang sudah pernah ditanya
+ * (prefix sum), sehingga jumlah hari kerja rentang apa pun O(1): dua lookup array. Rentang tahun
+ * diperluas saat ada tanggal di luar tabel; tabel baru dipublikasikan dengan satu penukaran
+ * referensi volatile.
+ */
+public final class WorkingDayCalendar {
+
+    // Tabel tidak diperluas tanpa batas oleh tanggal yang tidak masuk akal
+    private static final int MIN_YEAR = 1900;
+    private static final int MAX_YEAR = 2200;
+
+    // Epoch day libur dari holidays.csv (terurut, tanpa duplikat)
+    private final int[] fileHolidays;
+    private volatile Table table;
+
+    private WorkingDayCalendar(int[] fileHolidays) {
+        this.fileHolidays = fileHolidays;
+        int year = LocalDate.now().getYear();
+        this.table = new Table(year - 1, year + 2, fileHolidays);
+    }
+
+    /**
+     * Hanya libur nasional yang bisa dihitung (tanpa holidays.csv).
+     */
+    public static WorkingDayCalendar nationalHolidaysOnly() {
+        return new WorkingDayCalendar(new int[0]);
+    }
+
+    /**
+     * Membaca holidays.csv; file yang tidak ada berarti hanya libur nasional yang bisa dihitung.
+     */
+    public static WorkingDayCalendar load(Path file) throws IOException {
+        int[] days = new int[16];
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            boolean header = true;
+            while ((line = reader.readLine()) != null) {
+                if (header) {
+                    header = false; // lewati header
+                    continue;
+                }
+                int comma = line.indexOf(',');
+                String date = (comma >= 0 ? line.substring(0, comma) : line).trim();
+                if (date.isEmpty() || date.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    if (count == days.length) {
+                        days = Arrays.copyOf(days, count * 2);
+                    }
+                    days[count++] = (int) LocalDate.parse(date).toEpochDay();
+                } catch (DateTimeParseException e) {
+                    System.err.println("Tanggal libur tidak valid di " + file.getFileName() + ": " + date);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return nationalHolidaysOnly();
+        }
+        days = Arrays.copyOf(days, count);
+        Arrays.sort(days);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || days[unique - 1] != days[i]) {
+                days[unique++] = days[i];
+            }
+        }
+        return new WorkingDayCalendar(Arrays.copyOf(days, unique));
+    }
+
+    /**
+     * @return jumlah hari kerja di [start, end] (inklusif), 0 jika end sebelum start.
+     */
+    public int countWorkingDays(LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            return 0;
+        }
+        Table current = covering(start.getYear(), end.getYear());
+        return current.cumulative[(int) (end.toEpochDay() - current.firstDay) + 1]
+            - current.cumulative[(int) (start.toEpochDay() - current.firstDay)];
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return countWorkingDays(date, date) == 1;
+    }
+
+    /**
+     * @return jumlah tanggal libur dari holidays.csv.
+     */
+    public int fileHolidayCount() {
+        return fileHolidays.length;
+    }
+
+    private Table covering(int fromYear, int toYear) {
+        Table current = table;
+        if (fromYear >= current.firstYear && toYear <= current.lastYear) {
+            return current;
+        }
+        if (fromYear < MIN_YEAR || toYear > MAX_YEAR) {
+            throw new IllegalArgumentException("Tanggal di luar rentang kalender kerja (" + MIN_YEAR + "-"
+                + MAX_YEAR + ")");
+        }
+        synchronized (this) {
+            current = table;
+            if (fromYear < current.firstYear || toYear > current.lastYear) {
+                current = new Table(Math.min(fromYear, current.firstYear), Math.max(toYear, current.lastYear),
+                    fileHolidays);
+                table = current;
+            }
+            return current;
+        }
+    }
+
+    // ===================== TABEL PREFIX SUM =====================
+
+    private static final class Table {
+        final int firstYear;
+        final int lastYear;
+        final long firstDay;
+        // cumulative[i] = jumlah hari kerja di [firstDay, firstDay + i)
+        final int[] cumulative;
+
+        Table(int firstYear, int lastYear, int[] fileHolidays) {
+            this.firstYear = firstYear;
+            this.lastYear = lastYear;
+            this.firstDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+            int days = (int) (LocalDate.of(lastYear + 1, 1, 1).toEpochDay() - firstDay);
+
+            BitSet holidays = new BitSet(days);
+            for (int year = firstYear; year <= lastYear; year++) {
+                for (LocalDate holiday : nationalHolidays(year)) {
+                    holidays.set((int) (holiday.toEpochDay() - firstDay));
+                }
+            }
+            for (int day : fileHolidays) {
+                long offset = day - firstDay;
+                if (offset >= 0 && offset < days) {
+                    holidays.set((int) offset);
+                }
+            }
+
+            cumulative = new int[days + 1];
+            // Epoch day 0 (1 Januari 1970) jatuh pada hari Kamis
+            int dayOfWeek = (int) Math.floorMod(firstDay + 3, 7L); // 0 = Senin
+            for (int i = 0; i < days; i++) {
+                boolean working = dayOfWeek < 5 && !holidays.get(i);
+                cumulative[i + 1] = cumulative[i] + (working ? 1 : 0);
+                dayOfWeek = dayOfWeek == 6 ? 0 : dayOfWeek + 1;
+            }
+        }
+    }
+
+    // Libur nasional dengan tanggal tetap atau yang diturunkan dari Paskah
+    static LocalDate[] nationalHolidays(int year) {
+        LocalDate easter = easterSunday(year);
+        return new LocalDate[] {
+            LocalDate.of(year, 1, 1),   // Tahun Baru Masehi
+            easter.minusDays(2),        // Wafat Isa Almasih
+            LocalDate.of(year, 5, 1),   // Hari Buruh Internasional
+            easter.plusDays(39),        // Kenaikan Isa Almasih
+            LocalDate.of(year, 6, 1),   // Hari Lahir Pancasila
+            LocalDate.of(year, 8, 17),  // Hari Kemerdekaan
+            LocalDate.of(year, 12, 25)  // Hari Raya Natal
+        };
+    }
+
+    // Algoritma Meeus/Jones/Butcher (kalender Gregorian)
+    static LocalDate easterSunday(int year) {
+        int a = year % 19;
+        int b = year / 100;
+        int c = year % 100;
+        int d = b / 4;
+        int e = b % 4;
+        int f = (b + 8) / 25;
+        int g = (b - f + 1) / 3;
+        int h = (19 * a + b - d - g + 15) % 30;
+        int i = c / 4;
+        int k = c % 4;
+        int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        int m = (a + 11 * h + 22 * l) / 451;
+        int month = (h + l - 7 * m + 114) / 31;
+        int day = (h + l - 7 * m + 114) % 31 + 1;
+        return LocalDate.of(year, month, day);
+    }
+}
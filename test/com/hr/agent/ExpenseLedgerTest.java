@@ -0,0 +1,108 @@
+package com.hr.agent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pemulihan ledger pengeluaran: ekor yang terpotong dibuang, kerusakan di tengah file ditolak.
+ */
+class ExpenseLedgerTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 9, 1);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void tornLastRecordIsTruncated() throws IOException {
+        Path file = dir.resolve("expenses.ledger");
+        List<Long> ends = write(file, 3);
+        truncate(file, ends.get(2) - 5);
+
+        try (ExpenseLedger ledger = ExpenseLedger.open(file, LeaveBalanceJournal.FsyncPolicy.NEVER)) {
+            assertEquals(2, ledger.entries());
+            assertEquals(300_000, ledger.total(null, null, null));
+            assertEquals((long) ends.get(1), Files.size(file));
+            ledger.append("101", "Makanan", DATE, 400_000);
+        }
+        try (ExpenseLedger ledger = ExpenseLedger.open(file, LeaveBalanceJournal.FsyncPolicy.NEVER)) {
+            assertEquals(3, ledger.entries());
+            assertEquals(700_000, ledger.total(null, null, null));
+        }
+    }
+
+    @Test
+    void corruptLastRecordIsTruncated() throws IOException {
+        Path file = dir.resolve("expenses.ledger");
+        List<Long> ends = write(file, 3);
+        flipByte(file, ends.get(1) + 10);
+
+        try (ExpenseLedger ledger = ExpenseLedger.open(file, LeaveBalanceJournal.FsyncPolicy.NEVER)) {
+            assertEquals(2, ledger.entries());
+            assertEquals((long) ends.get(1), Files.size(file));
+        }
+    }
+
+    @Test
+    void corruptMiddleRecordRefusesToOpen() throws IOException {
+        Path file = dir.resolve("expenses.ledger");
+        List<Long> ends = write(file, 3);
+        long size = Files.size(file);
+        flipByte(file, ends.get(0) + 10); // payload record kedua
+
+        assertThrows(IOException.class, () -> ExpenseLedger.open(file, LeaveBalanceJournal.FsyncPolicy.NEVER));
+        assertEquals(size, Files.size(file), "Record sesudah kerusakan tidak boleh dibuang");
+    }
+
+    @Test
+    void corruptMiddleLengthRefusesToOpen() throws IOException {
+        Path file = dir.resolve("expenses.ledger");
+        List<Long> ends = write(file, 3);
+        long size = Files.size(file);
+        flipByte(file, ends.get(0) + 3); // field panjang record kedua
+
+        assertThrows(IOException.class, () -> ExpenseLedger.open(file, LeaveBalanceJournal.FsyncPolicy.NEVER));
+        assertEquals(size, Files.size(file), "Record sesudah kerusakan tidak boleh dibuang");
+    }
+
+    // Menulis count record (100 ribu, 200 ribu, ...); hasil: offset akhir setiap record
+    private static List<Long> write(Path file, int count) throws IOException {
+        List<Long> ends = new ArrayList<>();
+        try (ExpenseLedger ledger = ExpenseLedger.open(file, LeaveBalanceJournal.FsyncPolicy.NEVER)) {
+            for (int i = 1; i <= count; i++) {
+                ledger.append("10" + i, "Transportasi", DATE, i * 100_000L);
+                ends.add(Files.size(file));
+            }
+        }
+        return ends;
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer value = ByteBuffer.allocate(1);
+            channel.read(value, position);
+            value.put(0, (byte) (value.get(0) ^ 0x40));
+            value.rewind();
+            channel.write(value, position);
+        }
+    }
+}
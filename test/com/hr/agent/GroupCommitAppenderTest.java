@@ -0,0 +1,35 @@
+package com.hr.agent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Future append hanya gagal jika barisnya tidak tertulis.
+ */
+class GroupCommitAppenderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void listenerFailureAfterWriteDoesNotFailAppend() throws IOException {
+        Path file = dir.resolve("leave_requests.csv");
+        Files.write(file, "id_request\n".getBytes(StandardCharsets.UTF_8));
+        try (GroupCommitAppender appender = new GroupCommitAppender(file, LeaveBalanceJournal.FsyncPolicy.ALWAYS, 1,
+                (before, after) -> {
+                    throw new IllegalStateException("listener gagal");
+                })) {
+            GroupCommitAppender.await(appender.append("LR1"));
+            GroupCommitAppender.await(appender.append("LR2"));
+        }
+        assertEquals(Arrays.asList("id_request", "LR1", "LR2"), Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,92 @@
+package com.hr.agent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Potongan sisa cuti yang barisnya tidak pernah tersimpan (crash di antara WAL dan leave_requests.csv)
+ * dikembalikan saat store dibuka lagi, juga jika kompaksi sempat berjalan di antaranya.
+ * "Crash" disimulasikan dengan membuka store baru tanpa menutup yang lama.
+ */
+class LeaveBalanceStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void writeSnapshot() throws IOException {
+        Files.write(dir.resolve("leave_balances.csv"),
+            "id_karyawan,tipe_cuti,sisa_hari\n101,Tahunan,10\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void orphanDeductionInWalIsRefunded() throws IOException {
+        LeaveBalanceStore crashed = open();
+        assertEquals(LeaveBalanceStore.Deduction.OK, crashed.tryDeduct("101", "Tahunan", 3, "LR001"));
+        assertEquals(LeaveBalanceStore.Deduction.OK, crashed.tryDeduct("101", "Tahunan", 2, "LR002"));
+        crashed.confirm("LR002");
+
+        try (LeaveBalanceStore store = open()) {
+            assertEquals(new HashSet<>(Arrays.asList("LR001", "LR002")), store.unconfirmedRequests());
+            assertEquals(1, store.refundOrphans(Collections.singleton("LR002")));
+            assertEquals(8, tahunan(store));
+        }
+        try (LeaveBalanceStore store = open()) {
+            assertEquals(8, tahunan(store));
+            assertTrue(store.unconfirmedRequests().isEmpty());
+        }
+    }
+
+    @Test
+    void unconfirmedDeductionSurvivesCompaction() throws IOException {
+        LeaveBalanceStore crashed = open();
+        crashed.tryDeduct("101", "Tahunan", 3, "LR001");
+        crashed.tryDeduct("101", "Tahunan", 2, "LR002");
+        crashed.confirm("LR002");
+        crashed.compact();
+
+        try (LeaveBalanceStore store = open()) {
+            assertEquals(5, tahunan(store));
+            assertEquals(Collections.singleton("LR001"), store.unconfirmedRequests());
+            assertEquals(1, store.refundOrphans(Collections.<String>emptySet()));
+            assertEquals(8, tahunan(store));
+        }
+        try (LeaveBalanceStore store = open()) {
+            assertEquals(8, tahunan(store));
+            assertTrue(store.unconfirmedRequests().isEmpty());
+        }
+    }
+
+    @Test
+    void refundedDeductionIsNotRefundedAgain() throws IOException {
+        LeaveBalanceStore crashed = open();
+        crashed.tryDeduct("101", "Tahunan", 3, "LR001");
+        crashed.refund("101", "Tahunan", 3, "LR001");
+
+        try (LeaveBalanceStore store = open()) {
+            assertTrue(store.unconfirmedRequests().isEmpty());
+            assertEquals(10, tahunan(store));
+        }
+    }
+
+    private LeaveBalanceStore open() throws IOException {
+        return LeaveBalanceStore.open(dir.resolve("leave_balances.csv"), dir.resolve("leave_balances.wal"),
+            LeaveBalanceJournal.FsyncPolicy.NEVER);
+    }
+
+    private static int tahunan(LeaveBalanceStore store) {
+        return store.snapshot("101").get("Tahunan");
+    }
+}
@@ -0,0 +1,188 @@
+package com.hr.agent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Ribuan {@link HRAgentApp#applyForLeave} paralel untuk sedikit karyawan (saldo kecil, banyak tabrakan):
+ * sisa cuti tidak boleh negatif atau terpotong dua kali, dan setiap pengajuan yang dikonfirmasi harus
+ * ada tepat satu kali di leave_requests.csv. Kompaksi WAL berjalan tiap detik selama pengujian.
+ */
+class LeaveRequestStressTest {
+
+    private static final int EMPLOYEES = 20;
+    private static final int DAYS_PER_EMPLOYEE = 100;
+    // Setiap tanggal diajukan dua kali: yang kedua harus ditolak karena bertabrakan
+    private static final int COPIES = 2;
+    private static final int THREADS = 16;
+    private static final String[] LEAVE_TYPES = {"Tahunan", "Sakit"};
+    private static final LocalDate FIRST_DAY = LocalDate.of(2027, 1, 4);
+
+    @TempDir
+    Path dir;
+
+    @ParameterizedTest
+    @EnumSource(HRAgentApp.Backend.class)
+    void parallelLeaveRequestsNeverOverdrawBalances(HRAgentApp.Backend backend) throws Exception {
+        new DatasetGenerator(42, LocalDate.of(2025, 9, 1)).generate(dir, 200, 0, 0, 0);
+        List<Employee> employees = uniquelyNamed(EmployeeDirectory.load(dir.resolve("employees.csv").toString()));
+        Map<String, Integer> initial = balances(employees);
+        List<LocalDate> days = workingDays(DAYS_PER_EMPLOYEE);
+
+        List<Runnable> calls = new ArrayList<>();
+        Map<String, AtomicInteger> confirmed = new ConcurrentHashMap<>();
+        Set<String> confirmedDays = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicateConfirmations = new AtomicInteger();
+        HRAgentApp agent = new HRAgentApp(dir, LeaveBalanceJournal.FsyncPolicy.NEVER, 1, backend);
+        agent.load();
+        for (Employee employee : employees) {
+            for (int d = 0; d < days.size(); d++) {
+                String leaveType = LEAVE_TYPES[d % LEAVE_TYPES.length];
+                LocalDate day = days.get(d);
+                for (int copy = 0; copy < COPIES; copy++) {
+                    calls.add(() -> {
+                        String result = agent.applyForLeave(employee.getName(), leaveType, day, day);
+                        if (result.contains("dipotong 1 hari kerja")) {
+                            confirmed.computeIfAbsent(key(employee.getId(), leaveType), k -> new AtomicInteger())
+                                .incrementAndGet();
+                            if (!confirmedDays.add(employee.getId() + "," + day)) {
+                                duplicateConfirmations.incrementAndGet();
+                            }
+                        } else {
+                            assertTrue(result.contains("tidak cukup") || result.contains("bertabrakan"),
+                                "Respons tak terduga: " + result);
+                        }
+                    });
+                }
+            }
+        }
+        Collections.shuffle(calls, new Random(42));
+        runConcurrently(calls);
+        agent.close();
+
+        assertEquals(0, duplicateConfirmations.get(), "Tanggal yang sama dikonfirmasi dua kali");
+        int totalConfirmed = 0;
+        Map<String, Integer> after = balances(employees);
+        for (Map.Entry<String, Integer> balance : initial.entrySet()) {
+            AtomicInteger deducted = confirmed.get(balance.getKey());
+            int used = deducted != null ? deducted.get() : 0;
+            totalConfirmed += used;
+            Integer remaining = after.get(balance.getKey());
+            assertNotNull(remaining, "Sisa cuti hilang: " + balance.getKey());
+            assertTrue(remaining >= 0, "Sisa cuti negatif: " + balance.getKey() + " = " + remaining);
+            assertEquals(balance.getValue() - used, remaining.intValue(), "Sisa cuti tidak konsisten: " + balance.getKey());
+        }
+        assertTrue(totalConfirmed > 0, "Tidak ada pengajuan yang berhasil");
+
+        // Semua pengajuan yang dikonfirmasi tertulis, masing-masing tepat sekali dengan id unik
+        Set<String> ids = new HashSet<>();
+        Map<String, Integer> rows = new HashMap<>();
+        try (CsvReader reader = CsvReader.open(dir.resolve("leave_requests.csv"))) {
+            reader.next(); // header
+            while (reader.next()) {
+                LeaveRequest request = LeaveRequest.fromRow(reader);
+                assertNotNull(request, "Baris rusak di leave_requests.csv");
+                assertTrue(ids.add(request.getRequestId()), "Id ganda: " + request.getRequestId());
+                assertTrue(confirmedDays.contains(request.getEmployeeId() + "," + request.getStartDate()),
+                    "Baris tanpa konfirmasi: " + request.toCsvRow());
+                rows.merge(key(request.getEmployeeId(), request.getLeaveType()), 1, Integer::sum);
+            }
+        }
+        assertEquals(totalConfirmed, ids.size(), "Jumlah baris leave_requests.csv berbeda dengan konfirmasi");
+        for (Map.Entry<String, AtomicInteger> entry : confirmed.entrySet()) {
+            assertEquals(entry.getValue().get(), rows.getOrDefault(entry.getKey(), 0).intValue(),
+                "Baris hilang untuk " + entry.getKey());
+        }
+    }
+
+    // Nama lengkap dari dataset bisa sama; hanya karyawan yang namanya unik dipakai
+    private static List<Employee> uniquelyNamed(EmployeeDirectory directory) {
+        List<Employee> result = new ArrayList<>();
+        for (Employee employee : directory.all()) {
+            if (directory.findByName(employee.getName()) == employee) {
+                result.add(employee);
+                if (result.size() == EMPLOYEES) {
+                    break;
+                }
+            }
+        }
+        assertEquals(EMPLOYEES, result.size());
+        return result;
+    }
+
+    // Sisa cuti dari snapshot + WAL di disk
+    private Map<String, Integer> balances(List<Employee> employees) throws IOException {
+        Map<String, Integer> result = new HashMap<>();
+        try (LeaveBalanceStore store = LeaveBalanceStore.open(dir.resolve("leave_balances.csv"),
+                dir.resolve("leave_balances.wal"), LeaveBalanceJournal.FsyncPolicy.NEVER)) {
+            for (Employee employee : employees) {
+                Map<String, Integer> snapshot = store.snapshot(employee.getId());
+                assertNotNull(snapshot);
+                for (String leaveType : LEAVE_TYPES) {
+                    result.put(key(employee.getId(), leaveType), snapshot.get(leaveType));
+                }
+            }
+        }
+        return result;
+    }
+
+    // Dataset tidak punya holidays.csv: hanya akhir pekan dan libur nasional yang dilewati
+    private static List<LocalDate> workingDays(int count) {
+        WorkingDayCalendar calendar = WorkingDayCalendar.nationalHolidaysOnly();
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate day = FIRST_DAY; days.size() < count; day = day.plusDays(1)) {
+            if (calendar.isWorkingDay(day)) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+
+    private static void runConcurrently(List<Runnable> calls) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable call : calls) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    call.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(); // assertion di dalam call dilempar ulang di sini
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static String key(String employeeId, String leaveType) {
+        return employeeId + "," + leaveType;
+    }
+}